@@ -37,6 +37,9 @@ public class RestPlayer {
   @SerializedName("name")
   private String name = null;
 
+  @SerializedName("gameId")
+  private Integer gameId = null;
+
   public RestPlayer id(Integer id) {
     this.id = id;
     return this;
@@ -91,6 +94,24 @@ public class RestPlayer {
     this.name = name;
   }
 
+  public RestPlayer gameId(Integer gameId) {
+    this.gameId = gameId;
+    return this;
+  }
+
+   /**
+   * Get gameId
+   * @return gameId
+  **/
+  @Schema(description = "")
+  public Integer getGameId() {
+    return gameId;
+  }
+
+  public void setGameId(Integer gameId) {
+    this.gameId = gameId;
+  }
+
 
   @Override
   public boolean equals(Object o) {
@@ -103,12 +124,13 @@ public class RestPlayer {
     RestPlayer restPlayer = (RestPlayer) o;
     return Objects.equals(this.id, restPlayer.id) &&
         Objects.equals(this.score, restPlayer.score) &&
-        Objects.equals(this.name, restPlayer.name);
+        Objects.equals(this.name, restPlayer.name) &&
+        Objects.equals(this.gameId, restPlayer.gameId);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, score, name);
+    return Objects.hash(id, score, name, gameId);
   }
 
 
@@ -120,6 +142,7 @@ public class RestPlayer {
     sb.append("    id: ").append(toIndentedString(id)).append("\n");
     sb.append("    score: ").append(toIndentedString(score)).append("\n");
     sb.append("    name: ").append(toIndentedString(name)).append("\n");
+    sb.append("    gameId: ").append(toIndentedString(gameId)).append("\n");
     sb.append("}");
     return sb.toString();
   }
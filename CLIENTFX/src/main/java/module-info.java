@@ -13,6 +13,7 @@ module org.example.farkleclientfx {
     requires threetenbp;
     requires gson.fire;
     requires java.sql;
+    requires java.net.http;      // canal WebSocket (FarkleWebSocketChannel)
     requires java.annotation;
     requires swagger.annotations;
 
@@ -1,30 +1,55 @@
 package org.example.farkleclientfx.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.reflect.TypeToken;
 import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
+import io.swagger.client.Pair;
 import io.swagger.client.api.DefaultApi;
 import io.swagger.client.model.RestDices;
 import io.swagger.client.model.RestPlayer;
 import io.swagger.client.model.TurnStatusDTO;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service REST côté client – STRICT
  * - Ne contient aucune logique de déduction.
  * - Expose explicitement getStateChanged() (évite l’ambiguïté avec getState()).
- * - getEtatCompose() se contente d’agréger les endpoints GET autorisés.
+ * - getEtatCompose() lit l'état complet via /farkle/state (ETag / 304).
+ * - Si le canal WebSocket est ouvert (ouvrirCanal), les actions passent par lui :
+ *   une seule connexion pour les actions ET les états poussés par le serveur.
  */
 public class FarkleRestService {
 
+    private static final String SERVER_BASE_PATH = "http://localhost:8080/v1";
+    private static final String SERVER_WS_PATH = "ws://localhost:8080/v1/ws/farkle";
+    /** Attente maximale demandée au serveur en long-polling (doit rester < READ_TIMEOUT_MS). */
+    public static final long LONG_POLL_MS = 20000L;
+    private static final int READ_TIMEOUT_MS = 30000;
+
+    private final ApiClient localApiClient;
     private final DefaultApi api;
     private final ObjectMapper jsonMapper = new ObjectMapper();
     private Integer localPlayerId = null;
+    private Integer gameId = null;
+    private volatile FarkleWebSocketChannel channel = null;
+    private volatile int lastActionVersion = -1;
+    // Dernier état reçu de /farkle/state (réutilisé sur 304 Not Modified)
+    private volatile TurnStatusDTO lastState = null;
+    private volatile String lastStateETag = null;
+    private volatile int lastStateVersion = -1;
+    // Requête long-polling en cours (annulée par cancelAwaitStateVersion)
+    private volatile com.squareup.okhttp.Call pendingAwait = null;
 
     public FarkleRestService() {
-        ApiClient localApiClient = new ApiClient();
-        localApiClient.setBasePath("http://localhost:8080/v1");
+        localApiClient = new ApiClient();
+        localApiClient.setBasePath(SERVER_BASE_PATH);
+        localApiClient.setReadTimeout(READ_TIMEOUT_MS); // une requête long-polling reste ouverte jusqu'à LONG_POLL_MS
         this.api = new DefaultApi(localApiClient);
         System.out.println("[SERVICE] FarkleRestService initialisé");
     }
@@ -43,23 +68,72 @@ public class FarkleRestService {
         RestPlayer p = api.name(name);
         if (p != null) {
             this.localPlayerId = p.getId();
-            System.out.println("[SERVICE] Joueur inscrit avec ID=" + p.getId());
+            this.gameId = p.getGameId();
+            if (gameId != null) {
+                // Toutes les routes suivantes visent la table du joueur : /v1/games/{gameId}/farkle/...
+                localApiClient.setBasePath(SERVER_BASE_PATH + "/games/" + gameId);
+            }
+            System.out.println("[SERVICE] Joueur inscrit avec ID=" + p.getId() + " (table=" + gameId + ")");
         }
         return p;
     }
 
     public TurnStatusDTO lancerDes() throws ApiException {
+        if (isCanalOuvert()) return viaCanal("ROLL", null);
         return parseResponse(api.roll());
     }
 
     public TurnStatusDTO selectionnerDes(String diceInput) throws ApiException {
+        if (isCanalOuvert()) return viaCanal("SELECT", diceInput);
         return parseResponse(api.select(diceInput));
     }
 
     public TurnStatusDTO banker() throws ApiException {
+        if (isCanalOuvert()) return viaCanal("BANK", null);
         return parseResponse(api.bank());
     }
 
+    // --- Canal WebSocket ---
+    /**
+     * Ouvre le canal WebSocket de la table du joueur (après inscription).
+     * @return true si le canal est ouvert ; false -> le client reste en REST + long-polling.
+     */
+    public boolean ouvrirCanal(FarkleWebSocketChannel.Listener listener) {
+        String uri = SERVER_WS_PATH + (gameId != null ? "?gameId=" + gameId : "");
+        try {
+            channel = FarkleWebSocketChannel.open(java.net.URI.create(uri), listener, READ_TIMEOUT_MS);
+            return true;
+        } catch (ApiException e) {
+            System.out.println("[SERVICE] " + e.getMessage() + " -> REST + long-polling.");
+            channel = null;
+            return false;
+        }
+    }
+
+    public boolean isCanalOuvert() {
+        FarkleWebSocketChannel c = channel;
+        return c != null && c.isOpen();
+    }
+
+    public void fermerCanal() {
+        FarkleWebSocketChannel c = channel;
+        channel = null;
+        if (c != null) c.close();
+    }
+
+    /** Version de l'état renvoyé par la dernière action passée par le canal (-1 sinon). */
+    public int getLastActionVersion() {
+        return lastActionVersion;
+    }
+
+    private TurnStatusDTO viaCanal(String action, String dices) throws ApiException {
+        FarkleWebSocketChannel c = channel;
+        if (c == null) throw new ApiException(0, "Canal WebSocket fermé");
+        FarkleWebSocketChannel.Reply reply = c.send(action, dices, localPlayerId);
+        lastActionVersion = reply.version;
+        return reply.state;
+    }
+
     // --- Polling ---
     /** STRICT: on expose seulement l’API conforme à l’énoncé. */
     public Integer getStateChanged() throws ApiException {
@@ -68,9 +142,49 @@ public class FarkleRestService {
         return state;
     }
 
+    /**
+     * Version courante de l'état de la table (/stateVersion).
+     * Contrairement à /stateChanged, la lecture ne consomme rien : le client compare
+     * simplement la version reçue à la dernière qu'il a vue.
+     */
+    public Integer getStateVersion() throws ApiException {
+        return get("/farkle/stateVersion", new ArrayList<>(), Integer.class);
+    }
+
+    /**
+     * Long-polling (/stateVersion/await) : le serveur garde la requête ouverte jusqu'à ce que
+     * la version dépasse {@code since} (réponse quasi immédiate) ou jusqu'à expiration du délai.
+     * @return La version courante (égale à since si rien n'a changé pendant l'attente).
+     */
+    public Integer awaitStateVersion(int since, long timeoutMs) throws ApiException {
+        List<Pair> query = new ArrayList<>();
+        query.add(new Pair("since", String.valueOf(since)));
+        query.add(new Pair("timeoutMs", String.valueOf(timeoutMs)));
+        com.squareup.okhttp.Call call = buildGet("/farkle/stateVersion/await", query);
+        pendingAwait = call;
+        try {
+            return localApiClient.<Integer>execute(call, Integer.class).getData();
+        } finally {
+            pendingAwait = null;
+        }
+    }
+
+    /**
+     * Annule la requête long-polling en cours (awaitStateVersion lève alors une ApiException) :
+     * le thread de polling est libéré tout de suite au lieu d'attendre jusqu'à LONG_POLL_MS.
+     */
+    public void cancelAwaitStateVersion() {
+        com.squareup.okhttp.Call call = pendingAwait;
+        if (call != null) call.cancel();
+    }
+
     // --- Lectures atomiques ---
-    public RestPlayer getRestPlayer(Integer id) throws ApiException {
-        return api.getPlayer(id);
+    /**
+     * Tous les joueurs de la table, dans l'ordre des places, en une seule requête (/players)
+     * au lieu d'un GET /player{id} par place.
+     */
+    public List<RestPlayer> getJoueurs() throws ApiException {
+        return get("/farkle/players", new ArrayList<>(), new TypeToken<List<RestPlayer>>(){}.getType());
     }
 
     public RestDices getDicesOnPlate() throws ApiException {
@@ -94,114 +208,86 @@ public class FarkleRestService {
     }
 
     /**
-     * Construit un état composite à partir des GET autorisés, sans logique métier.
+     * État complet de la table via /farkle/state : UNE requête, lue atomiquement côté serveur
+     * (plus d'état "déchiré" entre plusieurs GET successifs).
+     * L'ETag reçu est renvoyé en If-None-Match : si rien n'a changé, le serveur répond 304
+     * sans corps et l'état déjà reçu est réutilisé.
      * Champs critiques toujours initialisés pour l’UI (pas de null bloquant).
      */
     public TurnStatusDTO getEtatCompose() throws ApiException {
-        System.out.println("[SERVICE] Construction de l'état composite...");
-        TurnStatusDTO dto = new TurnStatusDTO();
-
-
-        // Défauts sûrs
-        dto.currentPlayerId      = -1;
-        dto.currentPlayerName    = "";
-        dto.currentPlayerScore   = 0;
-        dto.opponentPlayerId     = -1;
-        dto.opponentPlayerName   = "";
-        dto.opponentPlayerScore  = 0;
-        dto.diceOnPlate          = new ArrayList<>();
-        dto.keptDiceThisTurn     = new ArrayList<>();
-        dto.tempScore            = 0;
-        dto.gameState            = "";
-        dto.winningPlayerName    = "";   // <- plus null
-        dto.winningPlayerScore   = 0;    // <- plus null
-
-
-        // 1) Qui joue ?
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", "application/json");
+        if (lastStateETag != null && lastState != null) headers.put("If-None-Match", lastStateETag);
+        com.squareup.okhttp.Call call = localApiClient.buildCall("/farkle/state", "GET", new ArrayList<>(), new ArrayList<>(),
+                null, headers, new HashMap<>(), new String[0], null);
         try {
-            Integer currentId = getCurrentPlayerId();
-            dto.currentPlayerId = (currentId != null ? currentId : -1);
-            System.out.println("[SERVICE] Joueur courant ID=" + dto.currentPlayerId);
-        } catch (Exception ignored) {}
-
-        // 2) Infos players (IDs 0/1 côté serveur)
-        RestPlayer player0 = null, player1 = null;
-        try { player0 = api.getPlayer(0); } catch (Exception ignored) {}
-        try { player1 = api.getPlayer(1); } catch (Exception ignored) {}
-
-        if (dto.currentPlayerId == 0 && player0 != null) {
-            dto.currentPlayerName  = safe(player0.getName());
-            dto.currentPlayerScore = safeInt(player0.getScore());
-            if (player1 != null) {
-                dto.opponentPlayerId    = 1;
-                dto.opponentPlayerName  = safe(player1.getName());
-                dto.opponentPlayerScore = safeInt(player1.getScore());
-            }
-        } else if (dto.currentPlayerId == 1 && player1 != null) {
-            dto.currentPlayerName  = safe(player1.getName());
-            dto.currentPlayerScore = safeInt(player1.getScore());
-            if (player0 != null) {
-                dto.opponentPlayerId    = 0;
-                dto.opponentPlayerName  = safe(player0.getName());
-                dto.opponentPlayerScore = safeInt(player0.getScore());
+            com.squareup.okhttp.Response response = call.execute();
+            if (response.code() == 304) {
+                response.body().close();
+                System.out.println("[SERVICE] GET /state -> 304 (v" + lastStateVersion + " inchangée)");
+                return lastState;
             }
-        } else {
-            // Pas de joueur courant connu → peu importe l’ordre, on renseigne si dispo
-            if (player0 != null) {
-                dto.opponentPlayerId    = 0;
-                dto.opponentPlayerName  = safe(player0.getName());
-                dto.opponentPlayerScore = safeInt(player0.getScore());
-            }
-            if (player1 != null) {
-                // si player0 était vide, l’actuel opponent est 1 ; sinon on écrase pas les infos utiles
-                if (dto.opponentPlayerId == -1) {
-                    dto.opponentPlayerId    = 1;
-                    dto.opponentPlayerName  = safe(player1.getName());
-                    dto.opponentPlayerScore = safeInt(player1.getScore());
-                }
+            String body = response.body().string();
+            if (!response.isSuccessful()) {
+                throw new ApiException(response.code(), response.message(), response.headers().toMultimap(), body);
             }
+            TurnStatusDTO dto = withDefaults(parseResponse(body));
+            lastStateETag = response.header("ETag");
+            lastStateVersion = parseVersion(lastStateETag);
+            lastState = dto;
+            System.out.println("[SERVICE] GET /state -> v" + lastStateVersion);
+            return dto;
+        } catch (java.io.IOException e) {
+            throw new ApiException(0, "GET /state impossible: " + e.getMessage());
         }
+    }
 
-        // 3) Dés & score temporaire
-        try {
-            RestDices dicesPlate = getDicesOnPlate();
-            if (dicesPlate != null && dicesPlate.getDices() != null)
-                dto.diceOnPlate = dicesPlate.getDices();
-        } catch (Exception ignored) {}
+    /** Version de l'état renvoyé par le dernier getEtatCompose() (lue dans l'ETag), -1 si inconnue. */
+    public int getLastStateVersion() {
+        return lastStateVersion;
+    }
 
+    /** ETag "table.version" -> version (-1 si absent ou illisible). */
+    private static int parseVersion(String etag) {
+        if (etag == null) return -1;
+        String tag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        tag = tag.replace("\"", "");
         try {
-            RestDices selectedDices = getSelectedDices();
-            if (selectedDices != null && selectedDices.getDices() != null)
-                dto.keptDiceThisTurn = selectedDices.getDices();
-        } catch (Exception ignored) {}
+            return Integer.parseInt(tag.substring(tag.lastIndexOf('.') + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 
-        try {
-            Integer tempScore = getActualTurnPoints();
-            if (tempScore != null) dto.tempScore = tempScore;
-        } catch (Exception ignored) {}
+    private static TurnStatusDTO withDefaults(TurnStatusDTO dto) {
+        dto.currentPlayerName  = safe(dto.currentPlayerName);
+        dto.opponentPlayerName = safe(dto.opponentPlayerName);
+        dto.gameState          = safe(dto.gameState);
+        dto.winningPlayerName  = safe(dto.winningPlayerName);
+        if (dto.diceOnPlate == null)      dto.diceOnPlate = new ArrayList<>();
+        if (dto.keptDiceThisTurn == null) dto.keptDiceThisTurn = new ArrayList<>();
+        if (dto.seats == null)            dto.seats = new ArrayList<>();
+        return dto;
+    }
 
-        // 4) Fin de partie (si dispo via /winner)
-        try {
-            RestPlayer winner = getWinner();
-            if (winner != null) {
-                dto.gameState          = "GAME_OVER";
-                dto.winningPlayerName  = safe(winner.getName());
-                dto.winningPlayerScore = safeInt(winner.getScore());
-            }
-        } catch (Exception ignored) {}
+    /**
+     * GET JSON sur une route qui n'existe pas (encore) dans le client généré DefaultApi.
+     */
+    private <T> T get(String path, List<Pair> query, Type returnType) throws ApiException {
+        return localApiClient.<T>execute(buildGet(path, query), returnType).getData();
+    }
 
-        System.out.println("[SERVICE] État composite construit");
-        return dto;
+    private com.squareup.okhttp.Call buildGet(String path, List<Pair> query) throws ApiException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", "application/json");
+        return localApiClient.buildCall(path, "GET", query, new ArrayList<>(),
+                null, headers, new HashMap<>(), new String[0], null);
     }
 
     private static String safe(String s) {
         return (s == null ? "" : s);
     }
 
-    private static Integer safeInt(Integer i) {
-        return (i == null ? 0 : i);
-    }
-
     public void setLocalPlayerId(Integer playerId) {
         this.localPlayerId = playerId;
     }
@@ -209,4 +295,8 @@ public class FarkleRestService {
     public Integer getLocalPlayerId() {
         return localPlayerId;
     }
+
+    public Integer getGameId() {
+        return gameId;
+    }
 }
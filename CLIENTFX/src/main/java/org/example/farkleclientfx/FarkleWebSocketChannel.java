@@ -0,0 +1,205 @@
+package org.example.farkleclientfx.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.client.ApiException;
+import io.swagger.client.model.TurnStatusDTO;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canal WebSocket de jeu (/v1/ws/farkle?gameId=N).
+ * - Les actions (ROLL / SELECT / BANK / QUIT / STATE) partent sur la connexion ouverte ;
+ *   la réponse revient sur la même connexion (pas de nouvelle requête HTTP par action).
+ * - Les changements d'état provoqués par l'adversaire sont poussés par le serveur
+ *   et transmis au {@link Listener} (thread du WebSocket : ne pas y bloquer).
+ */
+public class FarkleWebSocketChannel {
+
+    /** Réception des messages poussés par le serveur. */
+    public interface Listener {
+        void onState(int version, TurnStatusDTO state);
+
+        void onResync(int version);
+
+        void onClosed(String reason);
+    }
+
+    /** Réponse du serveur à une action : l'état et sa version. */
+    public static final class Reply {
+        public final int version;
+        public final TurnStatusDTO state;
+
+        Reply(int version, TurnStatusDTO state) {
+            this.version = version;
+            this.state = state;
+        }
+    }
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Map<Long, CompletableFuture<Reply>> pendingReplies = new ConcurrentHashMap<>();
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final long replyTimeoutMs;
+    private final Listener listener;
+    private volatile WebSocket webSocket;
+
+    private FarkleWebSocketChannel(Listener listener, long replyTimeoutMs) {
+        this.listener = listener;
+        this.replyTimeoutMs = replyTimeoutMs;
+    }
+
+    /**
+     * Ouvre le canal.
+     * @throws ApiException si la connexion échoue (le client reste alors en REST + long-polling).
+     */
+    public static FarkleWebSocketChannel open(URI uri, Listener listener, long timeoutMs) throws ApiException {
+        FarkleWebSocketChannel channel = new FarkleWebSocketChannel(listener, timeoutMs);
+        try {
+            channel.webSocket = HttpClient.newHttpClient()
+                    .newWebSocketBuilder()
+                    .buildAsync(uri, channel.new Receiver())
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(0, "Connexion WebSocket interrompue");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ApiException(0, "Connexion WebSocket impossible: " + e.getMessage());
+        }
+        System.out.println("[WS] Canal ouvert : " + uri);
+        return channel;
+    }
+
+    public boolean isOpen() {
+        WebSocket ws = webSocket;
+        return ws != null && !ws.isOutputClosed() && !ws.isInputClosed();
+    }
+
+    /**
+     * Envoie une action et attend la réponse correspondante (même requestId).
+     */
+    public Reply send(String action, String dices, Integer playerId) throws ApiException {
+        if (!isOpen()) throw new ApiException(0, "Canal WebSocket fermé");
+        long requestId = requestCounter.incrementAndGet();
+        ObjectNode command = jsonMapper.createObjectNode();
+        command.put("action", action);
+        command.put("requestId", requestId);
+        if (dices != null) command.put("dices", dices);
+        if (playerId != null) command.put("playerId", playerId);
+
+        CompletableFuture<Reply> reply = new CompletableFuture<>();
+        pendingReplies.put(requestId, reply);
+        try {
+            synchronized (this) { // un seul envoi en cours à la fois sur un WebSocket
+                webSocket.sendText(command.toString(), true).join();
+            }
+            return reply.get(replyTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(0, "Action " + action + " interrompue");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) throw (ApiException) cause;
+            throw new ApiException(0, "Action " + action + " échouée: " + cause);
+        } catch (TimeoutException e) {
+            throw new ApiException(0, "Pas de réponse du serveur pour " + action);
+        } catch (RuntimeException e) {
+            throw new ApiException(0, "Envoi WebSocket impossible: " + e.getMessage());
+        } finally {
+            pendingReplies.remove(requestId);
+        }
+    }
+
+    public void close() {
+        WebSocket ws = webSocket;
+        if (ws != null && !ws.isOutputClosed()) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "bye");
+        }
+    }
+
+    // --- Réception ---
+
+    private void dispatch(String text) {
+        try {
+            JsonNode message = jsonMapper.readTree(text);
+            String type = message.path("type").asText();
+            int version = message.path("version").asInt(-1);
+            switch (type) {
+                case "result": {
+                    CompletableFuture<Reply> reply = pendingReplies.get(message.path("requestId").asLong());
+                    if (reply != null) reply.complete(new Reply(version, readState(message)));
+                    break;
+                }
+                case "error": {
+                    CompletableFuture<Reply> reply = pendingReplies.get(message.path("requestId").asLong());
+                    ApiException error = new ApiException(400, message.path("message").asText());
+                    if (reply != null) reply.completeExceptionally(error);
+                    else System.out.println("[WS] Erreur serveur : " + error.getMessage());
+                    break;
+                }
+                case "state":
+                    listener.onState(version, readState(message));
+                    break;
+                case "resync":
+                    listener.onResync(version);
+                    break;
+                default:
+                    System.out.println("[WS] Message ignoré : " + type);
+            }
+        } catch (Exception e) {
+            System.out.println("[WS] Message illisible : " + e.getMessage());
+        }
+    }
+
+    private TurnStatusDTO readState(JsonNode message) throws Exception {
+        return jsonMapper.treeToValue(message.get("state"), TurnStatusDTO.class);
+    }
+
+    private void failPending(String reason) {
+        ApiException error = new ApiException(0, reason);
+        pendingReplies.values().forEach(f -> f.completeExceptionally(error));
+        pendingReplies.clear();
+    }
+
+    /** Réassemble les trames texte et les transmet une fois complètes. */
+    private final class Receiver implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                dispatch(text);
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            System.out.println("[WS] Canal fermé (" + statusCode + ") " + reason);
+            failPending("Canal WebSocket fermé");
+            listener.onClosed(reason);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            System.out.println("[WS] Erreur : " + error.getMessage());
+            failPending("Canal WebSocket en erreur");
+            listener.onClosed(String.valueOf(error.getMessage()));
+        }
+    }
+}
@@ -19,11 +19,12 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 import org.example.farkleclientfx.service.FarkleRestService;
+import org.example.farkleclientfx.service.FarkleWebSocketChannel;
 
 import java.util.*;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -32,12 +33,19 @@ import java.util.stream.Collectors;
  * Contrôleur principal JavaFX du client “Farkle Pirates”.
  *
  * SWITCH DE MODE :
- *  - STRICT_MODE = true  -> Comportement examen : seul le joueur en ATTENTE poll /stateChanged ; pas de force re-sync ; aucune déduction d’actions.
+ *  - STRICT_MODE = true  -> Comportement examen : seul le joueur en ATTENTE poll /stateVersion ; pas de force re-sync ; aucune déduction d’actions.
  *  - STRICT_MODE = false -> Mode compat (ancien fonctionnement) : force re-sync après N zéros ou X ms ; fallback de déduction d’actions.
  *
  * Dans les deux modes :
  *  - Les écritures UI passent par Platform.runLater.
- *  - Le joueur ACTIF ne poll jamais /stateChanged ; après chaque POST, on fait un GET compose pour re-synchroniser l’UI.
+ *  - Le joueur ACTIF ne poll jamais ; après chaque POST, on fait un GET /state pour re-synchroniser l’UI.
+ *  - Le polling compare la version serveur (/stateVersion) au curseur local lastSeenVersion :
+ *    rien n'est "consommé" côté serveur, donc aucun délai anti-course n'est nécessaire.
+ *  - Polling en long-polling (/stateVersion/await) : le serveur répond dès que la version change,
+ *    sinon au bout de FarkleRestService.LONG_POLL_MS ; aucune requête à vide chaque seconde.
+ *  - Si le canal WebSocket s'ouvre, il remplace le polling ET le GET compose après action :
+ *    la réponse de l'action suffit, les coups adverses arrivent en push (onPushState).
+ *    S'il se ferme, retour automatique au long-polling.
  */
 public class MainViewController {
 
@@ -87,8 +95,10 @@ public class MainViewController {
        ============================ */
 
     private ScheduledExecutorService pollingExecutor;     // thread planifié (daemon)
-    private ScheduledFuture<?> pollingFuture;             // tâche courante
+    private Future<?> pollingFuture;                      // boucle de long-polling courante
     private final AtomicBoolean isPollingActive = new AtomicBoolean(false);
+    private volatile int lastSeenVersion = -1;                // curseur : dernière version d’état vue
+    private final AtomicBoolean actionEnCours = new AtomicBoolean(false); // pushes ignorés pendant une action
 
     /* ============================
        ========= AVATARS ==========
@@ -154,6 +164,7 @@ public class MainViewController {
     private void handleQuit() {
         System.out.println("[QUIT] Fermeture demandée.");
         stopPolling();
+        farkleService.fermerCanal();
         if (pollingExecutor != null) pollingExecutor.shutdown();
         Platform.exit();
     }
@@ -191,21 +202,20 @@ public class MainViewController {
 
             try {
                 TurnStatusDTO etatInitial = farkleService.getEtatCompose();
+                lastSeenVersion = farkleService.getLastStateVersion(); // curseur = version de l'état lu (ETag)
                 System.out.println("[INIT] État initial : " + resumeDto(etatInitial));
                 majInterfaceAvecEtat(etatInitial);
             } catch (Exception ex) {
                 System.out.println("[INIT] Aucun état initial disponible.");
             }
 
+            // Canal WebSocket : s'il s'ouvre, startPolling() devient sans effet (états poussés).
+            if (farkleService.ouvrirCanal(new CanalListener())) {
+                System.out.println("[INIT] Canal WebSocket ouvert -> pas de polling.");
+            }
+
             if (dernierEtatRecu != null && !isMyTurn(dernierEtatRecu)) {
-                if (STRICT_MODE) {
-                    // ⚠️ Anti-course : on laisse ~1,2s au client qui doit devenir ACTIF
-                    // pour récupérer le 1, puis on commence à poller côté ATTENTE.
-                    System.out.println("[INIT] STRICT: démarrage du polling différé (1.2s) pour éviter de consommer le 1 de l'autre client.");
-                    pollingExecutor.schedule(this::startPolling, 1200, TimeUnit.MILLISECONDS);
-                } else {
-                    startPolling(); // compat
-                }
+                startPolling(); // curseur de version : aucun changement ne peut être "volé" à l'autre client
             } else {
                 setActionButtonsEnabled(true);  // ACTIF
             }
@@ -223,6 +233,10 @@ public class MainViewController {
 
     /** Démarre la boucle si elle n’est pas déjà active (ATTENTE uniquement). */
     private void startPolling() {
+        if (farkleService.isCanalOuvert()) {
+            System.out.println("[POLL] Canal WebSocket ouvert -> états poussés, pas de polling.");
+            return;
+        }
         if (!isPollingActive.compareAndSet(false, true)) {
             System.out.println("[POLL] Déjà actif.");
             return;
@@ -238,17 +252,20 @@ public class MainViewController {
                     return;
                 }
 
-                Integer flag = farkleService.getStateChanged(); // 0/1 consommable
-                boolean changed = (flag != null && flag == 1);
+                Integer version = farkleService.awaitStateVersion(lastSeenVersion, FarkleRestService.LONG_POLL_MS);
+                if (!isPollingActive.get()) return; // arrêté pendant l'attente
+                boolean changed = (version != null && version > lastSeenVersion);
+                if (changed) lastSeenVersion = version;
 
                 if (STRICT_MODE) {
                     if (changed) {
-                        TurnStatusDTO newState = farkleService.getEtatCompose(); // fetch complet déclenché par 1
-                        System.out.println("[POLL] (STRICT) Nouvel état via 1 : " + resumeDto(newState));
+                        TurnStatusDTO newState = farkleService.getEtatCompose(); // fetch complet déclenché par une nouvelle version
+                        lastSeenVersion = Math.max(lastSeenVersion, farkleService.getLastStateVersion());
+                        System.out.println("[POLL] (STRICT) Nouvel état v" + lastSeenVersion + " : " + resumeDto(newState));
 
                         Platform.runLater(() -> {
                             majInterfaceAvecEtat(newState);
-                            showPlayedToast(newState.currentPlayerName); // toast à chaque 1
+                            showPlayedToast(newState.currentPlayerName); // toast à chaque nouvelle version
 
                             if (isMyTurn(newState)) {
                                 System.out.println("[POLL] Je deviens actif -> activer boutons et arrêter polling.");
@@ -261,7 +278,7 @@ public class MainViewController {
                             }
                         });
                     }
-                    // Si 0 -> ne rien faire (aucun force re-sync)
+                    // Version inchangée -> ne rien faire (aucun force re-sync)
                 } else {
                     // ==== MODE COMPAT ====
                     if (changed) zerosInARow = 0; else zerosInARow++;
@@ -278,7 +295,7 @@ public class MainViewController {
 
                         Platform.runLater(() -> {
                             majInterfaceAvecEtat(newState);
-                            if (changed) showPlayedToast(newState.currentPlayerName); // toast seulement quand 1
+                            if (changed) showPlayedToast(newState.currentPlayerName); // toast seulement sur nouvelle version
 
                             if (isMyTurn(newState)) {
                                 System.out.println("[POLL] Je deviens actif -> arrêt polling.");
@@ -293,11 +310,22 @@ public class MainViewController {
                     }
                 }
             } catch (Exception e) {
+                if (!isPollingActive.get()) return; // requête annulée par stopPolling()
                 System.out.println("[POLL] Erreur : " + e.getMessage());
+                try {
+                    Thread.sleep(1000); // pause avant de retenter (serveur injoignable)
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
             }
         };
 
-        pollingFuture = pollingExecutor.scheduleAtFixedRate(pollingTask, 0, 1000, TimeUnit.MILLISECONDS);
+        // Boucle de long-polling : chaque appel reste ouvert côté serveur jusqu'au prochain changement.
+        pollingFuture = pollingExecutor.submit(() -> {
+            while (isPollingActive.get() && !Thread.currentThread().isInterrupted()) {
+                pollingTask.run();
+            }
+        });
     }
 
     /** Arrête la boucle si active. */
@@ -308,6 +336,46 @@ public class MainViewController {
                 pollingFuture.cancel(false);
                 pollingFuture = null;
             }
+            // Libère le thread de polling : un redémarrage n'attend pas la fin de la requête en cours
+            farkleService.cancelAwaitStateVersion();
+        }
+    }
+
+    /* ============================
+       ======= CANAL PUSH =========
+       ============================ */
+
+    /** États poussés par le serveur sur le canal WebSocket (thread du WebSocket). */
+    private final class CanalListener implements FarkleWebSocketChannel.Listener {
+        @Override
+        public void onState(int version, TurnStatusDTO newState) {
+            if (actionEnCours.get() || version <= lastSeenVersion) return; // déjà reçu via la réponse de l'action
+            lastSeenVersion = version;
+            System.out.println("[PUSH] Nouvel état v" + version + " : " + resumeDto(newState));
+            Platform.runLater(() -> {
+                majInterfaceAvecEtat(newState);
+                showPlayedToast(newState.currentPlayerName);
+                if (isMyTurn(newState)) {
+                    System.out.println("[PUSH] Je deviens actif -> activer boutons.");
+                    setActionButtonsEnabled(true);
+                }
+            });
+        }
+
+        @Override
+        public void onResync(int version) {
+            // Le serveur envoie le dernier état juste après : rien à recharger ici.
+            System.out.println("[PUSH] Resync demandé (v" + version + ").");
+        }
+
+        @Override
+        public void onClosed(String reason) {
+            System.out.println("[PUSH] Canal fermé -> retour au long-polling.");
+            Platform.runLater(() -> {
+                if (dernierEtatRecu != null && !isMyTurn(dernierEtatRecu) && !"GAME_OVER".equals(dernierEtatRecu.gameState)) {
+                    startPolling();
+                }
+            });
         }
     }
 
@@ -351,8 +419,9 @@ public class MainViewController {
             return;
         }
 
-        stopPolling();                 // ACTIF : pas de /stateChanged
+        stopPolling();                 // ACTIF : pas de polling
         desactiverBoutonsPendantAction();
+        actionEnCours.set(true);
 
         new Thread(() -> {
             try {
@@ -375,8 +444,17 @@ public class MainViewController {
                         (dtoAfterPost.availableActions != null && !dtoAfterPost.availableActions.isEmpty())
                                 ? dtoAfterPost.availableActions : null;
 
-                // 3) Re-sync immédiat et systématique via GET "composé"
-                TurnStatusDTO refreshed = farkleService.getEtatCompose();
+                // 3) Re-sync immédiat via GET "composé"
+                //    (curseur = version de l'état lu : nos propres actions ne déclenchent pas de re-fetch au polling)
+                //    Via le canal WebSocket, la réponse porte déjà l'état complet et sa version : pas de GET.
+                TurnStatusDTO refreshed;
+                if (farkleService.getLastActionVersion() >= 0 && farkleService.isCanalOuvert()) {
+                    lastSeenVersion = Math.max(lastSeenVersion, farkleService.getLastActionVersion());
+                    refreshed = dtoAfterPost;
+                } else {
+                    refreshed = farkleService.getEtatCompose();
+                    lastSeenVersion = Math.max(lastSeenVersion, farkleService.getLastStateVersion());
+                }
 
                 // 4) Fusionner les infos du POST si le re-sync ne les fournit pas
                 if ((refreshed.immersiveMessage == null || refreshed.immersiveMessage.isBlank()) && postImmersive != null) {
@@ -403,9 +481,9 @@ public class MainViewController {
                                 // ⚠️ La branche FARKLE de majInterfaceAvecEtat() relancera le polling après ~3.5 s.
                                 System.out.println("[ACTION][STRICT] FARKLE → pas de relance polling ici (pause FARKLE).");
                             } else {
-                                // Handover normal : petite latence pour éviter de consommer le 1 de l’adversaire
-                                System.out.println("[ACTION][STRICT] Handover normal → startPolling dans 1.2s.");
-                                pollingExecutor.schedule(this::startPolling, 1200, TimeUnit.MILLISECONDS);
+                                // Handover normal : polling immédiat (curseur de version, rien à "voler")
+                                System.out.println("[ACTION][STRICT] Handover normal → startPolling.");
+                                startPolling();
                             }
                         } else {
                             // Mode compat : comportement historique
@@ -432,8 +510,8 @@ public class MainViewController {
                                 if (isFarkle) {
                                     System.out.println("[ACTION][STRICT][ERR] FARKLE → pas de relance polling ici (pause FARKLE).");
                                 } else {
-                                    System.out.println("[ACTION][STRICT][ERR] Handover normal → startPolling dans 1.2s.");
-                                    pollingExecutor.schedule(this::startPolling, 1200, TimeUnit.MILLISECONDS);
+                                    System.out.println("[ACTION][STRICT][ERR] Handover normal → startPolling.");
+                                    startPolling();
                                 }
                             } else {
                                 System.out.println("[ACTION][COMPAT][ERR] startPolling dans 0.4s.");
@@ -442,6 +520,8 @@ public class MainViewController {
                         }
                     } catch (Exception ignore) { /* best effort */ }
                 });
+            } finally {
+                actionEnCours.set(false);
             }
         }, "Farkle-Action-Thread").start();
     }
@@ -610,17 +690,24 @@ public class MainViewController {
     /**
      * Met à jour noms/scores/avatars des deux panneaux.
      * Les avatars sont stables par ID (0 → avatarP0, 1 → avatarP1).
+     * À plus de deux joueurs, le panneau adverse montre celui qui joue (ou le suivant quand c’est à nous).
      */
     private void updatePlayerPanels(TurnStatusDTO etat) {
         // Panneau du joueur local
         playerName.setText(myName != null ? myName + " (Vous)" : "Vous");
 
-        // Récupère le score à jour auprès du serveur (si ça échoue, on garde l’affiché)
+        // Score à jour : lu dans les places de l'état (toute la table en une lecture) ;
+        // sans places dans l'état, une seule requête /players (si ça échoue, on garde l’affiché)
         if (myPlayerId != null) {
+            List<RestPlayer> places = (etat != null) ? etat.seats : null;
             try {
-                RestPlayer me = farkleService.getRestPlayer(myPlayerId);
-                if (me != null) playerScore.setText(String.valueOf(me.getScore()));
+                if (places == null || places.isEmpty()) places = farkleService.getJoueurs();
             } catch (Exception ignored) {}
+            if (places != null) {
+                for (RestPlayer p : places) {
+                    if (Objects.equals(myPlayerId, p.getId())) playerScore.setText(String.valueOf(p.getScore()));
+                }
+            }
         }
 
         // Détermine “qui est l’adversaire” à partir de l’état
@@ -0,0 +1,115 @@
+package org.example.farkleclientfx.service;
+
+import io.swagger.client.ApiException;
+import io.swagger.client.model.TurnStatusDTO;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Aller-retour d'une action, REST contre canal WebSocket, sur un serveur lancé en local.
+ * - REST : POST de l'action puis GET /state (la séquence de MainViewController.performApiCall).
+ * - WebSocket : une commande sur le canal ouvert ; l'état complet revient dans la réponse.
+ * Deux joueurs partagent une table et jouent à tour de rôle (mise en banque dès qu'elle est possible,
+ * sinon lancer) ; une nouvelle table est ouverte à chaque fin de partie.
+ * Usage : RoundTripBenchmark [actions par mode]
+ */
+public final class RoundTripBenchmark {
+
+    /** Les états poussés ne servent pas ici : seule la réponse à l'action est mesurée. */
+    private static final FarkleWebSocketChannel.Listener IGNORE_PUSHES = new FarkleWebSocketChannel.Listener() {
+        @Override
+        public void onState(int version, TurnStatusDTO state) {
+        }
+
+        @Override
+        public void onResync(int version) {
+        }
+
+        @Override
+        public void onClosed(String reason) {
+        }
+    };
+
+    private RoundTripBenchmark() {
+    }
+
+    public static void main(String[] args) throws ApiException {
+        int actions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        // Premier passage de chaque mode : chauffe du JIT (client et serveur) et des connexions
+        measure(false, Math.max(1, actions / 5));
+        measure(true, Math.max(1, actions / 5));
+        report("REST (POST + GET /state)", measure(false, actions));
+        report("WebSocket", measure(true, actions));
+    }
+
+    /**
+     * @return Durée de chaque action (envoi jusqu'à l'état à jour reçu), en nanosecondes.
+     */
+    private static long[] measure(boolean webSocket, int actions) throws ApiException {
+        long[] nanos = new long[actions];
+        FarkleRestService[] table = openTable(webSocket);
+        TurnStatusDTO state = table[0].getEtatCompose();
+        for (int i = 0; i < actions; i++) {
+            if ("GAME_OVER".equals(state.gameState)) {
+                close(table);
+                table = openTable(webSocket);
+                state = table[0].getEtatCompose();
+            }
+            FarkleRestService player = table[0].getLocalPlayerId() == state.currentPlayerId ? table[0] : table[1];
+            boolean bank = state.availableActions != null && state.availableActions.contains("BANK");
+
+            long start = System.nanoTime();
+            TurnStatusDTO result = bank ? player.banker() : player.lancerDes();
+            if (!webSocket) result = player.getEtatCompose();
+            nanos[i] = System.nanoTime() - start;
+            state = result;
+        }
+        close(table);
+        return nanos;
+    }
+
+    /** Inscrit deux joueurs sur une même table (un joueur déjà en attente sur le serveur la décale d'un cran). */
+    private static FarkleRestService[] openTable(boolean webSocket) throws ApiException {
+        FarkleRestService first = register("Bench-A");
+        FarkleRestService second = register("Bench-B");
+        if (!Objects.equals(second.getGameId(), first.getGameId())) {
+            first = register("Bench-A"); // rejoint la table que second vient d'ouvrir
+        }
+        if (!Objects.equals(second.getGameId(), first.getGameId())) {
+            throw new IllegalStateException("Impossible de réunir les deux joueurs sur une table (serveur occupé ?)");
+        }
+        FarkleRestService[] table = {first, second};
+        if (webSocket) {
+            for (FarkleRestService player : table) {
+                if (!player.ouvrirCanal(IGNORE_PUSHES)) throw new ApiException(0, "Canal WebSocket indisponible");
+            }
+        }
+        return table;
+    }
+
+    private static FarkleRestService register(String name) throws ApiException {
+        FarkleRestService service = new FarkleRestService();
+        service.inscrireJoueur(name);
+        return service;
+    }
+
+    private static void close(FarkleRestService[] table) {
+        for (FarkleRestService player : table) {
+            player.fermerCanal();
+        }
+    }
+
+    private static void report(String mode, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1000.0;
+        System.out.printf("%-26s %,7d actions : moyenne %8.1f µs | p50 %8.1f µs | p99 %8.1f µs | %,8.0f actions/s%n",
+                mode, sorted.length, mean, percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0,
+                mean > 0 ? 1e6 / mean : 0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,191 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Représentation compacte d'un ensemble de dés (de 0 à 6 dés) : un simple {@code int}
+ * contenant le NOMBRE de dés de chaque face, sur 3 bits par face.
+ *
+ *   bits  0-2  : nombre de [1]
+ *   bits  3-5  : nombre de [2]
+ *   ...
+ *   bits 15-17 : nombre de [6]
+ *
+ * Une "main" est une valeur (pas d'objet, pas de liste) : lancer, évaluer, sélectionner
+ * ou retirer des dés ne fait aucune allocation. L'ordre des dés n'est pas conservé,
+ * seules les quantités comptent pour les règles du Farkle.
+ * Les listes de valeurs (List<Integer>) n'existent qu'en bordure, pour l'API REST.
+ */
+public final class DiceHand {
+
+    /** Aucun dé. */
+    public static final int EMPTY = 0;
+    /** Nombre maximal de dés dans une main. */
+    public static final int MAX_DICE = 6;
+    /** Suite 1-2-3-4-5-6 : un dé de chaque face. */
+    public static final int STRAIGHT = 0b001_001_001_001_001_001;
+
+    private static final int BITS_PER_FACE = 3;
+    private static final int FACE_MASK = 0b111;
+
+    private DiceHand() {
+    }
+
+    private static int shift(int face) {
+        return (face - 1) * BITS_PER_FACE;
+    }
+
+    // --- Lecture ---
+
+    /** Nombre de dés montrant {@code face} (1 à 6). */
+    public static int count(int hand, int face) {
+        return (hand >>> shift(face)) & FACE_MASK;
+    }
+
+    /** Nombre total de dés. */
+    public static int size(int hand) {
+        int size = 0;
+        for (int h = hand; h != 0; h >>>= BITS_PER_FACE) {
+            size += h & FACE_MASK;
+        }
+        return size;
+    }
+
+    public static boolean isEmpty(int hand) {
+        return hand == EMPTY;
+    }
+
+    /** Nombre de faces présentes exactement {@code n} fois. */
+    public static int facesWithCount(int hand, int n) {
+        int faces = 0;
+        for (int face = 1; face <= 6; face++) {
+            if (count(hand, face) == n) faces++;
+        }
+        return faces;
+    }
+
+    /** {@code part} est-elle incluse dans {@code hand} (face par face) ? */
+    public static boolean contains(int hand, int part) {
+        for (int face = 1; face <= 6; face++) {
+            if (count(part, face) > count(hand, face)) return false;
+        }
+        return true;
+    }
+
+    // --- Construction / opérations ---
+
+    /** Ajoute un dé de valeur {@code face}. L'appelant garantit qu'il reste de la place (6 dés maximum). */
+    public static int add(int hand, int face) {
+        return hand + (1 << shift(face));
+    }
+
+    /** Ajoute {@code n} dés de valeur {@code face}. */
+    public static int add(int hand, int face, int n) {
+        return hand + (n << shift(face));
+    }
+
+    /** Réunion de deux mains (la somme ne doit pas dépasser 6 dés par face). */
+    public static int plus(int hand, int other) {
+        return hand + other;
+    }
+
+    /** Retire {@code part} de {@code hand} ; suppose {@code contains(hand, part)}. */
+    public static int minus(int hand, int part) {
+        return hand - part;
+    }
+
+    /** Tous les dés de la face {@code face} présents dans la main. */
+    public static int onlyFace(int hand, int face) {
+        return hand & (FACE_MASK << shift(face));
+    }
+
+    /** Lance {@code n} dés. */
+    public static int roll(int n, DiceSource source) {
+        int hand = EMPTY;
+        for (int i = 0; i < n; i++) {
+            hand = add(hand, source.nextFace());
+        }
+        return hand;
+    }
+
+    /**
+     * Lit une sélection saisie par le joueur : "155" (chiffres collés) ou "1 5 5" (séparés par des espaces).
+     * @return La main correspondante, ou -1 si la saisie est invalide (face hors 1-6, trop de dés...).
+     */
+    public static int parse(String input) {
+        if (input == null) return -1;
+        String trimmed = input.trim();
+        if (trimmed.isEmpty()) return EMPTY;
+        int hand = EMPTY;
+        if (trimmed.matches("\\d+")) {
+            for (int i = 0; i < trimmed.length(); i++) {
+                hand = addChecked(hand, trimmed.charAt(i) - '0');
+                if (hand < 0) return -1;
+            }
+            return hand;
+        }
+        for (String token : trimmed.split("\\s+")) {
+            int face;
+            try {
+                face = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+            hand = addChecked(hand, face);
+            if (hand < 0) return -1;
+        }
+        return hand;
+    }
+
+    private static int addChecked(int hand, int face) {
+        if (face < 1 || face > 6 || count(hand, face) >= MAX_DICE) return -1;
+        return add(hand, face);
+    }
+
+    // --- Bordure API ---
+
+    /** Valeurs des dés, triées par face (pour les DTO / RestDices). */
+    public static List<Integer> toValues(int hand) {
+        List<Integer> values = new ArrayList<>(size(hand));
+        for (int face = 1; face <= 6; face++) {
+            for (int n = count(hand, face); n > 0; n--) {
+                values.add(face);
+            }
+        }
+        return values;
+    }
+
+    /** Construit une main à partir de valeurs de dés (-1 si une valeur est invalide). */
+    public static int fromValues(List<Integer> values) {
+        int hand = EMPTY;
+        for (Integer value : values) {
+            hand = addChecked(hand, value != null ? value : 0);
+            if (hand < 0) return -1;
+        }
+        return hand;
+    }
+
+    /** Saisie équivalente à la main, telle que l'accepte {@link #parse(String)} : "155". */
+    public static String toDigits(int hand) {
+        StringBuilder sb = new StringBuilder(MAX_DICE);
+        for (int face = 1; face <= 6; face++) {
+            for (int n = count(hand, face); n > 0; n--) {
+                sb.append((char) ('0' + face));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Représentation lisible pour les logs et les événements : "[1] [5] [5]". */
+    public static String toString(int hand) {
+        StringBuilder sb = new StringBuilder();
+        for (int face = 1; face <= 6; face++) {
+            for (int n = count(hand, face); n > 0; n--) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append('[').append(face).append(']');
+            }
+        }
+        return sb.toString();
+    }
+}
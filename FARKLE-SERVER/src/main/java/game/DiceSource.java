@@ -0,0 +1,24 @@
+package game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source des valeurs de dés d'une table.
+ * Chaque table possède la sienne, utilisée uniquement par son acteur (pas de partage entre threads).
+ * Une source initialisée avec la même graine rejoue exactement les mêmes lancers :
+ * une partie complète peut être reproduite à partir de sa graine.
+ */
+public interface DiceSource {
+
+    /** Valeur d'un dé, de 1 à 6. */
+    int nextFace();
+
+    /**
+     * Source pseudo-aléatoire déterministe (SplittableRandom) : aucune allocation par lancer,
+     * aucun verrou, aucune relecture de l'horloge.
+     */
+    static DiceSource seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return () -> random.nextInt(1, 7);
+    }
+}
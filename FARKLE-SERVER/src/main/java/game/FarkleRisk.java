@@ -0,0 +1,46 @@
+package game;
+
+/**
+ * Risque d'un lancer de N dés (1 à 6), calculé exactement une fois pour toutes :
+ * probabilité de Farkle et espérance des points des dés scorants du lancer.
+ *
+ * Les valeurs viennent de l'énumération multinomiale de tous les résultats distincts
+ * ({@link RollOutcomes}, pondérés par leur nombre de tirages ordonnés), pas d'une simulation.
+ * Ensuite, chaque question est une simple lecture de tableau.
+ */
+public final class FarkleRisk {
+
+    private static final double[] FARKLE = new double[DiceHand.MAX_DICE + 1];
+    private static final double[] EXPECTED_GAIN = new double[DiceHand.MAX_DICE + 1];
+
+    static {
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            long farkleWeight = 0;
+            long pointsWeight = 0;
+            for (int i = 0; i < RollOutcomes.count(n); i++) {
+                int points = scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(RollOutcomes.hand(n, i)));
+                if (points == 0) farkleWeight += RollOutcomes.weight(n, i);
+                pointsWeight += (long) RollOutcomes.weight(n, i) * points;
+            }
+            FARKLE[n] = farkleWeight / (double) RollOutcomes.totalWeight(n);
+            EXPECTED_GAIN[n] = pointsWeight / (double) RollOutcomes.totalWeight(n);
+        }
+    }
+
+    private FarkleRisk() {
+    }
+
+    /** Probabilité que le lancer de {@code dice} dés ne contienne aucun dé scorant. */
+    public static double farkleProbability(int dice) {
+        return FARKLE[dice];
+    }
+
+    /**
+     * Espérance des points des dés scorants du lancer de {@code dice} dés
+     * (un Farkle compte pour 0 ; les points déjà acquis dans le tour ne sont pas inclus).
+     */
+    public static double expectedGain(int dice) {
+        return EXPECTED_GAIN[dice];
+    }
+}
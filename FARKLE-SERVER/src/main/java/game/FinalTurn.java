@@ -0,0 +1,125 @@
+package game;
+
+import java.util.List;
+
+/**
+ * Dernier tour : probabilité de mettre en banque AU MOINS un nombre de points donné en un seul tour,
+ * en ne jouant que pour ça (sécuriser dès que c'est atteint, sinon relancer : sécuriser moins ne sert à rien).
+ * C'est la situation d'un joueur qui doit dépasser le meneur pendant le dernier tour.
+ *
+ * Comme {@link FarkleRisk}, tout est calculé exactement une fois pour toutes sur les résultats distincts
+ * des lancers ({@link RollOutcomes}). Chaque garde rapporte au moins 50 points : le besoin restant ne fait
+ * que baisser, et une seule passe des petits besoins vers les grands donne les valeurs exactes.
+ * Au-delà de {@link TurnPolicy#MAX_TURN_POINTS}, la probabilité (quasi nulle) est celle de ce plafond.
+ */
+public final class FinalTurn {
+
+    private static final int UNIT = TurnPolicy.POINT_STEP;
+    private static final int MAX_NEED = TurnPolicy.MAX_TURN_POINTS / UNIT;
+
+    private static final ScoreCalculator SCORE_CALCULATOR = new ScoreCalculator();
+    /** Probabilité d'atteindre le besoin si l'on lance maintenant : [besoin en unités * 7 + nombre de dés]. */
+    private static final double[] REACH = new double[(MAX_NEED + 1) * 7];
+
+    static {
+        // Par résultat distinct : points de tous les dés scorants, et meilleure garde pour chaque nombre de dés à relancer
+        int[][] bankUnits = new int[DiceHand.MAX_DICE + 1][];
+        int[][][] keepUnits = new int[DiceHand.MAX_DICE + 1][][];
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            bankUnits[n] = new int[RollOutcomes.count(n)];
+            keepUnits[n] = new int[RollOutcomes.count(n)][];
+            for (int o = 0; o < RollOutcomes.count(n); o++) {
+                int roll = RollOutcomes.hand(n, o);
+                bankUnits[n][o] = SCORE_CALCULATOR.calculatePoints(SCORE_CALCULATOR.findScoringDice(roll)) / UNIT;
+                int[] bestByDice = new int[DiceHand.MAX_DICE + 1];
+                if (SCORE_CALCULATOR.isHotDice(roll)) {
+                    bestByDice[DiceHand.MAX_DICE] = bankUnits[n][o]; // Hot Dice : tout est gardé d'office
+                } else {
+                    for (KeepOption option : SCORE_CALCULATOR.legalKeeps(roll)) {
+                        int dice = diceAfter(option);
+                        bestByDice[dice] = Math.max(bestByDice[dice], option.getPoints() / UNIT);
+                    }
+                }
+                keepUnits[n][o] = bestByDice;
+            }
+        }
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            REACH[n] = 1.0;
+        }
+        for (int need = 1; need <= MAX_NEED; need++) {
+            for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+                double reach = 0;
+                for (int o = 0; o < RollOutcomes.count(n); o++) {
+                    if (bankUnits[n][o] == 0) continue; // Farkle
+                    double best = 0;
+                    if (bankUnits[n][o] >= need) {
+                        best = 1.0;
+                    } else {
+                        int[] bestByDice = keepUnits[n][o];
+                        for (int dice = 1; dice <= DiceHand.MAX_DICE; dice++) {
+                            if (bestByDice[dice] > 0) best = Math.max(best, REACH[(need - bestByDice[dice]) * 7 + dice]);
+                        }
+                    }
+                    reach += RollOutcomes.probability(n, o) * best;
+                }
+                REACH[need * 7 + n] = reach;
+            }
+        }
+    }
+
+    private FinalTurn() {
+    }
+
+    /**
+     * Probabilité de mettre en banque au moins {@code needPoints} de plus pendant ce tour
+     * en lançant maintenant {@code dice} dés (1 si le besoin est déjà couvert).
+     */
+    public static double probability(int needPoints, int dice) {
+        if (needPoints <= 0) return 1.0;
+        int need = Math.min(MAX_NEED, (needPoints + UNIT - 1) / UNIT);
+        return REACH[need * 7 + dice];
+    }
+
+    /**
+     * Probabilité d'atteindre {@code needPoints} au point de décision actuel, avec le meilleur choix.
+     * @param needPoints Points à mettre en banque ce tour (points du tour compris).
+     * @param plate Dés sur le plateau (vide = Hot Dice en attente de choix).
+     * @param canSelect true juste après un lancer (dés à garder), false après une sélection.
+     */
+    public static double atDecision(int needPoints, int turnPoints, int plate, boolean canSelect) {
+        int bankPoints = DiceHand.isEmpty(plate) ? 0 : SCORE_CALCULATOR.calculatePoints(SCORE_CALCULATOR.findScoringDice(plate));
+        if (turnPoints + bankPoints >= needPoints) return 1.0;
+        if (!canSelect) {
+            return probability(needPoints - turnPoints, DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate));
+        }
+        double best = 0;
+        for (KeepOption option : SCORE_CALCULATOR.legalKeeps(plate)) {
+            best = Math.max(best, probability(needPoints - turnPoints - option.getPoints(), diceAfter(option)));
+        }
+        return best;
+    }
+
+    /**
+     * Dés à garder sur le lancer {@code roll} pour maximiser la probabilité de marquer encore
+     * {@code needPoints} (au-delà des points déjà gardés ce tour).
+     * @return La garde (à probabilité égale, celle qui rapporte le plus), ou DiceHand.EMPTY sur un Farkle.
+     */
+    public static int bestKeep(int needPoints, int roll) {
+        List<KeepOption> options = SCORE_CALCULATOR.legalKeeps(roll);
+        int best = DiceHand.EMPTY;
+        double bestReach = -1;
+        for (KeepOption option : options) {
+            double reach = probability(needPoints - option.getPoints(), diceAfter(option));
+            if (reach > bestReach) {
+                bestReach = reach;
+                best = option.getKeep();
+            }
+        }
+        return best;
+    }
+
+    /** Dés du lancer suivant une garde (Hot Dice : les six). */
+    private static int diceAfter(KeepOption option) {
+        return option.getRemainingDice() == 0 ? DiceHand.MAX_DICE : option.getRemainingDice();
+    }
+}
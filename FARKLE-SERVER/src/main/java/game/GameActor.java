@@ -0,0 +1,103 @@
+package game;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Boîte aux lettres "mono-écrivain" d'une table de jeu.
+ * Toutes les actions d'une partie passent par ici et sont exécutées une par une,
+ * dans l'ordre d'arrivée, sur un pool de threads partagé entre toutes les tables.
+ * Deux tables différentes progressent donc en parallèle sans verrou global,
+ * tandis qu'une même table n'est jamais modifiée par deux threads à la fois.
+ */
+public class GameActor {
+
+    /** Nombre maximal d'actions traitées d'affilée avant de rendre la main au pool (équité entre tables). */
+    private static final int MAX_BATCH = 64;
+
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /** Thread qui exécute actuellement la boîte aux lettres (pour les appels ré-entrants). */
+    private volatile Thread owner;
+
+    public GameActor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Dépose une action dans la boîte aux lettres.
+     * @return Un futur complété avec le résultat une fois l'action exécutée.
+     */
+    public <T> CompletableFuture<T> ask(Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        tell(() -> {
+            try {
+                result.complete(action.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Exécute une action sur la table et attend son résultat.
+     * Un appel fait depuis l'acteur lui-même est exécuté directement (pas d'interblocage).
+     */
+    public <T> T call(Supplier<T> action) {
+        if (Thread.currentThread() == owner) {
+            return action.get();
+        }
+        try {
+            return ask(action).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Dépose une action sans attendre son exécution.
+     */
+    public void tell(Runnable action) {
+        mailbox.offer(action);
+        scheduleIfNeeded();
+    }
+
+    private void scheduleIfNeeded() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        owner = Thread.currentThread();
+        try {
+            Runnable next;
+            int processed = 0;
+            while (processed < MAX_BATCH && (next = mailbox.poll()) != null) {
+                try {
+                    next.run();
+                } catch (Throwable t) {
+                    System.out.println("[ACTOR] Erreur pendant une action: " + t);
+                }
+                processed++;
+            }
+        } finally {
+            owner = null;
+            scheduled.set(false);
+        }
+        // Des actions ont pu arriver entre le dernier poll() et la libération du drapeau.
+        if (!mailbox.isEmpty()) {
+            scheduleIfNeeded();
+        }
+    }
+}
@@ -3,47 +3,131 @@ package game;
 import io.swagger.model.RestDices;
 import io.swagger.model.RestPlayer;
 import io.swagger.model.TurnStatusDTO;
-import model.Dice;
 import model.Player;
-import org.springframework.stereotype.Component;
 import ui.Messages;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Contrôleur principal de la logique Farkle (serveur).
+ * Contrôleur principal de la logique Farkle (serveur) pour UNE table de jeu.
+ * Les tables sont créées et retrouvées par identifiant via {@link GameRegistry}.
+ * Les méthodes ne sont PAS synchronisées : toute lecture ou modification doit passer
+ * par {@link #execute(Function)}, qui les sérialise dans la boîte aux lettres de la table.
  * Version corrigée avec gestion stricte de /stateChanged selon les exigences.
  */
-@Component
 public class GameManager {
 
-    // --- ÉTAT GLOBAL DE PARTIE ---
-    private final Map<Integer, Player> players = new HashMap<>();
-    private final int WINNING_SCORE = 10000;
+    // --- ÉTAT DE LA TABLE ---
+    private final int gameId;
+    /** Joueurs assis, par identifiant. */
+    private final Map<Integer, Player> players = new HashMap<>(16);
+    public static final int WINNING_SCORE = 10000;
+    /** Nombre de places d'une table (bornes incluses). */
+    public static final int MIN_SEATS = 2;
+    public static final int MAX_SEATS = 8;
 
+    /**
+     * Anneau des places dans l'ordre de jeu : seats[0..seated-1], le joueur suivant de
+     * seats[i] est seats[(i + 1) % seated]. Passer la main ne coûte qu'un incrément.
+     */
+    private final Player[] seats;
+    private int seated = 0;
+    private int currentSeat = 0;
     private Player currentPlayer;
-    private Player opponentPlayer;
+    /**
+     * Dernier tour : nombre de joueurs qui doivent encore jouer leur dernier tour après le joueur
+     * courant (-1 tant que personne n'a atteint WINNING_SCORE). À 0, la fin du tour termine la partie.
+     * À deux joueurs, il n'y a pas de dernier tour : atteindre WINNING_SCORE termine la partie.
+     */
+    private int finalTurnsLeft = -1;
     private Turn currentTurn;
     private boolean gameActuallyOver = false;
     private int uniquePlayerIdCounter = 0;
     private final ScoreCalculator scoreCalculator;
+    private final TurnPolicy turnPolicy;
+    /** Table des probabilités de victoire ; null tant qu'elle n'est pas prête (calcul en arrière-plan). */
+    private final Supplier<WinProbability> winProbability;
+    private final GameActor actor;
+    /** Temps limite des tours (minuteries sur la roue partagée du registre). */
+    private final TurnClock turnClock;
+    /** Minuterie du tour en cours (null si les tours ne sont pas limités). */
+    private TimingWheel.Timeout turnTimer;
+    /** Heure limite du tour en cours (ms depuis l'epoch, horloge du serveur), null sans limite. */
+    private Long turnDeadline;
+    /** Graine des dés de la table : rejouer la même graine reproduit tous les lancers de la partie. */
+    private final long seed;
+    private final DiceSource diceSource;
 
     // --- GESTION DE /stateChanged CONFORME À L'EXIGENCE 1 ---
     /**
      * Version globale de l'état. Incrémentée à chaque modification significative.
+     * Strictement croissante pendant toute la vie de la table (jamais remise à zéro),
+     * ce qui permet à chaque client de garder son propre curseur "dernière version vue".
      */
-    private int globalStateVersion = 0;
+    private final AtomicInteger globalStateVersion = new AtomicInteger(0);
 
     /**
      * Dernière version "servie" par /stateChanged.
-     * Permet d'implémenter le comportement "consommable une fois".
+     * Permet d'implémenter le comportement "consommable une fois" historique.
+     */
+    private final AtomicInteger globalLastServedVersion = new AtomicInteger(-1);
+
+    /**
+     * Requêtes "long-polling" en attente d'une version plus récente.
+     * Réveillées (toutes d'un coup) par markStateChanged().
+     */
+    private final ConcurrentLinkedQueue<CompletableFuture<Integer>> versionWaiters = new ConcurrentLinkedQueue<>();
+
+    /** Abonnés "push" (SSE...) : reçoivent l'état complet à chaque nouvelle version. */
+    private final CopyOnWriteArrayList<StateListener> stateListeners = new CopyOnWriteArrayList<>();
+    /** Dernière version publiée aux abonnés (plusieurs changements d'une même action = une seule publication). */
+    private int lastPublishedVersion = -1;
+
+    /**
+     * État de la version courante, construit une seule fois puis servi à tous les lecteurs.
+     * Remis à null par markStateChanged().
+     */
+    private volatile StateSnapshot currentSnapshot;
+
+    /**
+     * Dernière activité d'un client (System.nanoTime) : action, lecture de l'état ou attente de version.
+     * Lue par le registre pour expulser les tables abandonnées ; une simple écriture volatile par requête.
      */
-    private int globalLastServedVersion = -1;
+    private volatile long lastActivityNanos = System.nanoTime();
 
-    public GameManager() {
-        this.scoreCalculator = new ScoreCalculator();
-        System.out.println("GameManager initialisé (API /stateChanged conforme aux exigences).");
+    /**
+     * @param gameId Identifiant de la table dans le registre.
+     * @param seatCount Nombre de places (MIN_SEATS à MAX_SEATS) : la partie commence quand elles sont toutes prises.
+     * @param scoreCalculator Calculateur de score partagé (sans état) entre toutes les tables.
+     * @param turnPolicy Table des coups conseillés, partagée elle aussi.
+     * @param winProbability Accès à la table partagée des probabilités de victoire (null si pas encore prête).
+     * @param actorExecutor Pool partagé qui exécute les boîtes aux lettres des tables.
+     * @param turnClock Temps limite des tours, partagé entre toutes les tables.
+     * @param seed Graine des dés de cette table.
+     */
+    public GameManager(int gameId, int seatCount, ScoreCalculator scoreCalculator, TurnPolicy turnPolicy,
+                       Supplier<WinProbability> winProbability, Executor actorExecutor, TurnClock turnClock, long seed) {
+        if (seatCount < MIN_SEATS || seatCount > MAX_SEATS) {
+            throw new IllegalArgumentException("Nombre de places invalide: " + seatCount
+                    + " (entre " + MIN_SEATS + " et " + MAX_SEATS + ")");
+        }
+        this.gameId = gameId;
+        this.seats = new Player[seatCount];
+        this.scoreCalculator = scoreCalculator;
+        this.turnPolicy = turnPolicy;
+        this.winProbability = winProbability;
+        this.actor = new GameActor(actorExecutor);
+        this.turnClock = turnClock;
+        this.seed = seed;
+        this.diceSource = DiceSource.seeded(seed);
+        System.out.println("GameManager #" + gameId + " initialisé (" + seatCount + " places, graine des dés=" + seed + ").");
         // PAS de markStateChanged() ici - on attend que la partie commence vraiment
     }
 
@@ -51,40 +135,123 @@ public class GameManager {
      * API /stateChanged - Implémentation STRICTE selon les exigences :
      * - Retourne 1 si l'état a changé depuis la DERNIÈRE LECTURE
      * - Une fois lu, les appels suivants renvoient 0 jusqu'au prochain changement
+     * Le premier client qui lit "consomme" le changement pour tout le monde :
+     * préférer {@link #getStateVersion()} avec un curseur par client.
      */
     public Integer getState() {
-        if (globalStateVersion > globalLastServedVersion) {
-            System.out.println("[StateChange] Lecture du changement v" + globalStateVersion + " -> retourne 1");
-            globalLastServedVersion = globalStateVersion; // Consomme le changement
+        int current = globalStateVersion.get();
+        int served = globalLastServedVersion.get();
+        if (current > served && globalLastServedVersion.compareAndSet(served, current)) {
+            System.out.println("[StateChange] Lecture du changement v" + current + " -> retourne 1");
             return 1;
         }
         System.out.println("[StateChange] Pas de changement -> retourne 0");
         return 0;
     }
 
+    /**
+     * API /stateVersion : version courante de l'état de la table.
+     * Chaque client compare la valeur reçue à la dernière version qu'il a vue ;
+     * la lecture ne consomme rien, donc joueurs et spectateurs peuvent interroger
+     * la table sans se "voler" les changements. Lecture atomique, sans passer par l'acteur.
+     */
+    public int getStateVersion() {
+        touch();
+        return globalStateVersion.get();
+    }
+
+    /**
+     * Long-polling : futur complété avec la version courante dès qu'elle dépasse {@code since}.
+     * Complété immédiatement si c'est déjà le cas. L'appelant gère lui-même le délai
+     * d'attente et doit appeler {@link #cancelVersionWait(CompletableFuture)} en cas d'abandon.
+     */
+    public CompletableFuture<Integer> awaitVersionAfter(int since) {
+        touch();
+        int current = globalStateVersion.get();
+        if (current > since) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<Integer> waiter = new CompletableFuture<>();
+        versionWaiters.offer(waiter);
+        // Un changement a pu survenir entre la lecture et l'enregistrement : on revérifie.
+        current = globalStateVersion.get();
+        if (current > since && versionWaiters.remove(waiter)) {
+            waiter.complete(current);
+        }
+        return waiter;
+    }
+
+    /**
+     * Retire une attente expirée (timeout du long-polling ou client déconnecté).
+     */
+    public void cancelVersionWait(CompletableFuture<Integer> waiter) {
+        versionWaiters.remove(waiter);
+    }
+
     /**
      * Marque un changement d'état (appelé après chaque action significative)
+     * et réveille les clients en long-polling.
      */
     private void markStateChanged() {
-        globalStateVersion++;
-        System.out.println("[StateChange] État modifié -> version=" + globalStateVersion);
+        int version = globalStateVersion.incrementAndGet();
+        currentSnapshot = null; // APRÈS l'incrément : un lecteur ne peut plus associer l'ancien état à la nouvelle version
+        System.out.println("[StateChange] État modifié -> version=" + version);
+        CompletableFuture<Integer> waiter;
+        while ((waiter = versionWaiters.poll()) != null) {
+            waiter.complete(version);
+        }
+        if (!stateListeners.isEmpty()) {
+            // Publié APRÈS l'action en cours (message suivant de la boîte aux lettres) : état cohérent.
+            actor.tell(this::publishSnapshot);
+        }
+    }
+
+    /**
+     * Abonne un listener aux changements d'état de la table.
+     */
+    public void addStateListener(StateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    public void removeStateListener(StateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Construit UNE fois l'état courant et le distribue à tous les abonnés.
+     * Exécuté sur l'acteur de la table ; les abonnés ne font que déposer l'état dans leur file.
+     */
+    private void publishSnapshot() {
+        int version = globalStateVersion.get();
+        if (version == lastPublishedVersion || stateListeners.isEmpty()) return;
+        lastPublishedVersion = version;
+        StateSnapshot snapshot = snapshot();
+        for (StateListener listener : stateListeners) {
+            try {
+                listener.onStateChanged(snapshot);
+            } catch (RuntimeException e) {
+                System.out.println("[StateChange] Abonné en erreur, retiré: " + e);
+                stateListeners.remove(listener);
+            }
+        }
     }
 
     /**
      * Réinitialise complètement le jeu
      */
     public void resetGame() {
+        stopTurnClock();
         players.clear();
+        Arrays.fill(seats, null);
+        seated = 0;
+        currentSeat = 0;
         currentPlayer = null;
-        opponentPlayer = null;
+        finalTurnsLeft = -1;
         currentTurn = null;
         gameActuallyOver = false;
         uniquePlayerIdCounter = 0;
 
-        // Reset de l'indicateur de changement
-        globalStateVersion = 0;
-        globalLastServedVersion = -1;
-
+        // La version n'est PAS remise à zéro : les curseurs des clients restent valides.
         // Marque un changement pour signaler le reset
         markStateChanged();
         System.out.println("GameManager: partie réinitialisée.");
@@ -94,24 +261,27 @@ public class GameManager {
      * Ajoute un nouveau joueur à la partie
      */
     public RestPlayer addPlayer(String name) {
-        if (players.size() >= 2) {
+        if (isFull()) {
             return null; // Partie complète
         }
 
         Player p = new Player(name, new ArrayList<>());
         p.setId(uniquePlayerIdCounter++);
         players.put(p.getId(), p);
-        System.out.println("Joueur ajouté: " + name + " (id=" + p.getId() + ")");
-
-        if (players.size() == 2) {
-            // Début de partie avec 2 joueurs
-            List<Player> list = new ArrayList<>(players.values());
-            currentPlayer = list.get(0);
-            opponentPlayer = list.get(1);
-            currentTurn = new Turn(currentPlayer, scoreCalculator);
+        seats[seated++] = p;
+        System.out.println("Joueur ajouté: " + name + " (id=" + p.getId() + ", place " + seated + "/" + seats.length + ")");
+
+        if (seated == seats.length) {
+            // Début de partie : toutes les places sont prises, la première place commence
+            currentSeat = 0;
+            currentPlayer = seats[0];
+            currentTurn = new Turn(currentPlayer, scoreCalculator, diceSource);
             gameActuallyOver = false;
+            startTurnClock();
             markStateChanged(); // IMPORTANT: Signale le début de partie
             System.out.println("La partie commence. Premier joueur: " + currentPlayer.getName());
+        } else {
+            markStateChanged(); // La liste des places a changé
         }
 
         return toRestPlayer(p);
@@ -128,6 +298,31 @@ public class GameManager {
         return finalizeDTO(dto);
     }
 
+    /**
+     * État complet + version courante, lus ensemble (à appeler via execute).
+     * Utilisé par /farkle/state : une seule lecture atomique au lieu de sept GET successifs.
+     * Construit une seule fois par version : les appels suivants renvoient le même snapshot.
+     */
+    public StateSnapshot snapshot() {
+        int version = globalStateVersion.get();
+        StateSnapshot snapshot = currentSnapshot;
+        if (snapshot == null || snapshot.getVersion() != version) {
+            snapshot = new StateSnapshot(version, getGameState());
+            currentSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Snapshot déjà construit pour la version courante, lisible sans passer par l'acteur.
+     * @return Le snapshot, ou null s'il faut le construire via execute(GameManager::snapshot).
+     */
+    public StateSnapshot getCachedSnapshot() {
+        touch();
+        StateSnapshot snapshot = currentSnapshot;
+        return (snapshot != null && snapshot.getVersion() == globalStateVersion.get()) ? snapshot : null;
+    }
+
     /**
      * Action: Lancer les dés
      */
@@ -202,15 +397,8 @@ public class GameManager {
         }
 
         if (currentTurn.canPlayerBank()) {
-            int pointsToBankThisTurn = currentTurn.getTemporaryScore();
-
-            // Ajout automatique des points des dés restants scorants
-            if (!currentTurn.getDiceOnPlate().isEmpty()) {
-                List<Dice> scorables = scoreCalculator.findScoringDice(currentTurn.getDiceOnPlate());
-                if (!scorables.isEmpty()) {
-                    pointsToBankThisTurn += scoreCalculator.calculatePoints(scorables);
-                }
-            }
+            // Score du tour + ajout automatique des points des dés restants scorants
+            int pointsToBankThisTurn = currentTurn.getBankablePoints();
 
             if (pointsToBankThisTurn > 0) {
                 currentPlayer.addScore(pointsToBankThisTurn);
@@ -221,19 +409,24 @@ public class GameManager {
                 ));
                 currentTurn.signalTurnBankedOrFarkled();
 
-                // Vérification de victoire
-                if (currentPlayer.getScore() >= WINNING_SCORE) {
-                    gameActuallyOver = true;
-                    dto.winningPlayerName = currentPlayer.getName();
-                    dto.winningPlayerScore = currentPlayer.getScore();
-                    dto.gameState = "GAME_OVER";
-                    markStateChanged(); // IMPORTANT: Signale la fin de partie
-                } else {
-                    // Changement de joueur
-                    switchPlayer();
-                    dto.gameState = "TURN_BANKED";
-                    markStateChanged(); // IMPORTANT: Signale le changement de tour
+                // Premier joueur à WINNING_SCORE : à deux, il gagne (course simple, celle que modélisent
+                // WinProbability, les bots et le simulateur) ; au-delà, chacun des autres joue encore un tour
+                if (finalTurnsLeft < 0 && currentPlayer.getScore() >= WINNING_SCORE) {
+                    if (seated == MIN_SEATS) {
+                        finalTurnsLeft = 0;
+                    } else {
+                        finalTurnsLeft = seated - 1;
+                        dto.turnEvents.add(String.format(
+                                "%s atteint %d pts : dernier tour pour les autres joueurs !",
+                                currentPlayer.getName(), currentPlayer.getScore()
+                        ));
+                    }
                 }
+
+                // Changement de joueur (ou fin de partie si c'était le dernier tour)
+                switchPlayer();
+                dto.gameState = gameActuallyOver ? "GAME_OVER" : "TURN_BANKED";
+                markStateChanged(); // IMPORTANT: Signale le changement de tour
             } else {
                 dto.turnEvents.add("Impossible de mettre en banque (0 point temporaire).");
             }
@@ -251,33 +444,150 @@ public class GameManager {
         if (playerId == null || !players.containsKey(playerId)) return false;
 
         System.out.println("=== [QUIT] Joueur id=" + playerId + " quitte la partie ===");
-        players.remove(playerId);
-        gameActuallyOver = true;
-        markStateChanged(); // IMPORTANT: Signale la fin de partie
+        Player leaving = players.remove(playerId);
+        int seat = seatOf(leaving);
+        // Distance (dans l'ordre de jeu) entre le joueur courant et celui qui part, avant de refermer l'anneau
+        int distance = Math.floorMod(seat - currentSeat, seated);
+        System.arraycopy(seats, seat + 1, seats, seat, seated - seat - 1);
+        seats[--seated] = null;
+
+        if (currentTurn == null) {
+            // Partie pas encore commencée : la place est simplement libérée
+            markStateChanged();
+            return true;
+        }
+        if (gameActuallyOver) {
+            // Partie terminée (dernier tour joué, ou table expulsée) : plus de main à passer
+            markStateChanged();
+            return true;
+        }
+        if (seated < MIN_SEATS) {
+            gameActuallyOver = true;
+            stopTurnClock();
+        } else if (distance == 0) {
+            // Le joueur courant part : la main passe à celui qui le suivait (désormais à sa place)
+            passTurnTo(seat == seated ? 0 : seat);
+        } else {
+            if (finalTurnsLeft > 0 && distance <= finalTurnsLeft) finalTurnsLeft--; // il n'a pas joué son dernier tour
+            if (seat < currentSeat) currentSeat--;
+        }
+        markStateChanged(); // IMPORTANT: Signale le départ (ou la fin de partie)
         return true;
     }
 
+    // ========== EXÉCUTION SÉRIALISÉE ==========
+
+    /**
+     * Exécute une action sur cette table via sa boîte aux lettres et attend le résultat.
+     * Exemple : {@code gameManager.execute(GameManager::roll)}.
+     */
+    public <T> T execute(Function<GameManager, T> action) {
+        touch();
+        return actor.call(() -> action.apply(this));
+    }
+
+    public GameActor getActor() {
+        return actor;
+    }
+
+    // ========== INFOS DE TABLE ==========
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Toutes les places sont prises, la partie a commencé ou elle est terminée : plus personne ne peut s'asseoir. */
+    public boolean isFull() {
+        return seated >= seats.length || currentTurn != null || gameActuallyOver;
+    }
+
+    /** Nombre de places de la table. */
+    public int getSeatCount() {
+        return seats.length;
+    }
+
+    public boolean isGameOver() {
+        return gameActuallyOver;
+    }
+
+    /** La partie a commencé (toutes les places ont été prises). */
+    public boolean hasStarted() {
+        return currentTurn != null;
+    }
+
+    /** Joueurs assis à la table. */
+    public int getSeatedCount() {
+        return seated;
+    }
+
+    // ========== ACTIVITÉ ET EXPULSION ==========
+
+    /** Note une activité de client sur la table (appelé par toutes les entrées utilisées par l'API). */
+    public void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    public long getLastActivityNanos() {
+        return lastActivityNanos;
+    }
+
+    /**
+     * Table expulsée du registre pour inactivité (à appeler sur l'acteur) : la partie est terminée,
+     * les clients en attente sont réveillés, les abonnés reçoivent l'état final puis sont détachés.
+     */
+    public void expire() {
+        System.out.println("GameManager #" + gameId + ": table expulsée après inactivité.");
+        gameActuallyOver = true;
+        stopTurnClock();
+        markStateChanged();
+        actor.tell(stateListeners::clear); // après la publication de l'état final
+    }
+
+    // ========== LECTURE POUR LES JOUEURS AUTOMATIQUES (game.bot) ==========
+
+    /** Tour en cours, null tant que la partie n'a pas commencé. À lire depuis l'acteur uniquement. */
+    public Turn getCurrentTurn() {
+        return isGameReady() ? currentTurn : null;
+    }
+
+    /** Dernier tour : joueurs qui joueront encore après le joueur courant (-1 hors dernier tour). */
+    public int getFinalTurnsLeft() {
+        return finalTurnsLeft;
+    }
+
+    /** Meilleur score mis en banque parmi les autres joueurs de la table (0 s'il n'y en a pas). */
+    public int getBestOpponentScore(int playerId) {
+        int best = 0;
+        for (int i = 0; i < seated; i++) {
+            if (seats[i].getId() != playerId) best = Math.max(best, seats[i].getScore());
+        }
+        return best;
+    }
+
+    /** Score mis en banque d'un joueur (0 s'il est inconnu). */
+    public int getPlayerScore(int playerId) {
+        Player p = players.get(playerId);
+        return p != null ? p.getScore() : 0;
+    }
+
     // ========== MÉTHODES UTILITAIRES PRIVÉES ==========
 
     private boolean isGameReady() {
-        return players.size() == 2 && currentTurn != null && currentPlayer != null && opponentPlayer != null;
+        return seated >= MIN_SEATS && currentTurn != null && currentPlayer != null;
     }
 
     private TurnStatusDTO waitingForPlayersDTO() {
         TurnStatusDTO dto = new TurnStatusDTO();
         dto.gameState = "WAITING_FOR_PLAYERS";
-        dto.immersiveMessage = "En attente d'un adversaire...";
+        dto.immersiveMessage = seated + 1 < seats.length
+                ? "En attente de " + (seats.length - seated) + " joueurs..."
+                : "En attente d'un adversaire...";
         dto.availableActions = Collections.emptyList();
-        if (currentPlayer != null) {
-            dto.currentPlayerId = currentPlayer.getId();
-            dto.currentPlayerName = currentPlayer.getName();
-            dto.currentPlayerScore = currentPlayer.getScore();
-        }
-        if (opponentPlayer != null) {
-            dto.opponentPlayerId = opponentPlayer.getId();
-            dto.opponentPlayerName = opponentPlayer.getName();
-            dto.opponentPlayerScore = opponentPlayer.getScore();
-        }
+        copyPlayers(dto);
         return dto;
     }
 
@@ -291,38 +601,42 @@ public class GameManager {
 
     private TurnStatusDTO createBaseDTO() {
         TurnStatusDTO dto = new TurnStatusDTO();
+        copyPlayers(dto);
+        return dto;
+    }
+
+    /**
+     * Copie les places dans le DTO : une entrée compacte (id, nom, score) par place, dans l'ordre de jeu,
+     * plus le joueur courant et le suivant ("adversaire") pour les clients à deux joueurs.
+     */
+    private void copyPlayers(TurnStatusDTO dto) {
+        dto.seats = new ArrayList<>(seated);
+        for (int i = 0; i < seated; i++) {
+            dto.seats.add(toSeat(seats[i]));
+        }
+        dto.currentSeat = currentPlayer != null ? currentSeat : -1;
+        dto.finalTurnsLeft = finalTurnsLeft;
         if (this.currentPlayer != null) {
             dto.currentPlayerId = this.currentPlayer.getId();
             dto.currentPlayerName = this.currentPlayer.getName();
             dto.currentPlayerScore = this.currentPlayer.getScore();
         }
-        if (this.opponentPlayer != null) {
-            dto.opponentPlayerId = this.opponentPlayer.getId();
-            dto.opponentPlayerName = this.opponentPlayer.getName();
-            dto.opponentPlayerScore = this.opponentPlayer.getScore();
+        Player next = nextPlayer();
+        if (next != null) {
+            dto.opponentPlayerId = next.getId();
+            dto.opponentPlayerName = next.getName();
+            dto.opponentPlayerScore = next.getScore();
         }
-        return dto;
     }
 
     private TurnStatusDTO finalizeDTO(TurnStatusDTO dto) {
         // Copie les informations des joueurs
-        if (this.currentPlayer != null) {
-            dto.currentPlayerId = this.currentPlayer.getId();
-            dto.currentPlayerName = this.currentPlayer.getName();
-            dto.currentPlayerScore = this.currentPlayer.getScore();
-        }
-        if (this.opponentPlayer != null) {
-            dto.opponentPlayerId = this.opponentPlayer.getId();
-            dto.opponentPlayerName = this.opponentPlayer.getName();
-            dto.opponentPlayerScore = this.opponentPlayer.getScore();
-        }
+        copyPlayers(dto);
 
         // Gestion de l'état du jeu
         if (gameActuallyOver) {
             dto.gameState = "GAME_OVER";
-            Player winner = players.values().stream()
-                    .max(Comparator.comparingInt(Player::getScore))
-                    .orElse(null);
+            Player winner = leader();
             if (winner != null) {
                 dto.winningPlayerName = winner.getName();
                 dto.winningPlayerScore = winner.getScore();
@@ -333,13 +647,10 @@ public class GameManager {
             dto.availableActions = Collections.emptyList();
         } else if (currentTurn != null) {
             // État du plateau et du tour
-            dto.diceOnPlate = currentTurn.getDiceOnPlate().stream()
-                    .map(Dice::getValue)
-                    .collect(Collectors.toList());
-            dto.keptDiceThisTurn = currentTurn.getKeptDiceThisTurn().stream()
-                    .map(Dice::getValue)
-                    .collect(Collectors.toList());
+            dto.diceOnPlate = DiceHand.toValues(currentTurn.getDiceOnPlate());
+            dto.keptDiceThisTurn = DiceHand.toValues(currentTurn.getKeptDiceThisTurn());
             dto.tempScore = currentTurn.getTemporaryScore();
+            dto.turnDeadline = turnDeadline;
             dto.combinationHints = currentTurn.canPlayerSelect()
                     ? scoreCalculator.generateCombinationHints(currentTurn.getDiceOnPlate())
                     : new ArrayList<>();
@@ -353,7 +664,7 @@ public class GameManager {
                 dto.availableActions.add("BANK");
             } else {
                 // Début de tour
-                if (currentTurn.canPlayerRoll() && currentTurn.getKeptDiceThisTurn().isEmpty()) {
+                if (currentTurn.canPlayerRoll() && DiceHand.isEmpty(currentTurn.getKeptDiceThisTurn())) {
                     dto.gameState = "BEGIN_TURN";
                     if (dto.immersiveMessage == null || dto.immersiveMessage.isEmpty()) {
                         dto.immersiveMessage = Messages.randomNewRoll();
@@ -367,7 +678,7 @@ public class GameManager {
                     dto.availableActions.add("SELECT_DICE");
                 }
                 // Après sélection, possibilité de relancer
-                else if (currentTurn.canPlayerRoll() && !currentTurn.getKeptDiceThisTurn().isEmpty()) {
+                else if (currentTurn.canPlayerRoll() && !DiceHand.isEmpty(currentTurn.getKeptDiceThisTurn())) {
                     dto.gameState = "POST_SELECTION_CHOICE";
                     dto.immersiveMessage = Messages.randomNewRoll();
                     dto.availableActions.add("ROLL");
@@ -378,6 +689,9 @@ public class GameManager {
                     dto.availableActions.add("BANK");
                 }
             }
+            recommendMove(dto);
+            estimateWinProbability(dto);
+            describeRollRisk(dto);
         } else {
             dto.gameState = "WAITING_FOR_PLAYERS";
             dto.immersiveMessage = "En attente de joueurs...";
@@ -392,19 +706,190 @@ public class GameManager {
         return dto;
     }
 
+    /**
+     * Renseigne le coup conseillé par la TurnPolicy (quelques lectures de table, aucun calcul).
+     */
+    private void recommendMove(TurnStatusDTO dto) {
+        int turnPoints = currentTurn.getTemporaryScore();
+        int plate = currentTurn.getDiceOnPlate();
+        if (currentTurn.isHotDiceChoicePending()) {
+            dto.recommendedAction = turnPolicy.shouldRoll(turnPoints, DiceHand.EMPTY) ? "ROLL" : "BANK";
+        } else if (currentTurn.canPlayerSelect()) {
+            int keep = turnPolicy.bestKeep(turnPoints, plate);
+            if (DiceHand.isEmpty(keep)) {
+                dto.recommendedAction = "BANK";
+            } else {
+                dto.recommendedAction = "SELECT_DICE";
+                dto.recommendedDice = DiceHand.toValues(keep);
+            }
+        } else if (currentTurn.canPlayerRoll()) {
+            boolean beginTurn = DiceHand.isEmpty(currentTurn.getKeptDiceThisTurn());
+            dto.recommendedAction = beginTurn || turnPolicy.shouldRoll(turnPoints, plate) ? "ROLL" : "BANK";
+        }
+        if (finalTurnsLeft >= 0) recommendFinalTurnMove(dto);
+    }
+
+    /**
+     * Dernier tour : mettre en banque sans dépasser le meneur, c'est perdre. Tant qu'il n'est pas dépassé,
+     * le coup conseillé est celui de FinalTurn (garde qui maximise la probabilité de le dépasser, ou relancer) ;
+     * le dernier à jouer met en banque dès qu'il le dépasse.
+     */
+    private void recommendFinalTurnMove(TurnStatusDTO dto) {
+        int needPoints = getBestOpponentScore(currentPlayer.getId()) + 1 - currentPlayer.getScore();
+        boolean beatsLeader = currentTurn.getBankablePoints() >= needPoints;
+        if (beatsLeader) {
+            if (finalTurnsLeft == 0) {
+                dto.recommendedAction = "BANK";
+                dto.recommendedDice = new ArrayList<>();
+            }
+        } else if (finalTurnsLeft == 0 || "BANK".equals(dto.recommendedAction)) {
+            if (currentTurn.canPlayerSelect()) {
+                int keep = FinalTurn.bestKeep(needPoints - currentTurn.getTemporaryScore(), currentTurn.getDiceOnPlate());
+                dto.recommendedAction = "SELECT_DICE";
+                dto.recommendedDice = DiceHand.toValues(keep);
+            } else {
+                dto.recommendedAction = "ROLL";
+                dto.recommendedDice = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Renseigne la probabilité de victoire du joueur courant au point de décision actuel
+     * (lecture de la table projetée en mémoire, aucun calcul).
+     * La table modélise une course à deux jusqu'à WINNING_SCORE (à deux, l'atteindre gagne) : rien n'est
+     * renseigné à plus de deux joueurs. Exception, le dernier à jouer du dernier tour : sa probabilité
+     * de dépasser le meneur est exacte (FinalTurn).
+     */
+    private void estimateWinProbability(TurnStatusDTO dto) {
+        if (finalTurnsLeft == 0) {
+            int needPoints = getBestOpponentScore(currentPlayer.getId()) + 1 - currentPlayer.getScore();
+            int turnPoints = currentTurn.getTemporaryScore();
+            if (currentTurn.isHotDiceChoicePending()) {
+                dto.winProbability = FinalTurn.atDecision(needPoints, turnPoints, DiceHand.EMPTY, false);
+            } else if (currentTurn.canPlayerSelect() || currentTurn.canPlayerRoll()) {
+                dto.winProbability = FinalTurn.atDecision(needPoints, turnPoints, currentTurn.getDiceOnPlate(),
+                        currentTurn.canPlayerSelect());
+            }
+            return;
+        }
+        WinProbability table = winProbability.get();
+        if (table == null || seated != 2 || finalTurnsLeft >= 0) return;
+        int myScore = currentPlayer.getScore();
+        int opponentScore = nextPlayer().getScore();
+        int turnPoints = currentTurn.getTemporaryScore();
+        int plate = currentTurn.getDiceOnPlate();
+        if (currentTurn.isHotDiceChoicePending()) {
+            dto.winProbability = table.atDecision(myScore, opponentScore, turnPoints, DiceHand.EMPTY, false);
+        } else if (currentTurn.canPlayerSelect()) {
+            dto.winProbability = table.atDecision(myScore, opponentScore, turnPoints, plate, true);
+        } else if (currentTurn.canPlayerRoll()) {
+            dto.winProbability = DiceHand.isEmpty(currentTurn.getKeptDiceThisTurn())
+                    ? table.atTurnStart(myScore, opponentScore)
+                    : table.atDecision(myScore, opponentScore, turnPoints, plate, false);
+        }
+    }
+
+    /**
+     * Renseigne le risque du prochain lancer, si le joueur peut lancer (lecture de FarkleRisk).
+     */
+    private void describeRollRisk(TurnStatusDTO dto) {
+        if (!currentTurn.canPlayerRoll() && !currentTurn.isHotDiceChoicePending()) return;
+        int plate = currentTurn.getDiceOnPlate();
+        int dice = DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate);
+        dto.diceToRoll = dice;
+        dto.farkleProbability = FarkleRisk.farkleProbability(dice);
+        dto.expectedRollGain = FarkleRisk.expectedGain(dice);
+    }
+
     private void switchPlayer() {
         if (gameActuallyOver) return;
 
-        if (players.size() == 2 && currentPlayer != null) {
-            Player prev = currentPlayer;
-            currentPlayer = opponentPlayer;
-            opponentPlayer = prev;
-            currentTurn = new Turn(currentPlayer, scoreCalculator);
-            System.out.println("=== Changement de joueur: " + currentPlayer.getName() + " commence son tour ===");
+        if (seated >= MIN_SEATS && currentPlayer != null) {
+            passTurnTo(currentSeat + 1 == seated ? 0 : currentSeat + 1);
             // Note: Le markStateChanged() est déjà fait dans les méthodes appelantes
         }
     }
 
+    /**
+     * Donne la main à la place indiquée, ou termine la partie si tout le monde a joué son dernier tour.
+     */
+    private void passTurnTo(int seat) {
+        if (gameActuallyOver) return;
+        if (finalTurnsLeft == 0) {
+            gameActuallyOver = true;
+            stopTurnClock();
+            System.out.println("=== Dernier tour joué : fin de partie ===");
+            return;
+        }
+        if (finalTurnsLeft > 0) finalTurnsLeft--;
+        currentSeat = seat;
+        currentPlayer = seats[seat];
+        currentTurn = new Turn(currentPlayer, scoreCalculator, diceSource);
+        startTurnClock();
+        System.out.println("=== Changement de joueur: " + currentPlayer.getName() + " commence son tour ===");
+    }
+
+    // --- TEMPS LIMITE DU TOUR ---
+
+    /** Arme la minuterie du tour qui commence (l'échéance est traitée sur l'acteur de la table). */
+    private void startTurnClock() {
+        stopTurnClock();
+        Turn turn = currentTurn;
+        turnTimer = turnClock.start(() -> actor.tell(() -> turnTimedOut(turn)));
+        turnDeadline = turnTimer != null ? System.currentTimeMillis() + turnClock.getTimeoutMillis() : null;
+    }
+
+    private void stopTurnClock() {
+        if (turnTimer != null) {
+            turnTimer.cancel();
+            turnTimer = null;
+        }
+        turnDeadline = null;
+    }
+
+    /**
+     * Temps du tour écoulé : le serveur met en banque à la place du joueur s'il a des points,
+     * sinon le joueur perd son tour. Ignoré si le tour s'est terminé entre-temps.
+     */
+    private void turnTimedOut(Turn turn) {
+        if (turn != currentTurn || gameActuallyOver) return;
+        turnTimer = null;
+        System.out.println("=== [TIMEOUT] Temps écoulé pour " + currentPlayer.getName() + " ===");
+        if (currentTurn.isHotDiceChoicePending()
+                || (currentTurn.canPlayerBank() && currentTurn.getBankablePoints() > 0)) {
+            turnClock.recordAutoBank();
+            bank(); // signale lui-même le changement d'état
+        } else {
+            turnClock.recordForfeit();
+            currentTurn.signalTurnBankedOrFarkled();
+            switchPlayer();
+            markStateChanged(); // IMPORTANT: Signale le tour perdu
+        }
+    }
+
+    /** Joueur qui jouera après le joueur courant (null tant que la partie n'a pas commencé). */
+    private Player nextPlayer() {
+        if (currentPlayer == null || seated < MIN_SEATS) return null;
+        return seats[currentSeat + 1 == seated ? 0 : currentSeat + 1];
+    }
+
+    private int seatOf(Player p) {
+        for (int i = 0; i < seated; i++) {
+            if (seats[i] == p) return i;
+        }
+        return -1;
+    }
+
+    /** Meilleur score de la table ; à égalité, le premier dans l'ordre des places. */
+    private Player leader() {
+        Player best = null;
+        for (int i = 0; i < seated; i++) {
+            if (best == null || seats[i].getScore() > best.getScore()) best = seats[i];
+        }
+        return best;
+    }
+
     // --- API REST HELPERS ---
     public int getCurrentPlayerId() {
         return currentPlayer != null ? currentPlayer.getId() : -1;
@@ -416,10 +901,8 @@ public class GameManager {
 
     public RestDices getDicePlate() {
         RestDices rd = new RestDices();
-        if (currentTurn != null && currentTurn.getDiceOnPlate() != null) {
-            rd.setDices(currentTurn.getDiceOnPlate().stream()
-                    .map(Dice::getValue)
-                    .collect(Collectors.toList()));
+        if (currentTurn != null) {
+            rd.setDices(DiceHand.toValues(currentTurn.getDiceOnPlate()));
         } else {
             rd.setDices(Collections.emptyList());
         }
@@ -430,12 +913,19 @@ public class GameManager {
         return toRestPlayer(players.get(id));
     }
 
+    /** Tous les joueurs assis, dans l'ordre des places (une seule lecture pour toute la table). */
+    public List<RestPlayer> getRestPlayers() {
+        List<RestPlayer> list = new ArrayList<>(seated);
+        for (int i = 0; i < seated; i++) {
+            list.add(toRestPlayer(seats[i]));
+        }
+        return list;
+    }
+
     public RestDices getSelectedDices() {
         RestDices rd = new RestDices();
-        if (currentTurn != null && currentTurn.getKeptDiceThisTurn() != null) {
-            rd.setDices(currentTurn.getKeptDiceThisTurn().stream()
-                    .map(Dice::getValue)
-                    .collect(Collectors.toList()));
+        if (currentTurn != null) {
+            rd.setDices(DiceHand.toValues(currentTurn.getKeptDiceThisTurn()));
         } else {
             rd.setDices(Collections.emptyList());
         }
@@ -444,16 +934,23 @@ public class GameManager {
 
     public RestPlayer getWinner() {
         if (gameActuallyOver) {
-            return players.values().stream()
-                    .max(Comparator.comparingInt(Player::getScore))
-                    .map(this::toRestPlayer)
-                    .orElse(null);
+            return toRestPlayer(leader());
         }
         return null;
     }
 
     private RestPlayer toRestPlayer(Player p) {
         if (p == null) return null;
+        RestPlayer rp = new RestPlayer();
+        rp.setId(p.getId());
+        rp.setName(p.getName());
+        rp.setScore(p.getScore());
+        rp.setGameId(gameId);
+        return rp;
+    }
+
+    /** Entrée compacte d'une place pour l'état de la table : sans gameId, déjà connu du client. */
+    private static RestPlayer toSeat(Player p) {
         RestPlayer rp = new RestPlayer();
         rp.setId(p.getId());
         rp.setName(p.getName());
@@ -0,0 +1,296 @@
+package game;
+
+import io.swagger.model.RestPlayer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registre des tables de jeu hébergées par le serveur.
+ * Chaque table est un {@link GameManager} indépendant, retrouvé par son identifiant.
+ * Le ScoreCalculator et la TurnPolicy (sans état) sont partagés entre toutes les tables
+ * pour garder une empreinte mémoire minimale par partie.
+ * Les actions de chaque table sont exécutées par sa {@link GameActor} sur un pool
+ * partagé dimensionné sur le nombre de cœurs.
+ * La table des probabilités de victoire (WinProbability) est projetée depuis un fichier,
+ * calculé en arrière-plan au premier démarrage : les tables jouent normalement en attendant.
+ * Chaque table reçoit sa propre graine de dés (tirée d'un générateur maître) :
+ * une partie peut être rejouée à l'identique avec {@link #createGame(long)}.
+ * Le nombre de places des tables (2 à 8) vient de {@code farkle.table.seats}.
+ *
+ * Les tables abandonnées (client fermé sans /quit) sont expulsées après {@code farkle.eviction.idle-ttl-ms}
+ * sans activité. Chaque table a UNE minuterie sur la {@link TimingWheel} partagée : à l'échéance,
+ * la table est expulsée si elle est restée inactive, sinon la minuterie est réarmée pour le temps
+ * restant. Une requête ne fait que noter l'heure (GameManager.touch()) et aucun tick ne parcourt
+ * l'ensemble des tables.
+ */
+@Component
+public class GameRegistry {
+
+    /** Table utilisée par les routes historiques /farkle/... (sans identifiant de partie). */
+    public static final int DEFAULT_GAME_ID = 0;
+
+    private final ConcurrentHashMap<Integer, GameManager> games = new ConcurrentHashMap<>();
+    private final AtomicInteger gameIdCounter = new AtomicInteger(DEFAULT_GAME_ID);
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator();
+    /** Coups conseillés : table lue une fois au démarrage, partagée par toutes les tables. */
+    private final TurnPolicy turnPolicy = TurnPolicy.loadOrSolve(scoreCalculator);
+    /** Probabilités de victoire : null tant que la table n'est pas projetée. */
+    private volatile WinProbability winProbability;
+    private final ExecutorService actorPool;
+    /** Places des nouvelles tables. */
+    private final int tableSeats;
+    /** Minuteries de toutes les tables (expulsion des tables inactives). */
+    private final TimingWheel timers;
+    /** Temps limite des tours de toutes les tables (minuteries sur la même roue). */
+    private final TurnClock turnClock;
+    /** Inactivité au-delà de laquelle une table est expulsée (0 = jamais). */
+    private final long idleTtlNanos;
+
+    private final LongAdder evictedWaiting = new LongAdder();
+    private final LongAdder evictedInProgress = new LongAdder();
+    private final LongAdder evictedFinished = new LongAdder();
+    private final LongAdder evictedPlayers = new LongAdder();
+    private final LongAdder idleTimersRearmed = new LongAdder();
+    /** Générateur des graines de table (accès sous verrou : createGame peut être appelé en parallèle). */
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    /** Table qui attend encore un joueur (celle que rejoint /farkle/name), remplacée par CAS quand elle est complète. */
+    private final AtomicReference<GameManager> openTable = new AtomicReference<>();
+
+    /**
+     * @param winProbabilityFile Fichier de la table des probabilités de victoire (vide = désactivée).
+     * @param tableSeats Nombre de places des tables (GameManager.MIN_SEATS à MAX_SEATS).
+     * @param timerTickMillis Résolution des minuteries des tables.
+     * @param idleTtlMillis Inactivité avant expulsion d'une table (0 = jamais).
+     * @param turnTimeoutMillis Durée maximale d'un tour (0 = pas de limite).
+     */
+    public GameRegistry(@Value("${farkle.win-probability.file:}") String winProbabilityFile,
+                        @Value("${farkle.table.seats:2}") int tableSeats,
+                        @Value("${farkle.timer.tick-ms:100}") long timerTickMillis,
+                        @Value("${farkle.eviction.idle-ttl-ms:600000}") long idleTtlMillis,
+                        @Value("${farkle.turn.timeout-ms:60000}") long turnTimeoutMillis) {
+        if (tableSeats < GameManager.MIN_SEATS || tableSeats > GameManager.MAX_SEATS) {
+            throw new IllegalArgumentException("farkle.table.seats doit être entre " + GameManager.MIN_SEATS
+                    + " et " + GameManager.MAX_SEATS + " (reçu " + tableSeats + ")");
+        }
+        this.tableSeats = tableSeats;
+        this.timers = new TimingWheel(timerTickMillis, "Farkle-Timers");
+        this.turnClock = new TurnClock(timers, turnTimeoutMillis);
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleTtlMillis));
+        AtomicInteger threadCounter = new AtomicInteger();
+        actorPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "Farkle-Game-Actor-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        openTable.set(createGame());
+        System.out.println("GameRegistry initialisé (table par défaut #" + openTable.get().getGameId()
+                + ", " + tableSeats + " places par table, expulsion après "
+                + (idleTtlMillis > 0 ? idleTtlMillis + " ms d'inactivité" : "jamais")
+                + ", tours limités à " + (turnTimeoutMillis > 0 ? turnTimeoutMillis + " ms" : "l'infini") + ").");
+        if (!winProbabilityFile.isEmpty()) {
+            loadWinProbability(new File(winProbabilityFile));
+        }
+    }
+
+    /** Projette (ou calcule puis projette) la table des probabilités de victoire sans bloquer le démarrage. */
+    private void loadWinProbability(File file) {
+        Thread loader = new Thread(() -> {
+            try {
+                winProbability = WinProbability.loadOrBuild(scoreCalculator, file);
+            } catch (IOException e) {
+                System.out.println("GameRegistry: probabilités de victoire indisponibles (" + e.getMessage() + ").");
+            }
+        }, "Farkle-WinProbability");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Crée une nouvelle table vide (graine de dés aléatoire) et l'enregistre.
+     */
+    public GameManager createGame() {
+        long seed;
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+        return createGame(seed);
+    }
+
+    /**
+     * Crée une nouvelle table dont les dés suivent la graine donnée.
+     */
+    public GameManager createGame(long seed) {
+        return register(gameIdCounter.getAndIncrement(), seed);
+    }
+
+    private GameManager register(int id, long seed) {
+        GameManager game = new GameManager(id, tableSeats, scoreCalculator, turnPolicy, () -> winProbability, actorPool, turnClock, seed);
+        games.put(id, game);
+        if (idleTtlNanos > 0) armIdleTimer(game, idleTtlNanos);
+        return game;
+    }
+
+    // --- EXPULSION DES TABLES INACTIVES ---
+
+    private void armIdleTimer(GameManager game, long delayNanos) {
+        timers.schedule(() -> game.getActor().tell(() -> checkIdle(game)), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Échéance de la minuterie d'une table (sur son acteur) : expulsion si aucune activité depuis
+     * le TTL, sinon nouvelle échéance TTL après la dernière activité.
+     * La table par défaut est remplacée par une table neuve, pour les routes historiques /farkle/...
+     */
+    private void checkIdle(GameManager game) {
+        if (games.get(game.getGameId()) != game) return;
+        long idle = System.nanoTime() - game.getLastActivityNanos();
+        if (game.getGameId() == DEFAULT_GAME_ID && game.getSeatedCount() == 0 && !game.isGameOver()) {
+            idle = 0; // table par défaut encore vide : rien à libérer
+        }
+        if (idle < idleTtlNanos) {
+            idleTimersRearmed.increment();
+            armIdleTimer(game, idleTtlNanos - idle);
+            return;
+        }
+        if (game.isGameOver()) {
+            evictedFinished.increment();
+        } else if (game.hasStarted()) {
+            evictedInProgress.increment();
+        } else {
+            evictedWaiting.increment();
+        }
+        evictedPlayers.add(game.getSeatedCount());
+        if (game.getGameId() == DEFAULT_GAME_ID) {
+            long seed;
+            synchronized (seeds) {
+                seed = seeds.nextLong();
+            }
+            register(DEFAULT_GAME_ID, seed);
+        } else {
+            games.remove(game.getGameId(), game);
+        }
+        game.expire();
+    }
+
+    /**
+     * Retrouve une table par son identifiant.
+     * @param gameId Identifiant de la table, ou null pour la table par défaut.
+     * @return La table, ou null si elle n'existe pas (ou plus).
+     */
+    public GameManager get(Integer gameId) {
+        return games.get(gameId != null ? gameId : DEFAULT_GAME_ID);
+    }
+
+    /**
+     * Inscrit un joueur sur la table ouverte ; si elle est complète, une nouvelle table est créée.
+     * Aucun verrou global : l'acteur de la table sérialise les inscriptions, et la table ouverte
+     * n'est remplacée que par CAS (un seul remplaçant par table complète, les autres réessaient).
+     * @return Le joueur inscrit (avec l'identifiant de sa table).
+     */
+    public RestPlayer join(String name) {
+        while (true) {
+            GameManager table = openTable.get();
+            RestPlayer player = table.execute(game -> game.addPlayer(name));
+            if (player != null) {
+                return player;
+            }
+            // Table complète, commencée ou expulsée : une nouvelle table prend sa place
+            GameManager fresh = createGame();
+            if (openTable.compareAndSet(table, fresh)) {
+                System.out.println("GameRegistry: nouvelle table #" + fresh.getGameId() + " ouverte.");
+            } else {
+                games.remove(fresh.getGameId(), fresh); // un autre thread l'a déjà remplacée
+            }
+        }
+    }
+
+    /**
+     * Inscrit un joueur sur une table précise (l'acteur de la table sérialise les inscriptions).
+     * @return Le joueur inscrit, ou null si la table n'existe pas ou est complète.
+     */
+    public RestPlayer join(String name, int gameId) {
+        GameManager game = games.get(gameId);
+        if (game == null) return null;
+        return game.execute(g -> g.addPlayer(name));
+    }
+
+    /**
+     * Retire une table du registre.
+     */
+    public void remove(int gameId) {
+        games.remove(gameId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timers.shutdown();
+        actorPool.shutdown();
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    /** Minuteries partagées par toutes les tables. */
+    public TimingWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Métriques pour l'API : tables hébergées, expulsions par état de la partie, minuteries.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("games", games.size());
+        map.put("idleTtlMs", TimeUnit.NANOSECONDS.toMillis(idleTtlNanos));
+        Map<String, Object> evicted = new LinkedHashMap<>();
+        evicted.put("waitingForPlayers", evictedWaiting.sum());
+        evicted.put("inProgress", evictedInProgress.sum());
+        evicted.put("finished", evictedFinished.sum());
+        evicted.put("players", evictedPlayers.sum());
+        map.put("evicted", evicted);
+        map.put("idleTimersRearmed", idleTimersRearmed.sum());
+        map.put("turnClock", turnClock.getMetrics());
+        map.put("timers", timers.getMetrics());
+        return map;
+    }
+
+    /** Nombre de places des tables créées par ce registre. */
+    public int getTableSeats() {
+        return tableSeats;
+    }
+
+    public ScoreCalculator getScoreCalculator() {
+        return scoreCalculator;
+    }
+
+    public TurnPolicy getTurnPolicy() {
+        return turnPolicy;
+    }
+
+    /** Table des probabilités de victoire, ou null tant qu'elle n'est pas projetée (ou si elle est désactivée). */
+    public WinProbability getWinProbability() {
+        return winProbability;
+    }
+
+    public Collection<GameManager> getGames() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+}
@@ -0,0 +1,33 @@
+package game;
+
+/**
+ * Une façon légale de garder des dés après un lancer : uniquement des dés scorants,
+ * pris parmi ceux du plateau (voir {@link ScoreCalculator#legalKeeps(int)}).
+ * Objet immuable, partagé par toutes les tables.
+ */
+public final class KeepOption {
+
+    private final int keep;
+    private final int points;
+    private final int remainingDice;
+
+    KeepOption(int keep, int points, int remainingDice) {
+        this.keep = keep;
+        this.points = points;
+        this.remainingDice = remainingDice;
+    }
+
+    /** Dés gardés (main compacte, voir DiceHand). */
+    public int getKeep() { return keep; }
+
+    /** Points rapportés par les dés gardés. */
+    public int getPoints() { return points; }
+
+    /** Dés laissés sur le plateau (0 = tous gardés, le prochain lancer reprend 6 dés). */
+    public int getRemainingDice() { return remainingDice; }
+
+    @Override
+    public String toString() {
+        return DiceHand.toString(keep) + " = " + points + " pts (reste " + remainingDice + ")";
+    }
+}
@@ -0,0 +1,96 @@
+package game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées sans verrou, pour les métriques exposées par l'API.
+ *
+ * Les durées sont comptées en microsecondes dans des cases log-linéaires : valeur exacte
+ * jusqu'à 16 µs, puis 8 cases par puissance de 2 (erreur relative inférieure à 12,5 %).
+ * Un enregistrement = un incrément atomique ; la taille ne dépend pas du nombre de mesures.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKETS = 8;
+    /** Jusqu'à 2^40 µs (~12 jours) : largement au-delà de toute mesure utile. */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR + (MAX_EXPONENT - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /** Enregistre une durée mesurée avec System.nanoTime(). */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucket(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Durée sous laquelle se trouvent {@code percentile} % des mesures (borne haute de la case).
+     * @return La durée en microsecondes, 0 si aucune mesure.
+     */
+    public long percentileMicros(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Résumé en millisecondes (mean, p50, p90, p99, max) pour une réponse JSON.
+     */
+    public Map<String, Object> toMillisMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        long n = getCount();
+        map.put("count", n);
+        map.put("mean", n == 0 ? 0.0 : totalMicros.sum() / 1000.0 / n);
+        map.put("p50", percentileMicros(50) / 1000.0);
+        map.put("p90", percentileMicros(90) / 1000.0);
+        map.put("p99", percentileMicros(99) / 1000.0);
+        map.put("max", maxMicros.get() / 1000.0);
+        return map;
+    }
+
+    // --- CASES ---
+
+    private static int bucket(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+}
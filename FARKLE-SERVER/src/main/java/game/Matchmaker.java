@@ -0,0 +1,213 @@
+package game;
+
+import io.swagger.model.RestPlayer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * File d'attente du salon : les joueurs qui demandent une partie sont regroupés par table complète
+ * (farkle.table.seats joueurs, éventuellement par niveau) sur une table neuve, dont l'identifiant
+ * leur est renvoyé.
+ *
+ * Chaque niveau a sa propre file sans verrou. Le regroupement suit le même principe que
+ * {@link GameActor} : le joueur qui arrive dépose son ticket puis tente de prendre la main
+ * sur la file (un CAS) ; s'il l'obtient, il forme toutes les tables possibles, sinon il repart
+ * tout de suite, le détenteur verra son ticket. Personne n'attend personne, aucun verrou global.
+ * Les joueurs sont inscrits sur la table par son acteur : l'appelant ne bloque jamais.
+ *
+ * Un ticket peut être annulé (client parti) tant qu'il n'a pas été apparié ;
+ * les tickets annulés sont ignorés au moment du regroupement.
+ */
+@Component
+public class Matchmaker {
+
+    /** Niveau des joueurs qui ne donnent pas le leur : appariés entre eux, dans l'ordre d'arrivée. */
+    private static final int ANY_SKILL = Integer.MIN_VALUE;
+
+    private final GameRegistry gameRegistry;
+    private final int skillBucketWidth;
+    /** Joueurs par table (les places des tables du registre). */
+    private final int tableSize;
+    private final ConcurrentHashMap<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder tablesCreated = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    /**
+     * @param skillBucketWidth Largeur d'un niveau : deux joueurs sont appariés si skill / largeur est égal.
+     */
+    @Autowired
+    public Matchmaker(GameRegistry gameRegistry,
+                      @Value("${farkle.matchmaking.skill-bucket-width:200}") int skillBucketWidth) {
+        this.gameRegistry = gameRegistry;
+        this.skillBucketWidth = Math.max(1, skillBucketWidth);
+        this.tableSize = gameRegistry.getTableSeats();
+    }
+
+    /**
+     * Met un joueur en file.
+     * @param skill Niveau du joueur, ou null pour être apparié avec n'importe qui.
+     * @return Le ticket, dont le futur est complété avec le joueur inscrit sur sa table.
+     */
+    public Ticket join(String name, Integer skill) {
+        int key = skill == null ? ANY_SKILL : Math.floorDiv(skill, skillBucketWidth);
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        Ticket ticket = new Ticket(name);
+        joins.increment();
+        waiting.incrementAndGet();
+        bucket.queue.offer(ticket);
+        bucket.drainIfFree();
+        return ticket;
+    }
+
+    /**
+     * Retire un ticket de la file s'il n'a pas encore été apparié.
+     * @return true si le ticket est annulé, false s'il a déjà une table (son futur sera complété).
+     */
+    public boolean cancel(Ticket ticket) {
+        while (true) {
+            int state = ticket.state.get();
+            if (state == Ticket.CLAIMING) {
+                // Groupe en cours de réservation (quelques CAS) : on saura tout de suite s'il est formé
+                Thread.yield();
+            } else if (state != Ticket.WAITING) {
+                return false;
+            } else if (ticket.state.compareAndSet(Ticket.WAITING, Ticket.CANCELLED)) {
+                waiting.decrementAndGet();
+                cancelled.increment();
+                ticket.result.cancel(false);
+                return true;
+            }
+        }
+    }
+
+    /** Joueurs en attente d'une table (tous niveaux confondus). */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * Métriques pour l'API : profondeur de la file, compteurs et attente avant appariement.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("queueDepth", waiting.get());
+        map.put("buckets", buckets.size());
+        map.put("joins", joins.sum());
+        map.put("tablesCreated", tablesCreated.sum());
+        map.put("cancelled", cancelled.sum());
+        map.put("waitMs", waitTime.toMillisMap());
+        return map;
+    }
+
+    /** Crée la table d'un groupe complet et y inscrit ses joueurs, dans l'ordre d'arrivée. */
+    private void seat(List<Ticket> group) {
+        GameManager game = gameRegistry.createGame();
+        tablesCreated.increment();
+        long now = System.nanoTime();
+        for (Ticket ticket : group) {
+            waitTime.recordNanos(now - ticket.since);
+        }
+        game.getActor().tell(() -> {
+            for (Ticket ticket : group) {
+                ticket.result.complete(game.addPlayer(ticket.name));
+            }
+        });
+    }
+
+    // --- FILE D'UN NIVEAU ---
+
+    /** File d'un niveau, et le groupe incomplet en cours de formation. */
+    private final class Bucket {
+        final ConcurrentLinkedQueue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        /** Un seul thread à la fois forme les tables de ce niveau. */
+        final AtomicBoolean draining = new AtomicBoolean();
+        /** Tickets retirés de la file mais pas encore assez nombreux (lu sous {@code draining} uniquement). */
+        final List<Ticket> forming = new ArrayList<>(tableSize);
+
+        void drainIfFree() {
+            // Après avoir rendu la main, on revérifie : un ticket a pu arriver entre-temps.
+            while (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    drain();
+                } finally {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            Ticket ticket;
+            while ((ticket = queue.poll()) != null) {
+                if (ticket.state.get() != Ticket.WAITING) continue; // annulé
+                forming.add(ticket);
+                if (forming.size() == tableSize && claim(forming)) {
+                    List<Ticket> group = new ArrayList<>(forming);
+                    forming.clear();
+                    seat(group);
+                }
+            }
+        }
+
+        /**
+         * Réserve tout le groupe, ou rien : si un ticket a été annulé entre-temps, les tickets déjà
+         * réservés repassent en attente (toujours annulables) et les annulés sont retirés du groupe,
+         * qui attend dans {@code forming} les joueurs suivants.
+         * @return true si tout le groupe est réservé (apparié).
+         */
+        private boolean claim(List<Ticket> group) {
+            for (int i = 0; i < group.size(); i++) {
+                if (!group.get(i).state.compareAndSet(Ticket.WAITING, Ticket.CLAIMING)) {
+                    for (int j = 0; j < i; j++) {
+                        group.get(j).state.set(Ticket.WAITING);
+                    }
+                    group.removeIf(ticket -> ticket.state.get() == Ticket.CANCELLED);
+                    return false;
+                }
+            }
+            for (Ticket ticket : group) {
+                ticket.state.set(Ticket.MATCHED);
+            }
+            waiting.addAndGet(-group.size());
+            return true;
+        }
+    }
+
+    /** Demande de partie d'un joueur. */
+    public static final class Ticket {
+        static final int WAITING = 0;
+        /** Réservé par le regroupement, le temps de savoir si tout le groupe l'est (jamais durable). */
+        static final int CLAIMING = 1;
+        static final int MATCHED = 2;
+        static final int CANCELLED = 3;
+
+        final String name;
+        final long since = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        final CompletableFuture<RestPlayer> result = new CompletableFuture<>();
+
+        Ticket(String name) {
+            this.name = name;
+        }
+
+        /** Complété avec le joueur inscrit (et l'identifiant de sa table) dès que le groupe est formé. */
+        public CompletableFuture<RestPlayer> getResult() {
+            return result;
+        }
+    }
+}
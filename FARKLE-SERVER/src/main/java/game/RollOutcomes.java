@@ -0,0 +1,108 @@
+package game;
+
+/**
+ * Résultats distincts d'un lancer de n dés (1 à 6) avec leur poids exact.
+ *
+ * Un lancer de n dés n'a que C(n + 5, 5) résultats distincts à l'ordre près (462 pour 6 dés,
+ * contre 6^6 = 46656 lancers ordonnés). Chaque résultat est une main ({@link DiceHand}) pondérée
+ * par son nombre de tirages ordonnés : n! / (c1! ... c6!). La somme des poids vaut 6^n.
+ *
+ * Les tables sont construites une fois au chargement ; le parcours par indice
+ * ({@link #count}, {@link #hand}, {@link #weight}) ne fait aucune allocation :
+ *
+ * <pre>
+ * for (int i = 0; i &lt; RollOutcomes.count(n); i++) {
+ *     total += RollOutcomes.weight(n, i) * f(RollOutcomes.hand(n, i));
+ * }
+ * </pre>
+ */
+public final class RollOutcomes {
+
+    private static final int[][] HANDS = new int[DiceHand.MAX_DICE + 1][];
+    private static final int[][] WEIGHTS = new int[DiceHand.MAX_DICE + 1][];
+    private static final int[] TOTAL_WEIGHT = new int[DiceHand.MAX_DICE + 1];
+
+    static {
+        for (int n = 0; n <= DiceHand.MAX_DICE; n++) {
+            HANDS[n] = new int[distinctHands(n, 1)];
+            WEIGHTS[n] = new int[HANDS[n].length];
+            int filled = fill(n, n, 1, DiceHand.EMPTY, factorial(n), 0);
+            TOTAL_WEIGHT[n] = (int) Math.round(Math.pow(6, n));
+            if (filled != HANDS[n].length) {
+                throw new IllegalStateException("Énumération incomplète pour " + n + " dés");
+            }
+        }
+    }
+
+    private RollOutcomes() {
+    }
+
+    /** Visiteur des résultats d'un lancer (voir {@link #forEach}). */
+    public interface Visitor {
+        void visit(int hand, int weight);
+    }
+
+    /** Nombre de résultats distincts pour un lancer de {@code n} dés. */
+    public static int count(int n) {
+        return HANDS[n].length;
+    }
+
+    /** Main du résultat numéro {@code i} (0 &lt;= i &lt; count(n)). */
+    public static int hand(int n, int i) {
+        return HANDS[n][i];
+    }
+
+    /** Nombre de lancers ordonnés qui donnent le résultat numéro {@code i}. */
+    public static int weight(int n, int i) {
+        return WEIGHTS[n][i];
+    }
+
+    /** Somme des poids : 6^n lancers ordonnés. */
+    public static int totalWeight(int n) {
+        return TOTAL_WEIGHT[n];
+    }
+
+    /** Probabilité du résultat numéro {@code i}. */
+    public static double probability(int n, int i) {
+        return WEIGHTS[n][i] / (double) TOTAL_WEIGHT[n];
+    }
+
+    /** Parcourt tous les résultats distincts d'un lancer de {@code n} dés. */
+    public static void forEach(int n, Visitor visitor) {
+        int[] hands = HANDS[n];
+        int[] weights = WEIGHTS[n];
+        for (int i = 0; i < hands.length; i++) {
+            visitor.visit(hands[i], weights[i]);
+        }
+    }
+
+    // --- CONSTRUCTION ---
+
+    private static int distinctHands(int diceLeft, int face) {
+        if (face == 6) return 1;
+        int count = 0;
+        for (int n = 0; n <= diceLeft; n++) {
+            count += distinctHands(diceLeft - n, face + 1);
+        }
+        return count;
+    }
+
+    /** Le dernier niveau reçoit les dés restants ; le poids est n! / (c1! ... c6!). */
+    private static int fill(int n, int diceLeft, int face, int hand, int weight, int next) {
+        if (face == 6) {
+            HANDS[n][next] = DiceHand.add(hand, 6, diceLeft);
+            WEIGHTS[n][next] = weight / factorial(diceLeft);
+            return next + 1;
+        }
+        for (int count = 0; count <= diceLeft; count++) {
+            next = fill(n, diceLeft - count, face + 1, DiceHand.add(hand, face, count), weight / factorial(count), next);
+        }
+        return next;
+    }
+
+    private static int factorial(int n) {
+        int f = 1;
+        for (int i = 2; i <= n; i++) f *= i;
+        return f;
+    }
+}
@@ -1,13 +1,11 @@
 package game;
 
-import model.Dice; // Importe la classe Dice pour pouvoir manipuler des objets de ce type.
-
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Classe utilitaire dédiée au calcul des points et à la validation des combinaisons du jeu Farkle.
  * Elle centralise toutes les règles de score pour être réutilisée par d'autres classes comme Turn et GameManager.
+ * Les dés sont manipulés sous forme de mains compactes ({@link DiceHand}), sans objet Dice.
  */
 public class ScoreCalculator {
 
@@ -24,245 +22,267 @@ public class ScoreCalculator {
     private static final int SCORE_THREE_PAIRS = 1500;
     private static final int SCORE_STRAIGHT_1_6 = 2500;
 
-    /**
-     * Calcule le score total pour une liste de dés donnée.
-     * La méthode est conçue pour gérer correctement les priorités (les grosses combinaisons d'abord)
-     * et ne compter les points qu'une seule fois pour chaque dé.
-     * @param dice La liste des dés dont il faut calculer le score.
-     * @return Le score total en nombre entier.
-     */
-    public int calculatePoints(List<Dice> dice) {
-        if (dice == null || dice.isEmpty()) {
-            return 0; // Sécurité pour éviter les erreurs si la liste est vide.
-        }
-
-        // On compte le nombre d'occurrences de chaque valeur de dé (de 1 à 6).
-        // Un tableau est plus efficace qu'une Map pour des clés numériques séquentielles.
-        int[] counts = new int[7];
-        for (Dice d : dice) {
-            counts[d.getValue()]++;
-        }
-
-        int points = 0;
-
-        // On vérifie d'abord les combinaisons qui utilisent tous les 6 dés, car elles sont exclusives.
-        // Cas 1 : Suite complète (1-2-3-4-5-6)
-        boolean isStraight = dice.size() == 6;
-        if (isStraight) {
-            for (int i = 1; i <= 6; i++) {
-                if (counts[i] != 1) { // Si une valeur n'apparaît pas exactement une fois...
-                    isStraight = false; // ...ce n'est pas une suite.
-                    break;
-                }
-            }
-            if (isStraight) return SCORE_STRAIGHT_1_6; // Si c'est une suite, on retourne le score directement.
+    // --- TABLE PRÉCALCULÉE ---
+    // Il n'existe que 924 mains de 0 à 6 dés (multi-ensembles de faces). Toutes les réponses
+    // (points, dés scorants, drapeaux, façons légales de garder, indices) sont calculées une fois
+    // au chargement de la classe, puis lues en O(1) : aucune boucle, aucune allocation pendant la partie.
+
+    /** Nombre de mains distinctes de 0 à 6 dés : C(12, 6). */
+    static final int HAND_COUNT = 924;
+
+    private static final int FLAG_HOT_DICE = 1;          // tous les dés de la main sont scorants
+    private static final int FLAG_SPECIAL_COMBO = 1 << 1; // suite, trois paires ou six identiques
+
+    /** Main compacte -> indice dense (0..923), -1 pour une valeur qui n'est pas une main valide. */
+    private static final short[] INDEX = new short[1 << 18];
+    private static final int[] POINTS = new int[HAND_COUNT];
+    private static final int[] SCORING = new int[HAND_COUNT];
+    private static final byte[] FLAGS = new byte[HAND_COUNT];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final List<KeepOption>[] KEEPS = new List[HAND_COUNT];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final List<Map<String, String>>[] HINTS = new List[HAND_COUNT];
+
+    /** Ordre des options : plus de points d'abord, puis le plus de dés à relancer. */
+    private static final Comparator<KeepOption> BEST_KEEP_FIRST = Comparator
+            .comparingInt(KeepOption::getPoints).reversed()
+            .thenComparing(Comparator.comparingInt(KeepOption::getRemainingDice).reversed())
+            .thenComparingInt(KeepOption::getKeep);
+
+    static {
+        Arrays.fill(INDEX, (short) -1);
+        int built = fillTable(1, DiceHand.EMPTY, DiceHand.MAX_DICE, 0);
+        if (built != HAND_COUNT) {
+            throw new IllegalStateException("Table de score incomplète: " + built + " mains");
         }
+    }
 
-        // Cas 2 : Trois paires (ex: 2-2, 4-4, 5-5)
-        if (dice.size() == 6) {
-            int pairCount = 0;
-            for (int c : counts) {
-                if (c == 2) pairCount++; // On compte combien de valeurs apparaissent deux fois.
-            }
-            if (pairCount == 3) return SCORE_THREE_PAIRS; // Si on a 3 paires, on retourne le score.
+    /** Énumère récursivement toutes les mains (face par face) et remplit la table. */
+    private static int fillTable(int face, int hand, int diceLeft, int next) {
+        if (face > 6) {
+            int scoring = computeScoringDice(hand);
+            INDEX[hand] = (short) next;
+            POINTS[next] = computePoints(hand);
+            SCORING[next] = scoring;
+            FLAGS[next] = (byte) ((!DiceHand.isEmpty(hand) && scoring == hand ? FLAG_HOT_DICE : 0)
+                    | (computeHotDiceSpecialCombo(hand) ? FLAG_SPECIAL_COMBO : 0));
+            List<KeepOption> keeps = computeLegalKeeps(hand);
+            KEEPS[next] = Collections.unmodifiableList(keeps);
+            HINTS[next] = Collections.unmodifiableList(computeCombinationHints(keeps));
+            return next + 1;
         }
-
-        // Ensuite, on cherche les combinaisons "N identiques" (brelan, carré, etc.), du plus grand au plus petit.
-        // Après avoir compté les points, on retire les dés utilisés du décompte (`counts[i] -= N`).
-        for (int i = 1; i <= 6; i++) {
-            if (counts[i] >= 6) { points += SCORE_SIX_OF_A_KIND; counts[i] -= 6; }
-            else if (counts[i] >= 5) { points += SCORE_FIVE_OF_A_KIND; counts[i] -= 5; }
-            else if (counts[i] >= 4) { points += SCORE_FOUR_OF_A_KIND; counts[i] -= 4; }
+        for (int n = 0; n <= diceLeft; n++) {
+            next = fillTable(face + 1, DiceHand.add(hand, face, n), diceLeft - n, next);
         }
+        return next;
+    }
 
-        // On cherche les brelans (trois dés identiques).
-        if (counts[1] >= 3) { points += SCORE_TRIPLE_1; counts[1] -= 3; }
-        for (int i = 2; i <= 6; i++) {
-            if (counts[i] >= 3) { points += i * SCORE_TRIPLE_OTHERS_MULTIPLIER; counts[i] -= 3; }
+    private static int indexOf(int hand) {
+        int index = (hand >= 0 && hand < INDEX.length) ? INDEX[hand] : -1;
+        if (index < 0) {
+            throw new IllegalArgumentException("Main de dés invalide: " + hand);
         }
+        return index;
+    }
 
-        // Finalement, on ajoute les points pour les dés [1] et [5] restants,
-        // qui n'ont pas été utilisés dans une combinaison.
-        points += counts[1] * SCORE_SINGLE_1;
-        points += counts[5] * SCORE_SINGLE_5;
+    // --- RÈGLES (lecture de la table) ---
 
-        return points;
+    /**
+     * Score total d'une main de dés (voir {@link DiceHand}).
+     * Les grosses combinaisons sont prioritaires et chaque dé n'est compté qu'une fois.
+     */
+    public int calculatePoints(int hand) {
+        return POINTS[indexOf(hand)];
     }
 
     /**
-     * Identifie tous les dés qui peuvent rapporter des points dans un lancer donné.
-     * Cette méthode est cruciale pour détecter un "Farkle" (si elle retourne une liste vide).
-     * @param diceList La liste des dés lancés sur le plateau.
-     * @return Une liste contenant uniquement les dés qui sont scorants.
+     * Dés qui peuvent rapporter des points dans un lancer.
+     * Main vide = "Farkle".
      */
-    public List<Dice> findScoringDice(List<Dice> diceList) {
-        if (diceList == null || diceList.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // On utilise un Set pour éviter d'ajouter plusieurs fois le même objet Dice.
-        Set<Dice> scoringDiceSet = new HashSet<>();
-        // On groupe les dés par leur valeur pour faciliter l'analyse des combinaisons.
-        Map<Integer, List<Dice>> diceByValue = diceList.stream()
-                .collect(Collectors.groupingBy(Dice::getValue));
+    public int findScoringDice(int hand) {
+        return SCORING[indexOf(hand)];
+    }
 
-        // Règle 1 : On vérifie les combinaisons spéciales qui utilisent tous les 6 dés.
-        if (diceList.size() == 6) {
-            long pairCount = diceByValue.values().stream().filter(list -> list.size() == 2).count();
-            if (pairCount == 3) {
-                return new ArrayList<>(diceList); // Si Trois paires, tous les dés scorent.
-            }
-            if (diceByValue.size() == 6) {
-                return new ArrayList<>(diceList); // Si Suite, tous les dés scorent.
-            }
-        }
+    /** Tous les dés de la main sont scorants (main non vide) : "Hot Dice". */
+    public boolean isHotDice(int hand) {
+        return (FLAGS[indexOf(hand)] & FLAG_HOT_DICE) != 0;
+    }
 
-        // Règle 2 : On cherche les brelans (3 dés identiques) ou mieux.
-        for (List<Dice> group : diceByValue.values()) {
-            if (group.size() >= 3) {
-                scoringDiceSet.addAll(group); // Si on a un brelan de 4, tous les 4 sont ajoutés.
-            }
-        }
+    /**
+     * Détermine si une combinaison de 6 dés est une figure spéciale ("Hot Dice Special") :
+     * suite, trois paires ou sextuplé.
+     */
+    public boolean isHotDiceSpecialCombo(int hand) {
+        return (FLAGS[indexOf(hand)] & FLAG_SPECIAL_COMBO) != 0;
+    }
 
-        // Règle 3 : On cherche les [1] et [5] qui sont seuls.
-        // On vérifie que la taille du groupe est < 3 pour ne pas les recompter s'ils font déjà partie d'un brelan.
-        if (diceByValue.containsKey(1) && diceByValue.get(1).size() < 3) {
-            scoringDiceSet.addAll(diceByValue.get(1));
-        }
-        if (diceByValue.containsKey(5) && diceByValue.get(5).size() < 3) {
-            scoringDiceSet.addAll(diceByValue.get(5));
-        }
+    /**
+     * Toutes les façons légales de garder des dés dans un lancer, avec leurs points et
+     * le nombre de dés restants, de la plus rentable à la moins rentable.
+     * Liste vide = "Farkle". La liste est partagée et immuable : ne pas la modifier.
+     */
+    public List<KeepOption> legalKeeps(int roll) {
+        return KEEPS[indexOf(roll)];
+    }
 
-        return new ArrayList<>(scoringDiceSet);
+    /**
+     * Indices (hints) pour le client : une ligne par façon légale de garder des dés
+     * (clés "combo", "points" et "remainingDice"), dans l'ordre de {@link #legalKeeps(int)}.
+     * La liste est partagée et immuable : ne pas la modifier.
+     */
+    public List<Map<String, String>> generateCombinationHints(int diceOnPlate) {
+        return HINTS[indexOf(diceOnPlate)];
     }
 
     /**
      * Valide si une sélection de dés faite par le joueur est légale.
      * Une sélection est légale si elle est un sous-ensemble des dés disponibles
-     * ET si la sélection elle-même rapporte des points.
-     * @param selectedDice Les dés que le joueur a choisi de garder.
-     * @param availableDiceInRoll Les dés qui étaient sur le plateau au moment du choix.
+     * ET si tous les dés sélectionnés rapportent des points : c'est exactement
+     * l'appartenance à {@link #legalKeeps(int)}, lue dans la table en O(1).
+     * @param selected Les dés que le joueur a choisi de garder.
+     * @param availableInRoll Les dés qui étaient sur le plateau au moment du choix.
      * @return true si la sélection est valide, false sinon.
      */
-    public boolean isValidSelection(List<Dice> selectedDice, List<Dice> availableDiceInRoll) {
-        if (selectedDice == null || selectedDice.isEmpty()) return false;
-
-        // On vérifie d'abord que le joueur ne tente pas de sélectionner des dés qui n'existent pas.
-        // On utilise une copie pour ne pas modifier la liste originale.
-        List<Dice> tempAvailable = new ArrayList<>(availableDiceInRoll);
-        for (Dice dSelected : selectedDice) {
-            boolean found = false;
-            // On itère et on supprime pour gérer correctement les doublons (ex: sélectionner un seul 4 s'il y en a deux).
-            for (Iterator<Dice> it = tempAvailable.iterator(); it.hasNext(); ) {
-                Dice availableDie = it.next();
-                if (availableDie.getValue() == dSelected.getValue()) {
-                    it.remove();
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) return false; // Le joueur a sélectionné un dé non disponible.
-        }
-
-        // Enfin, on vérifie si la sélection elle-même a un score supérieur à zéro.
-        return calculatePoints(selectedDice) > 0;
+    public boolean isValidSelection(int selected, int availableInRoll) {
+        if (selected <= DiceHand.EMPTY || !DiceHand.contains(availableInRoll, selected)) return false;
+        return (FLAGS[indexOf(selected)] & FLAG_HOT_DICE) != 0;
     }
 
+    // --- CALCUL DE RÉFÉRENCE (utilisé une seule fois pour construire la table) ---
+
     /**
-     * Détermine si une combinaison de 6 dés est une figure spéciale ("Hot Dice Special").
-     * @param diceList La liste des 6 dés à vérifier.
-     * @return true si c'est une suite, trois paires ou un sextuplé.
+     * Calcule le score total pour une main de dés donnée (voir {@link DiceHand}).
+     * La méthode est conçue pour gérer correctement les priorités (les grosses combinaisons d'abord)
+     * et ne compter les points qu'une seule fois pour chaque dé.
+     * Aucune allocation : tout le calcul se fait sur les compteurs de la main.
+     * @param hand Les dés dont il faut calculer le score.
+     * @return Le score total en nombre entier.
      */
-    public boolean isHotDiceSpecialCombo(List<Dice> diceList) {
-        if (diceList == null || diceList.size() != 6) return false;
-
-        int[] countsArray = new int[7];
-        for (Dice d : diceList) countsArray[d.getValue()]++;
-
-        // Vérification de la suite
-        boolean isStraight = true;
-        for (int i = 1; i <= 6; i++) if (countsArray[i] != 1) { isStraight = false; break; }
-        if (isStraight) return true;
+    private static int computePoints(int hand) {
+        int size = DiceHand.size(hand);
+        if (size == 0) {
+            return 0; // Sécurité : main vide.
+        }
 
-        // Vérification des trois paires
-        int pairCount = 0;
-        for (int c : countsArray) if (c == 2) pairCount++;
-        if (pairCount == 3) return true;
+        // On vérifie d'abord les combinaisons qui utilisent tous les 6 dés, car elles sont exclusives.
+        if (size == 6) {
+            // Cas 1 : Suite complète (1-2-3-4-5-6)
+            if (hand == DiceHand.STRAIGHT) return SCORE_STRAIGHT_1_6;
+            // Cas 2 : Trois paires (ex: 2-2, 4-4, 5-5)
+            if (DiceHand.facesWithCount(hand, 2) == 3) return SCORE_THREE_PAIRS;
+        }
 
-        // Vérification de six dés identiques
-        for (int c : countsArray) if (c == 6) return true;
+        // Chaque face est indépendante : on prend d'abord "N identiques" (6, 5, 4),
+        // puis le brelan, puis les [1] et [5] restants.
+        int points = 0;
+        for (int face = 1; face <= 6; face++) {
+            int count = DiceHand.count(hand, face);
+            if (count >= 6) { points += SCORE_SIX_OF_A_KIND; count -= 6; }
+            else if (count >= 5) { points += SCORE_FIVE_OF_A_KIND; count -= 5; }
+            else if (count >= 4) { points += SCORE_FOUR_OF_A_KIND; count -= 4; }
+
+            if (count >= 3) {
+                points += (face == 1) ? SCORE_TRIPLE_1 : face * SCORE_TRIPLE_OTHERS_MULTIPLIER;
+                count -= 3;
+            }
 
-        return false;
+            if (face == 1) points += count * SCORE_SINGLE_1;
+            else if (face == 5) points += count * SCORE_SINGLE_5;
+        }
+        return points;
     }
 
     /**
-     * Génère une liste d'indices (hints) pour le client, décrivant les combinaisons
-     * scorantes possibles dans un lancer donné.
-     * @param diceOnPlate La liste des dés sur le plateau.
-     * @return Une liste de Map, chaque Map représentant un indice avec une clé "combo" et "points".
+     * Identifie tous les dés qui peuvent rapporter des points dans un lancer donné.
+     * Cette méthode est cruciale pour détecter un "Farkle" (si elle retourne une main vide).
+     * @param hand Les dés lancés sur le plateau.
+     * @return La main contenant uniquement les dés qui sont scorants.
      */
-    public List<Map<String, String>> generateCombinationHints(List<Dice> diceOnPlate) {
-        List<Map<String, String>> hints = new ArrayList<>();
-        if (diceOnPlate == null || diceOnPlate.isEmpty()) {
-            return hints;
+    private static int computeScoringDice(int hand) {
+        if (DiceHand.isEmpty(hand)) {
+            return DiceHand.EMPTY;
         }
 
-        Map<Integer, Long> counts = diceOnPlate.stream()
-                .collect(Collectors.groupingBy(Dice::getValue, Collectors.counting()));
-
-        // --- Règle 1 : Chercher les combinaisons spéciales de 6 dés ---
-        if (diceOnPlate.size() == 6) {
-            if (counts.size() == 6) {
-                hints.add(createHint("Suite 1-6", SCORE_STRAIGHT_1_6));
-                return hints;
-            }
-            long pairCount = counts.values().stream().filter(c -> c == 2).count();
-            if (pairCount == 3) {
-                hints.add(createHint("Trois paires", SCORE_THREE_PAIRS));
-            }
+        // Règle 1 : On vérifie les combinaisons spéciales qui utilisent tous les 6 dés.
+        if (DiceHand.size(hand) == 6
+                && (hand == DiceHand.STRAIGHT || DiceHand.facesWithCount(hand, 2) == 3)) {
+            return hand; // Suite ou Trois paires : tous les dés scorent.
         }
 
-        // --- Règle 2 : Chercher les brelans, carrés, etc. ---
-        Map<Integer, Long> remainingCounts = new HashMap<>(counts);
-        for (int value = 1; value <= 6; value++) {
-            long count = remainingCounts.getOrDefault(value, 0L);
-            if (count >= 6) {
-                hints.add(createHint("Six " + value, SCORE_SIX_OF_A_KIND));
-                remainingCounts.put(value, 0L);
-            } else if (count >= 5) {
-                hints.add(createHint("Cinq " + value, SCORE_FIVE_OF_A_KIND));
-                remainingCounts.put(value, 0L);
-            } else if (count >= 4) {
-                hints.add(createHint("Quatre " + value, SCORE_FOUR_OF_A_KIND));
-                remainingCounts.put(value, 0L);
-            } else if (count >= 3) {
-                int points = (value == 1) ? SCORE_TRIPLE_1 : value * SCORE_TRIPLE_OTHERS_MULTIPLIER;
-                hints.add(createHint("Trois " + value, points));
-                remainingCounts.put(value, 0L);
+        int scoring = DiceHand.EMPTY;
+        for (int face = 1; face <= 6; face++) {
+            int count = DiceHand.count(hand, face);
+            // Règle 2 : brelan ou mieux -> tous les dés de cette face.
+            // Règle 3 : les [1] et [5] scorent toujours, seuls ou en groupe.
+            if (count >= 3 || ((face == 1 || face == 5) && count > 0)) {
+                scoring = DiceHand.plus(scoring, DiceHand.onlyFace(hand, face));
             }
         }
+        return scoring;
+    }
+
+    /**
+     * Détermine si une combinaison de 6 dés est une figure spéciale ("Hot Dice Special").
+     * @param hand Les 6 dés à vérifier.
+     * @return true si c'est une suite, trois paires ou un sextuplé.
+     */
+    private static boolean computeHotDiceSpecialCombo(int hand) {
+        if (DiceHand.size(hand) != 6) return false;
+        return hand == DiceHand.STRAIGHT
+                || DiceHand.facesWithCount(hand, 2) == 3
+                || DiceHand.facesWithCount(hand, 6) == 1;
+    }
+
+    /**
+     * Énumère toutes les sous-mains non vides d'un lancer dont chaque dé est scorant.
+     * @param roll Les dés sur le plateau.
+     * @return Les options triées (voir {@link #BEST_KEEP_FIRST}), vide en cas de Farkle.
+     */
+    private static List<KeepOption> computeLegalKeeps(int roll) {
+        List<KeepOption> keeps = new ArrayList<>();
+        collectKeeps(roll, 1, DiceHand.EMPTY, DiceHand.size(roll), keeps);
+        keeps.sort(BEST_KEEP_FIRST);
+        return keeps;
+    }
 
-        // --- Règle 3 : Chercher les 1 et 5 individuels restants ---
-        if (remainingCounts.getOrDefault(1, 0L) > 0) {
-            hints.add(createHint("Un ou plusieurs [1]", SCORE_SINGLE_1));
+    /** Parcourt face par face toutes les quantités possibles (0..count) de la sous-main. */
+    private static void collectKeeps(int roll, int face, int keep, int rollSize, List<KeepOption> keeps) {
+        if (face > 6) {
+            if (!DiceHand.isEmpty(keep) && computeScoringDice(keep) == keep) {
+                keeps.add(new KeepOption(keep, computePoints(keep), rollSize - DiceHand.size(keep)));
+            }
+            return;
         }
-        if (remainingCounts.getOrDefault(5, 0L) > 0) {
-            hints.add(createHint("Un ou plusieurs [5]", SCORE_SINGLE_5));
+        for (int n = DiceHand.count(roll, face); n >= 0; n--) {
+            collectKeeps(roll, face + 1, DiceHand.add(keep, face, n), rollSize, keeps);
         }
+    }
 
+    /**
+     * Génère les indices (hints) pour le client à partir des façons légales de garder des dés.
+     * @param keeps Les options du lancer, déjà triées.
+     * @return Une liste de Map avec les clés "combo", "points" et "remainingDice".
+     */
+    private static List<Map<String, String>> computeCombinationHints(List<KeepOption> keeps) {
+        List<Map<String, String>> hints = new ArrayList<>(keeps.size());
+        for (KeepOption option : keeps) {
+            hints.add(createHint(DiceHand.toString(option.getKeep()), option.getPoints(), option.getRemainingDice()));
+        }
         return hints;
     }
 
     /**
      * Méthode utilitaire privée pour créer une Map représentant un indice.
-     * @param combo Le nom de la combinaison (ex: "Trois 5").
+     * @param combo Les dés de la combinaison (ex: "[5] [5] [5]").
      * @param points Le nombre de points.
+     * @param remainingDice Le nombre de dés laissés sur le plateau.
      * @return Une Map prête à être ajoutée à la liste des indices.
      */
-    private Map<String, String> createHint(String combo, int points) {
+    private static Map<String, String> createHint(String combo, int points, int remainingDice) {
         Map<String, String> hintMap = new HashMap<>();
         hintMap.put("combo", combo);
         hintMap.put("points", points + " pts");
+        hintMap.put("remainingDice", String.valueOf(remainingDice));
         return Collections.unmodifiableMap(hintMap);
     }
 }
\ No newline at end of file
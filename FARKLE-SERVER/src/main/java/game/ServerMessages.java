@@ -2,10 +2,9 @@ package game;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ServerMessages {
-    private static final Random random = new Random();
 
     // --- Messages d'Ambiance Généraux ---
     public static String welcome() { return pick(Arrays.asList("🏴‍☠️ Bienvenue à bord moussaillon ! Prépare-toi à lancer les dés !", "🙏 Soyez le bienvenu dans le jeu de Farkle, noble aventurier.", "😈 Enfin quelqu’un de courageux ! On va voir si tu tiens le choc.", "🎲 Que la partie commence sous les auspices du destin !", "🏴‍☠️ Joy Boy t’observe, fais honneur à son chapeau de paille.", "👋 Bienvenue à Farkle Island ! Ici, seul le plus chanceux survit.")); }
@@ -45,6 +44,6 @@ public class ServerMessages {
 
     private static String pick(List<String> list) {
         if (list == null || list.isEmpty()) return "";
-        return list.get(random.nextInt(list.size()));
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package game;
+
+/**
+ * Abonné aux changements d'état d'une table (flux SSE, WebSocket, spectateurs...).
+ * Notifié après chaque action qui a appelé markStateChanged(), avec l'état complet de la table.
+ */
+public interface StateListener {
+
+    /**
+     * Appelé sur le thread de l'acteur de la table : l'implémentation ne doit JAMAIS bloquer
+     * (elle se contente de déposer l'état dans sa propre file et rend la main).
+     * @param snapshot État complet de la table et sa version (partagé, ne pas modifier).
+     */
+    void onStateChanged(StateSnapshot snapshot);
+}
@@ -0,0 +1,65 @@
+package game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.model.TurnStatusDTO;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * État complet d'une table accompagné de la version à laquelle il a été lu.
+ * Construit sur l'acteur de la table : l'état et la version sont toujours cohérents.
+ *
+ * Un snapshot est construit UNE fois par version (voir GameManager.snapshot()) puis partagé
+ * entre tous les lecteurs (GET /state, SSE, WebSocket) : l'état ne doit pas être modifié,
+ * et sa forme JSON n'est sérialisée qu'une fois.
+ */
+public final class StateSnapshot {
+
+    private final int version;
+    private final TurnStatusDTO state;
+
+    /** JSON de l'état, calculé au premier besoin (course bénigne : même résultat). */
+    private volatile byte[] json;
+    private volatile String jsonText;
+
+    public StateSnapshot(int version, TurnStatusDTO state) {
+        this.version = version;
+        this.state = state;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public TurnStatusDTO getState() {
+        return state;
+    }
+
+    /**
+     * Forme JSON (UTF-8) de l'état, sérialisée une seule fois pour cette version.
+     * Le tableau est partagé entre tous les lecteurs : ne jamais le modifier.
+     */
+    public byte[] toJson(ObjectMapper objectMapper) {
+        byte[] bytes = json;
+        if (bytes == null) {
+            try {
+                bytes = objectMapper.writeValueAsBytes(state);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Sérialisation de l'état v" + version + " impossible", e);
+            }
+            json = bytes;
+        }
+        return bytes;
+    }
+
+    /** Forme JSON de l'état sous forme de texte (SSE, WebSocket), elle aussi calculée une seule fois. */
+    public String toJsonString(ObjectMapper objectMapper) {
+        String text = jsonText;
+        if (text == null) {
+            text = new String(toJson(objectMapper), StandardCharsets.UTF_8);
+            jsonText = text;
+        }
+        return text;
+    }
+}
@@ -0,0 +1,264 @@
+package game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Minuteries partagées par toutes les tables : une roue temporelle hiérarchique
+ * (4 niveaux de 64 cases, un seul thread pour tout le serveur).
+ *
+ * Le niveau 0 compte les ticks, chaque niveau suivant couvre 64 fois plus de temps
+ * (avec un tick de 100 ms : 6,4 s, 7 min, 7 h, 19 jours). Une minuterie est rangée dans la case
+ * de son échéance au niveau qui la contient, puis redescendue d'un niveau quand l'aiguille du
+ * niveau inférieur fait un tour. Chaque tick ne traite que la case courante : le coût ne dépend
+ * que des minuteries échues (ou redescendues), jamais du nombre de minuteries armées.
+ *
+ * Armer et annuler sont sans verrou et utilisables depuis n'importe quel thread : les demandes
+ * passent par deux files, vidées par le thread de la roue au tick suivant, seul à toucher aux cases.
+ * Les tâches s'exécutent sur ce thread : elles doivent être brèves (typiquement déposer un message
+ * dans la boîte aux lettres d'une table).
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    /** Délai couvert par la roue, en ticks ; au-delà, l'échéance est reportée de tour en tour au dernier niveau. */
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    /** Cases de chaque niveau : listes doublement chaînées circulaires (la tête est une sentinelle). */
+    private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS];
+    /** Prochain tick à traiter (thread de la roue uniquement). */
+    private long tick;
+
+    private final ConcurrentLinkedQueue<Timeout> scheduledQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout> cancelledQueue = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean stopped;
+
+    private final LongAdder armed = new LongAdder();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder cascaded = new LongAdder();
+    private final LatencyHistogram tickWork = new LatencyHistogram();
+
+    /**
+     * Crée la roue et démarre son thread.
+     * @param tickMillis Résolution : une échéance tombe au plus un tick après l'heure demandée.
+     * @param threadName Nom du thread de la roue.
+     */
+    public TimingWheel(long tickMillis, String threadName) {
+        this(tickMillis, TimeUnit.MILLISECONDS, threadName);
+    }
+
+    /** Résolution plus fine que la milliseconde (tests : parcourir les 4 niveaux en quelques secondes). */
+    TimingWheel(long tick, TimeUnit unit, String threadName) {
+        if (tick <= 0) throw new IllegalArgumentException("Tick invalide: " + tick + " " + unit);
+        this.tickNanos = unit.toNanos(tick);
+        for (Timeout[] wheel : wheels) {
+            for (int s = 0; s < SLOTS; s++) {
+                wheel[s] = Timeout.sentinel();
+            }
+        }
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Arme une minuterie.
+     * @param task Tâche exécutée sur le thread de la roue à l'échéance (brève, ne doit pas bloquer).
+     * @return La minuterie, annulable tant qu'elle n'est pas échue.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long elapsed = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        // Arrondi au tick supérieur : jamais avant l'heure demandée.
+        Timeout timeout = new Timeout(this, task, (elapsed + tickNanos - 1) / tickNanos);
+        armed.increment();
+        scheduled.increment();
+        scheduledQueue.offer(timeout);
+        return timeout;
+    }
+
+    public long getTickMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+    }
+
+    /** Minuteries armées ni échues ni annulées. */
+    public long getArmedCount() {
+        return armed.sum();
+    }
+
+    /**
+     * Métriques pour l'API : minuteries armées, compteurs, et travail du thread par tick.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("tickMs", getTickMillis());
+        map.put("armed", armed.sum());
+        map.put("scheduled", scheduled.sum());
+        map.put("expired", expired.sum());
+        map.put("cancelled", cancelled.sum());
+        map.put("cascaded", cascaded.sum());
+        map.put("tickWorkMs", tickWork.toMillisMap());
+        return map;
+    }
+
+    /** Arrête le thread de la roue ; les minuteries encore armées ne seront jamais exécutées. */
+    public void shutdown() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    // --- THREAD DE LA ROUE ---
+
+    private void run() {
+        while (!stopped) {
+            long wait = startNanos + tick * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            long begin = System.nanoTime();
+            transferScheduled();
+            purgeCancelled();
+            if ((tick & SLOT_MASK) == 0) cascade();
+            expireSlot(wheels[0][(int) (tick & SLOT_MASK)]);
+            tick++;
+            tickWork.recordNanos(System.nanoTime() - begin);
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduledQueue.poll()) != null) {
+            if (timeout.state.get() == PENDING) place(timeout);
+        }
+    }
+
+    private void purgeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledQueue.poll()) != null) {
+            timeout.unlink(); // encore dans scheduledQueue : ignorée au transfert
+        }
+    }
+
+    /**
+     * L'aiguille du niveau 0 repasse à 0 : les cases courantes des niveaux supérieurs qui viennent
+     * elles aussi de tourner sont redistribuées, du plus haut au plus bas.
+     */
+    private void cascade() {
+        int top = 1;
+        while (top < LEVELS - 1 && ((tick >>> (SLOT_BITS * top)) & SLOT_MASK) == 0) top++;
+        for (int level = top; level >= 1; level--) {
+            Timeout head = wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            Timeout timeout;
+            while ((timeout = head.next) != head) {
+                timeout.unlink();
+                cascaded.increment();
+                place(timeout);
+            }
+        }
+    }
+
+    private void expireSlot(Timeout head) {
+        Timeout timeout;
+        while ((timeout = head.next) != head) {
+            timeout.unlink();
+            if (timeout.deadline > tick) {
+                place(timeout); // ne devrait pas arriver : l'échéance n'est pas dans cette case
+            } else if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                armed.decrement();
+                expired.increment();
+                try {
+                    timeout.task.run();
+                } catch (Throwable t) {
+                    System.out.println("[TIMER] Erreur pendant une minuterie: " + t);
+                }
+            }
+        }
+    }
+
+    /** Range une minuterie dans la case de son échéance, au niveau qui couvre le délai restant. */
+    private void place(Timeout timeout) {
+        if (timeout.deadline < tick) timeout.deadline = tick; // en retard : échue à ce tick
+        long target = Math.min(timeout.deadline, tick + MAX_SPAN - 1);
+        long delta = target - tick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) level++;
+        timeout.linkBefore(wheels[level][(int) ((target >>> (SLOT_BITS * level)) & SLOT_MASK)]);
+    }
+
+    /** Minuterie armée sur la roue. */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        /** Échéance en ticks depuis le démarrage de la roue. */
+        private long deadline;
+        /** Chaînage dans une case (thread de la roue uniquement ; null hors case). */
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        private static Timeout sentinel() {
+            Timeout head = new Timeout(null, null, 0);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        /**
+         * Annule la minuterie.
+         * @return true si elle est annulée, false si elle est déjà échue (ou déjà annulée).
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+            wheel.armed.decrement();
+            wheel.cancelled.increment();
+            wheel.cancelledQueue.offer(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void linkBefore(Timeout head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            if (prev == null) return;
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -1,54 +1,58 @@
 package game;
 
-import model.Dice;
 import model.Player;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Représente un tour de jeu pour un joueur.
  * Gère l'état du tour et les actions possibles.
+ * Les dés sont des mains compactes ({@link DiceHand}) : lancer, évaluer et sélectionner
+ * ne créent aucun objet Dice ni aucune liste.
  */
 public class Turn {
 
     private final Player player;
     private final ScoreCalculator scoreCalculator;
-    private List<Dice> diceOnPlate = new ArrayList<>();
-    private List<Dice> keptDiceThisTurn = new ArrayList<>();
+    private final DiceSource diceSource;
+    private int diceOnPlate = DiceHand.EMPTY;
+    private int keptDiceThisTurn = DiceHand.EMPTY;
     private int temporaryScore = 0;
     private final int initialDiceCount = 6;
     private boolean farkleTriggered = false;
     private boolean hotDiceChoicePending = false;
+    /** Journal console des lancers (désactivé par les simulations). */
+    private final boolean verbose;
 
     // Gestionnaires d'état des actions
     private boolean canRollAction = true;
     private boolean canSelectAction = false;
     private boolean canBankAction = false;
 
-    public Turn(Player player, ScoreCalculator scoreCalculator) {
-        this.player = player;
-        this.scoreCalculator = scoreCalculator;
-        resetForNewTurn();
+    /**
+     * @param diceSource Source de dés de la table (partagée par tous les tours d'une même partie).
+     */
+    public Turn(Player player, ScoreCalculator scoreCalculator, DiceSource diceSource) {
+        this(player, scoreCalculator, diceSource, true);
     }
 
     /**
-     * Prépare des dés "vides" (non lancés) pour le plateau
-     * IMPORTANT: Au début d'un tour, on NE prépare PAS les dés
-     * On les crée seulement au moment du premier lancer
+     * @param verbose false pour ne rien écrire sur la console (simulations de millions de tours).
      */
-    private void prepareNewSetOfDice(int count) {
-        diceOnPlate.clear();
-        for (int i = 0; i < count; i++) {
-            diceOnPlate.add(new Dice());
-        }
+    public Turn(Player player, ScoreCalculator scoreCalculator, DiceSource diceSource, boolean verbose) {
+        this.player = player;
+        this.scoreCalculator = scoreCalculator;
+        this.diceSource = diceSource;
+        this.verbose = verbose;
+        resetForNewTurn();
     }
 
     /**
      * Réinitialise pour une nouvelle séquence après Hot Dice
+     * (le plateau reste vide : le prochain lancer reprend 6 dés).
      */
     private void resetForNewSequenceAfterHotDiceRelance() {
-        keptDiceThisTurn.clear();
-        prepareNewSetOfDice(initialDiceCount);
+        keptDiceThisTurn = DiceHand.EMPTY;
+        diceOnPlate = DiceHand.EMPTY;
         farkleTriggered = false;
         hotDiceChoicePending = false;
         canRollAction = true;
@@ -66,22 +70,21 @@ public class Turn {
             return events;
         }
 
-        // Si le plateau est vide (premier lancer ou après Hot Dice), on prépare 6 dés
-        if (diceOnPlate.isEmpty()) {
-            prepareNewSetOfDice(initialDiceCount);
+        // Si le plateau est vide (premier lancer ou après Hot Dice), on lance 6 dés
+        int diceToRoll = DiceHand.size(diceOnPlate);
+        if (diceToRoll == 0) {
+            diceToRoll = initialDiceCount;
             events.add("Lancement de 6 dés !");
         }
 
-        // Lance chaque dé
-        diceOnPlate.forEach(Dice::roll);
-        System.out.println("[TURN] Dés lancés: " + diceOnPlate.stream()
-                .map(d -> String.valueOf(d.getValue()))
-                .collect(Collectors.joining(", ")));
+        // Lance les dés
+        diceOnPlate = DiceHand.roll(diceToRoll, diceSource);
+        if (verbose) System.out.println("[TURN] Dés lancés: " + DiceHand.toString(diceOnPlate));
 
         // Vérifie les combinaisons scorantes
-        List<Dice> allScoringInRoll = scoreCalculator.findScoringDice(diceOnPlate);
+        int allScoringInRoll = scoreCalculator.findScoringDice(diceOnPlate);
 
-        if (allScoringInRoll.isEmpty()) {
+        if (DiceHand.isEmpty(allScoringInRoll)) {
             // FARKLE!
             farkleTriggered = true;
             this.temporaryScore = 0;
@@ -96,7 +99,7 @@ public class Turn {
             canBankAction = true;
 
             // Vérification Hot Dice (tous les dés sont scorants)
-            if (allScoringInRoll.size() == diceOnPlate.size()) {
+            if (scoreCalculator.isHotDice(diceOnPlate)) {
                 int gained = scoreCalculator.calculatePoints(diceOnPlate);
                 temporaryScore += gained;
 
@@ -106,8 +109,8 @@ public class Turn {
                         : "HOT DICE! " + comboName + " (" + gained + " points)");
                 events.add(gained + " points ajoutés automatiquement.");
 
-                keptDiceThisTurn.addAll(diceOnPlate);
-                diceOnPlate.clear();
+                keptDiceThisTurn = DiceHand.plus(keptDiceThisTurn, diceOnPlate);
+                diceOnPlate = DiceHand.EMPTY;
 
                 hotDiceChoicePending = true;
                 canSelectAction = false;
@@ -116,13 +119,11 @@ public class Turn {
         return events;
     }
 
-    private String getSpecialComboName(List<Dice> diceList) {
-        if (scoreCalculator.isHotDiceSpecialCombo(diceList)) {
-            Map<Integer, Long> counts = diceList.stream()
-                    .collect(Collectors.groupingBy(Dice::getValue, Collectors.counting()));
-            if (diceList.size() == 6 && counts.size() == 6) return "Suite complète (1-6)";
-            if (diceList.size() == 6 && counts.values().stream().filter(c -> c == 2).count() == 3) return "Trois paires";
-            if (counts.values().stream().anyMatch(c -> c == 6)) return "Six identiques";
+    private String getSpecialComboName(int hand) {
+        if (scoreCalculator.isHotDiceSpecialCombo(hand)) {
+            if (hand == DiceHand.STRAIGHT) return "Suite complète (1-6)";
+            if (DiceHand.facesWithCount(hand, 2) == 3) return "Trois paires";
+            if (DiceHand.facesWithCount(hand, 6) == 1) return "Six identiques";
         }
         return "Combinaison simple";
     }
@@ -137,16 +138,32 @@ public class Turn {
             return events;
         }
 
-        List<Dice> playerSelectedDice = parseSelectedDice(inputValues, diceOnPlate);
+        int playerSelectedDice = parseSelectedDice(inputValues, diceOnPlate);
 
-        if (playerSelectedDice == null || playerSelectedDice.isEmpty()) {
+        if (playerSelectedDice <= DiceHand.EMPTY) {
             events.add("Sélection invalide - aucun dé valide sélectionné.");
             return events;
         }
+        return selectDice(playerSelectedDice, events);
+    }
+
+    /**
+     * Sélectionne des dés après un lancer, sans passer par une saisie texte (joueurs automatiques).
+     * @param playerSelectedDice Main à garder, prise parmi les dés du plateau.
+     */
+    public List<String> selectDice(int playerSelectedDice) {
+        List<String> events = new ArrayList<>();
+        if (!canSelectAction) {
+            events.add("Impossible de sélectionner des dés maintenant.");
+            return events;
+        }
+        return selectDice(playerSelectedDice, events);
+    }
+
+    private List<String> selectDice(int playerSelectedDice, List<String> events) {
 
-        // Validation : vérifier que tous les dés sélectionnés rapportent des points
-        List<Dice> scoringDiceInSelection = scoreCalculator.findScoringDice(playerSelectedDice);
-        if (scoringDiceInSelection.size() != playerSelectedDice.size()) {
+        // Validation : la sélection doit faire partie des façons légales de garder (dés tous scorants)
+        if (!scoreCalculator.isValidSelection(playerSelectedDice, diceOnPlate)) {
             events.add("Sélection invalide - vous ne pouvez garder que des dés qui rapportent des points.");
             return events;
         }
@@ -154,22 +171,17 @@ public class Turn {
         // Mise à jour du score et de l'état
         int gained = scoreCalculator.calculatePoints(playerSelectedDice);
         temporaryScore += gained;
-        keptDiceThisTurn.addAll(playerSelectedDice);
+        keptDiceThisTurn = DiceHand.plus(keptDiceThisTurn, playerSelectedDice);
 
         // Retirer les dés sélectionnés du plateau
-        for (Dice selectedDie : playerSelectedDice) {
-            diceOnPlate.remove(selectedDie);
-        }
+        diceOnPlate = DiceHand.minus(diceOnPlate, playerSelectedDice);
 
-        String diceStr = playerSelectedDice.stream()
-                .map(d -> "[" + d.getValue() + "]")
-                .collect(Collectors.joining(" "));
-        events.add("Dés gardés: " + diceStr + " (+" + gained + " points)");
+        events.add("Dés gardés: " + DiceHand.toString(playerSelectedDice) + " (+" + gained + " points)");
 
         canSelectAction = false;
         canBankAction = true;
 
-        if (diceOnPlate.isEmpty()) {
+        if (DiceHand.isEmpty(diceOnPlate)) {
             hotDiceChoicePending = true;
             canRollAction = false;
         } else {
@@ -203,45 +215,32 @@ public class Turn {
         return events;
     }
 
-    private List<Dice> parseSelectedDice(String input, List<Dice> currentDiceOnPlate) {
-        try {
-            List<Integer> valuesToSelect = input.matches("\\d+")
-                    ? input.chars().map(c -> c - '0').boxed().collect(Collectors.toList())
-                    : Arrays.stream(input.trim().split("\\s+"))
-                    .map(Integer::parseInt)
-                    .collect(Collectors.toList());
-
-            List<Dice> actuallySelectedDice = new ArrayList<>();
-            List<Dice> availablePlateDiceCopy = new ArrayList<>(currentDiceOnPlate);
-
-            for (int val : valuesToSelect) {
-                Dice foundDieObject = null;
-                for (Dice d : availablePlateDiceCopy) {
-                    if (d.getValue() == val) {
-                        foundDieObject = d;
-                        break;
-                    }
-                }
-                if (foundDieObject != null) {
-                    actuallySelectedDice.add(foundDieObject);
-                    availablePlateDiceCopy.remove(foundDieObject);
-                } else {
-                    return null;
-                }
-            }
+    /**
+     * Lit la sélection du joueur et vérifie qu'elle est disponible sur le plateau.
+     * @return La main sélectionnée, ou -1 si la saisie est invalide ou absente du plateau.
+     */
+    private int parseSelectedDice(String input, int currentDiceOnPlate) {
+        int selected = DiceHand.parse(input);
+        if (selected < 0 || !DiceHand.contains(currentDiceOnPlate, selected)) return -1;
+        return selected;
+    }
 
-            if (actuallySelectedDice.isEmpty() && !valuesToSelect.isEmpty()) return null;
-            return actuallySelectedDice;
-        } catch (Exception e) {
-            return null;
-        }
+    /**
+     * Points qu'une mise en banque maintenant rapporterait : le score du tour
+     * plus les dés scorants encore sur le plateau (ajoutés automatiquement).
+     */
+    public int getBankablePoints() {
+        if (DiceHand.isEmpty(diceOnPlate)) return temporaryScore;
+        return temporaryScore + scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(diceOnPlate));
     }
 
     // --- GETTERS ---
     public Player getPlayer() { return player; }
     public int getTemporaryScore() { return temporaryScore; }
-    public List<Dice> getDiceOnPlate() { return Collections.unmodifiableList(diceOnPlate); }
-    public List<Dice> getKeptDiceThisTurn() { return Collections.unmodifiableList(keptDiceThisTurn); }
+    /** Dés sur le plateau (main compacte, voir DiceHand). */
+    public int getDiceOnPlate() { return diceOnPlate; }
+    /** Dés mis de côté pendant ce tour (main compacte, voir DiceHand). */
+    public int getKeptDiceThisTurn() { return keptDiceThisTurn; }
     public boolean isFarkle() { return farkleTriggered; }
     public boolean isHotDiceChoicePending() { return hotDiceChoicePending; }
 
@@ -270,14 +269,14 @@ public class Turn {
      */
     public void resetForNewTurn() {
         temporaryScore = 0;
-        keptDiceThisTurn.clear();
-        diceOnPlate.clear(); // Plateau VIDE au début
+        keptDiceThisTurn = DiceHand.EMPTY;
+        diceOnPlate = DiceHand.EMPTY; // Plateau VIDE au début
         farkleTriggered = false;
         hotDiceChoicePending = false;
         // Au début d'un tour, seul le lancer est possible
         canRollAction = true;
         canSelectAction = false;
         canBankAction = false;
-        System.out.println("[TURN] Nouveau tour initialisé pour " + player.getName());
+        if (verbose) System.out.println("[TURN] Nouveau tour initialisé pour " + player.getName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Temps limite des tours, commun à toutes les tables.
+ *
+ * Chaque tour arme une minuterie sur la {@link TimingWheel} partagée du registre (aucun thread par
+ * table). Si le joueur n'a pas fini son tour à l'échéance, sa table met ses points en banque à sa place
+ * s'il en a, sinon il perd son tour ; la main passe au joueur suivant (voir GameManager).
+ * La minuterie est annulée dès que le tour se termine normalement.
+ */
+public final class TurnClock {
+
+    private final TimingWheel timers;
+    private final long timeoutMillis;
+
+    private final LongAdder turnsTimed = new LongAdder();
+    private final LongAdder autoBanked = new LongAdder();
+    private final LongAdder forfeited = new LongAdder();
+
+    /**
+     * @param timers Roue partagée par toutes les tables.
+     * @param timeoutMillis Durée maximale d'un tour (0 = pas de limite).
+     */
+    public TurnClock(TimingWheel timers, long timeoutMillis) {
+        this.timers = timers;
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+    }
+
+    /** Durée maximale d'un tour en millisecondes (0 = pas de limite). */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Arme la minuterie d'un tour qui commence.
+     * @param onTimeout Exécutée sur le thread de la roue à l'échéance (doit seulement déposer un message).
+     * @return La minuterie, ou null si les tours ne sont pas limités.
+     */
+    TimingWheel.Timeout start(Runnable onTimeout) {
+        if (timeoutMillis == 0) return null;
+        turnsTimed.increment();
+        return timers.schedule(onTimeout, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void recordAutoBank() {
+        autoBanked.increment();
+    }
+
+    void recordForfeit() {
+        forfeited.increment();
+    }
+
+    /**
+     * Métriques pour l'API : tours chronométrés et tours terminés par le serveur.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("turnTimeoutMs", timeoutMillis);
+        map.put("turnsTimed", turnsTimed.sum());
+        map.put("autoBanked", autoBanked.sum());
+        map.put("forfeited", forfeited.sum());
+        return map;
+    }
+}
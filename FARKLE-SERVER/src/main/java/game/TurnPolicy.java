@@ -0,0 +1,254 @@
+package game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Stratégie optimale d'un tour isolé : maximise l'espérance des points mis en banque
+ * à la fin du tour, avec les règles de {@link ScoreCalculator} et de {@link Turn}.
+ *
+ * La table contient, pour chaque état (points du tour, nombre de dés à lancer), l'espérance
+ * de la suite du tour si l'on LANCE maintenant puis que l'on joue au mieux. Toutes les
+ * décisions (quels dés garder, relancer ou sécuriser) s'en déduisent en quelques lectures.
+ *
+ * Chaque option garde au moins 50 points : les états ne font que monter en points,
+ * le graphe est sans cycle et une seule passe, des points hauts vers les points bas,
+ * donne la valeur exacte (pas besoin d'itérer jusqu'à convergence).
+ *
+ * La table (~10 Ko) est livrée dans les ressources ({@value #RESOURCE}) et lue au démarrage ;
+ * si elle manque ou ne correspond plus aux règles de score, elle est recalculée (quelques ms).
+ * Pour la régénérer : {@code java game.TurnPolicy src/main/resources/game/turn-policy.bin}.
+ */
+public final class TurnPolicy {
+
+    /** Tous les scores du jeu sont des multiples de 50. */
+    static final int POINT_STEP = 50;
+    /** Au-delà, lancer une dernière fois puis sécuriser est considéré comme optimal. */
+    static final int MAX_TURN_POINTS = 20000;
+    static final int LEVELS = MAX_TURN_POINTS / POINT_STEP + 1;
+
+    static final String RESOURCE = "turn-policy.bin";
+    private static final int MAGIC = 0x464B504C; // "FKPL"
+    private static final int FORMAT_VERSION = 1;
+
+    private final ScoreCalculator scoreCalculator;
+    /** Espérance si l'on lance : [niveau de points * 7 + nombre de dés]. */
+    private final float[] rollValue;
+    /** Au-delà de la table ("un lancer puis banque") : probabilité de ne pas faire Farkle, par nombre de dés. */
+    private final double[] tailNoFarkle;
+    /** ... et espérance des points des dés scorants de ce lancer. */
+    private final double[] tailMeanPoints;
+
+    private TurnPolicy(ScoreCalculator scoreCalculator, float[] rollValue, double[] tailNoFarkle, double[] tailMeanPoints) {
+        this.scoreCalculator = scoreCalculator;
+        this.rollValue = rollValue;
+        this.tailNoFarkle = tailNoFarkle;
+        this.tailMeanPoints = tailMeanPoints;
+    }
+
+    // --- CONSTRUCTION ---
+
+    /**
+     * Lit la table livrée dans les ressources, ou la recalcule si elle est absente ou périmée.
+     */
+    public static TurnPolicy loadOrSolve(ScoreCalculator scoreCalculator) {
+        long start = System.nanoTime();
+        try (InputStream in = TurnPolicy.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                TurnPolicy policy = read(scoreCalculator, in);
+                if (policy != null) {
+                    System.out.println("TurnPolicy chargée en " + (System.nanoTime() - start) / 1000 + " µs.");
+                    return policy;
+                }
+                System.out.println("TurnPolicy: table livrée périmée (règles modifiées), recalcul.");
+            }
+        } catch (IOException e) {
+            System.out.println("TurnPolicy: lecture impossible (" + e.getMessage() + "), recalcul.");
+        }
+        TurnPolicy policy = solve(scoreCalculator);
+        System.out.println("TurnPolicy calculée en " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        return policy;
+    }
+
+    /**
+     * Calcule la table par une passe arrière sur les points du tour.
+     */
+    public static TurnPolicy solve(ScoreCalculator scoreCalculator) {
+        double[] noFarkle = new double[7];
+        double[] meanPoints = new double[7];
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            noFarkle[n] = 1.0 - FarkleRisk.farkleProbability(n);
+            meanPoints[n] = FarkleRisk.expectedGain(n);
+        }
+        float[] values = new float[LEVELS * 7];
+        TurnPolicy policy = new TurnPolicy(scoreCalculator, values, noFarkle, meanPoints);
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int turnPoints = level * POINT_STEP;
+            for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+                double expected = 0;
+                for (int i = 0; i < RollOutcomes.count(n); i++) {
+                    int roll = RollOutcomes.hand(n, i);
+                    int scoringPoints = scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(roll));
+                    expected += RollOutcomes.weight(n, i) * policy.bestAfterRoll(turnPoints, roll, scoringPoints);
+                }
+                values[level * 7 + n] = (float) (expected / RollOutcomes.totalWeight(n));
+            }
+        }
+        return policy;
+    }
+
+    // --- LECTURE DE LA TABLE ---
+
+    /**
+     * Espérance de la suite du tour si l'on lance {@code dice} dés avec {@code turnPoints} en jeu.
+     */
+    public double rollValue(int turnPoints, int dice) {
+        int level = turnPoints / POINT_STEP;
+        if (level < LEVELS) {
+            return rollValue[level * 7 + dice];
+        }
+        return tailNoFarkle[dice] * turnPoints + tailMeanPoints[dice];
+    }
+
+    /**
+     * Vaut-il mieux relancer que sécuriser ? (après une sélection ou un Hot Dice)
+     * @param turnPoints Points du tour déjà acquis.
+     * @param plate Dés restant sur le plateau (vide = Hot Dice : relance de 6 dés).
+     */
+    public boolean shouldRoll(int turnPoints, int plate) {
+        int dice = DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate);
+        return rollValue(turnPoints, dice) > bankValue(turnPoints, plate);
+    }
+
+    /**
+     * Meilleure décision juste après un lancer (sans Hot Dice) : les dés à garder avant de relancer,
+     * ou {@link DiceHand#EMPTY} s'il vaut mieux sécuriser tout de suite.
+     */
+    public int bestKeep(int turnPoints, int roll) {
+        double best = bankValue(turnPoints, roll);
+        int bestKeep = DiceHand.EMPTY;
+        for (KeepOption option : scoreCalculator.legalKeeps(roll)) {
+            double value = continueValue(turnPoints + option.getPoints(), option.getRemainingDice());
+            if (value > best) {
+                best = value;
+                bestKeep = option.getKeep();
+            }
+        }
+        return bestKeep;
+    }
+
+    /** Sécuriser : les dés scorants restés sur le plateau sont comptés (voir GameManager.bank()). */
+    private double bankValue(int turnPoints, int plate) {
+        if (DiceHand.isEmpty(plate)) return turnPoints;
+        return turnPoints + scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(plate));
+    }
+
+    /** Valeur d'un état où l'on peut relancer {@code dice} dés (0 = Hot Dice, avec choix de sécuriser). */
+    private double continueValue(int turnPoints, int dice) {
+        if (dice == 0) {
+            return Math.max(turnPoints, rollValue(turnPoints, DiceHand.MAX_DICE));
+        }
+        return rollValue(turnPoints, dice);
+    }
+
+    /** Valeur du meilleur choix après le lancer {@code roll}. */
+    private double bestAfterRoll(int turnPoints, int roll, int scoringPoints) {
+        if (scoringPoints == 0) {
+            return 0; // Farkle : tout est perdu
+        }
+        if (scoreCalculator.isHotDice(roll)) {
+            // Tous les dés sont gardés automatiquement, puis choix relancer 6 / sécuriser.
+            return continueValue(turnPoints + scoringPoints, 0);
+        }
+        double best = turnPoints + scoringPoints;
+        List<KeepOption> keeps = scoreCalculator.legalKeeps(roll);
+        for (int i = 0; i < keeps.size(); i++) {
+            KeepOption option = keeps.get(i);
+            best = Math.max(best, rollValue(turnPoints + option.getPoints(), option.getRemainingDice()));
+        }
+        return best;
+    }
+
+    // --- FORMAT BINAIRE ---
+
+    /**
+     * Écrit la table : en-tête (magic, version, empreinte des règles, dimensions) puis les valeurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(rulesFingerprint(scoreCalculator));
+        data.writeInt(LEVELS);
+        data.writeInt(POINT_STEP);
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            data.writeDouble(tailNoFarkle[n]);
+            data.writeDouble(tailMeanPoints[n]);
+        }
+        for (float value : rollValue) {
+            data.writeFloat(value);
+        }
+        data.flush();
+    }
+
+    /**
+     * Lit une table écrite par {@link #write(OutputStream)}.
+     * @return La table, ou null si elle a été calculée pour d'autres règles ou dimensions.
+     */
+    static TurnPolicy read(ScoreCalculator scoreCalculator, InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION
+                || data.readLong() != rulesFingerprint(scoreCalculator)
+                || data.readInt() != LEVELS || data.readInt() != POINT_STEP) {
+            return null;
+        }
+        double[] noFarkle = new double[7];
+        double[] meanPoints = new double[7];
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            noFarkle[n] = data.readDouble();
+            meanPoints[n] = data.readDouble();
+        }
+        float[] values = new float[LEVELS * 7];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.readFloat();
+        }
+        return new TurnPolicy(scoreCalculator, values, noFarkle, meanPoints);
+    }
+
+    /** Empreinte des règles de score : change dès qu'un score ou un dé scorant change. */
+    static long rulesFingerprint(ScoreCalculator scoreCalculator) {
+        long hash = 1125899906842597L;
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            for (int i = 0; i < RollOutcomes.count(n); i++) {
+                int hand = RollOutcomes.hand(n, i);
+                hash = 31 * hash + hand;
+                hash = 31 * hash + scoreCalculator.calculatePoints(hand);
+                hash = 31 * hash + scoreCalculator.findScoringDice(hand);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Régénère la table livrée dans les ressources.
+     * @param args Chemin du fichier à écrire.
+     */
+    public static void main(String[] args) throws IOException {
+        String path = args.length > 0 ? args[0] : RESOURCE;
+        long start = System.nanoTime();
+        TurnPolicy policy = solve(new ScoreCalculator());
+        System.out.println("Table calculée en " + (System.nanoTime() - start) / 1_000_000 + " ms"
+                + " (espérance d'un tour : " + Math.round(policy.rollValue(0, DiceHand.MAX_DICE)) + " pts).");
+        try (OutputStream out = new FileOutputStream(path)) {
+            policy.write(out);
+        }
+        System.out.println("Écrite dans " + path);
+    }
+}
@@ -0,0 +1,381 @@
+package game;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Probabilité exacte de gagner une partie à deux joueurs, en jeu optimal des deux côtés,
+ * pour chaque état (mon score, score adverse, points du tour, dés à lancer).
+ *
+ * Les scores sont des multiples de 50 inférieurs à {@link GameManager#WINNING_SCORE} :
+ * 200 x 200 paires de scores, et pour chacune au plus 200 niveaux de points x 6 dés,
+ * soit ~24 millions d'états stockés sur 16 bits (~48 Mo). La table est calculée une fois,
+ * écrite dans un fichier puis lue par projection mémoire (mmap) : le système ne charge
+ * que les pages consultées et les démarrages suivants sont instantanés.
+ *
+ * Calcul (programmation dynamique) : P(i, j) ne dépend que de P(j, i) (Farkle : la main passe)
+ * et de paires de somme i + j plus grande (banque). Les paires sont donc traitées par
+ * somme décroissante ; à somme égale, chaque couple {(i, j), (j, i)} est indépendant des autres
+ * et résolu en parallèle (fork/join), par itérations alternées jusqu'à convergence.
+ */
+public final class WinProbability {
+
+    /** Unité de score : tous les points du jeu sont des multiples de 50. */
+    static final int UNIT = TurnPolicy.POINT_STEP;
+    /** Score gagnant, en unités. */
+    static final int GOAL = GameManager.WINNING_SCORE / UNIT;
+
+    private static final int MAGIC = 0x464B5750; // "FKWP"
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    /** Probabilités stockées sur 16 bits (précision ~1.5e-5). */
+    private static final double SCALE = 65535.0;
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_ITERATIONS = 200;
+
+    /** Début des états de la paire (i, j) dans la table, en nombre d'entrées. */
+    private static final long[] OFFSETS = new long[GOAL * GOAL + 1];
+
+    static {
+        long offset = 0;
+        for (int i = 0; i < GOAL; i++) {
+            for (int j = 0; j < GOAL; j++) {
+                OFFSETS[i * GOAL + j] = offset;
+                offset += (long) (GOAL - i) * DiceHand.MAX_DICE;
+            }
+        }
+        OFFSETS[GOAL * GOAL] = offset;
+    }
+
+    private final ScoreCalculator scoreCalculator;
+    private final CharBuffer table;
+
+    private WinProbability(ScoreCalculator scoreCalculator, CharBuffer table) {
+        this.scoreCalculator = scoreCalculator;
+        this.table = table;
+    }
+
+    // --- CONSTRUCTION ---
+
+    /**
+     * Projette en mémoire la table du fichier {@code file} ; la calcule et l'écrit d'abord
+     * si le fichier manque ou a été produit pour d'autres règles.
+     */
+    public static WinProbability loadOrBuild(ScoreCalculator scoreCalculator, File file) throws IOException {
+        long fingerprint = TurnPolicy.rulesFingerprint(scoreCalculator);
+        long start = System.nanoTime();
+        WinProbability loaded = map(scoreCalculator, file, fingerprint);
+        if (loaded != null) {
+            System.out.println("WinProbability projetée depuis " + file + " en " + (System.nanoTime() - start) / 1000 + " µs.");
+            return loaded;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        // Pool dédié : le calcul occupe tous les cœurs plusieurs secondes, le commonPool reste aux autres.
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("Farkle-WinProbability-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        try {
+            build(scoreCalculator, tmp, fingerprint, pool);
+        } finally {
+            pool.shutdown();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("WinProbability calculée en " + (System.nanoTime() - start) / 1_000_000 + " ms (" + file + ").");
+        return map(scoreCalculator, file, fingerprint);
+    }
+
+    /** @return La table projetée, ou null si le fichier est absent, tronqué ou périmé. */
+    private static WinProbability map(ScoreCalculator scoreCalculator, File file, long fingerprint) throws IOException {
+        long expectedSize = HEADER_BYTES + OFFSETS[GOAL * GOAL] * 2;
+        if (!file.isFile() || file.length() != expectedSize) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION
+                    || mapped.getLong(8) != fingerprint || mapped.getInt(16) != GOAL || mapped.getInt(20) != UNIT) {
+                return null;
+            }
+            // Appel via Buffer : MappedByteBuffer.position(int) n'existe qu'à partir de Java 9
+            ((Buffer) mapped).position(HEADER_BYTES);
+            return new WinProbability(scoreCalculator, mapped.slice().asCharBuffer());
+        }
+    }
+
+    /**
+     * Calcule toute la table directement dans le fichier projeté (aucune copie en tas).
+     */
+    static void build(ScoreCalculator scoreCalculator, File file, long fingerprint, ForkJoinPool pool) throws IOException {
+        long size = HEADER_BYTES + OFFSETS[GOAL * GOAL] * 2;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(size);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            ((Buffer) mapped).position(HEADER_BYTES);
+            CharBuffer out = mapped.slice().asCharBuffer();
+
+            Builder builder = new Builder(scoreCalculator, out);
+            for (int sum = 2 * (GOAL - 1); sum >= 0; sum--) {
+                int lo = Math.max(0, sum - (GOAL - 1));
+                int hi = sum / 2; // couples (i, sum - i) avec i <= sum - i
+                pool.invoke(new SumLevelTask(builder, sum, lo, hi));
+            }
+
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, FORMAT_VERSION);
+            mapped.putLong(8, fingerprint);
+            mapped.putInt(16, GOAL);
+            mapped.putInt(20, UNIT);
+            mapped.force();
+        }
+    }
+
+    /** Découpe les couples d'une même somme de scores entre les threads du pool. */
+    private static final class SumLevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 4;
+        private final Builder builder;
+        private final int sum;
+        private final int lo;
+        private final int hi;
+
+        SumLevelTask(Builder builder, int sum, int lo, int hi) {
+            this.builder = builder;
+            this.sum = sum;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo < THRESHOLD) {
+                double[] scratch = new double[GOAL * 7];
+                for (int i = lo; i <= hi; i++) {
+                    builder.solveCouple(i, sum - i, scratch);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SumLevelTask(builder, sum, lo, mid), new SumLevelTask(builder, sum, mid + 1, hi));
+        }
+    }
+
+    /**
+     * Résolution d'un tour pour une paire de scores, connaissant les probabilités
+     * des paires de somme supérieure (en double précision pendant le calcul).
+     */
+    private static final class Builder {
+        private final CharBuffer out;
+        /** P(i, j) au début du tour du joueur i ; écrit une fois le couple convergé. */
+        private final double[] start = new double[GOAL * GOAL];
+        private final RollClasses[] rolls = new RollClasses[DiceHand.MAX_DICE + 1];
+
+        Builder(ScoreCalculator scoreCalculator, CharBuffer out) {
+            this.out = out;
+            for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+                rolls[n] = new RollClasses(n, scoreCalculator);
+            }
+        }
+
+        void solveCouple(int i, int j, double[] scratch) {
+            double pij = 0.5;
+            double pji = 0.5;
+            for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+                double nextIj = solveTurn(i, j, 1 - pji, scratch);
+                double nextJi = i == j ? nextIj : solveTurn(j, i, 1 - nextIj, scratch);
+                boolean converged = Math.abs(nextIj - pij) < EPSILON && Math.abs(nextJi - pji) < EPSILON;
+                pij = nextIj;
+                pji = nextJi;
+                if (converged) break;
+            }
+            start[i * GOAL + j] = solveTurn(i, j, 1 - pji, scratch);
+            store(i, j, scratch);
+            if (i != j) {
+                start[j * GOAL + i] = solveTurn(j, i, 1 - pij, scratch);
+                store(j, i, scratch);
+            }
+        }
+
+        private void store(int i, int j, double[] w) {
+            CharBuffer target = out.duplicate();
+            int base = (int) OFFSETS[i * GOAL + j];
+            int levels = GOAL - i;
+            for (int t = 0; t < levels; t++) {
+                for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+                    target.put(base + t * DiceHand.MAX_DICE + n - 1, (char) Math.round(w[t * 7 + n] * SCALE));
+                }
+            }
+        }
+
+        /** Sécuriser {@code u} unités de tour avec le score i face à j : la main passe à l'adversaire. */
+        private double bank(int i, int j, int u) {
+            return i + u >= GOAL ? 1.0 : 1.0 - start[j * GOAL + i + u];
+        }
+
+        /**
+         * Remplit w[t * 7 + n] (probabilité de gagner si l'on lance n dés avec t unités en jeu)
+         * pour tous les niveaux de points, du plus haut au plus bas.
+         * @param farkle Probabilité de gagner après un Farkle (l'adversaire joue avec le score actuel).
+         * @return P(i, j) : le début de tour (6 dés, 0 point).
+         */
+        private double solveTurn(int i, int j, double farkle, double[] w) {
+            int levels = GOAL - i;
+            for (int t = levels - 1; t >= 0; t--) {
+                for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+                    RollClasses r = rolls[n];
+                    double expected = r.farkleProbability * farkle;
+                    for (int c = 0; c < r.probabilities.length; c++) {
+                        double best;
+                        int bankAt = t + r.bankUnits[c];
+                        if (r.hotDice[c]) {
+                            best = bankAt >= levels ? 1.0 : Math.max(bank(i, j, bankAt), w[bankAt * 7 + DiceHand.MAX_DICE]);
+                        } else {
+                            best = bank(i, j, bankAt);
+                            for (int k = r.optionStart[c]; k < r.optionStart[c + 1]; k++) {
+                                int u = t + r.optionUnits[k];
+                                best = Math.max(best, u >= levels ? 1.0 : w[u * 7 + r.optionDice[k]]);
+                            }
+                        }
+                        expected += r.probabilities[c] * best;
+                    }
+                    w[t * 7 + n] = expected;
+                }
+            }
+            return w[DiceHand.MAX_DICE];
+        }
+    }
+
+    /**
+     * Résultats d'un lancer de n dés regroupés par "situation de choix" identique
+     * (Hot Dice, points de banque, options utiles) : les lancers qui offrent exactement
+     * les mêmes choix ne sont évalués qu'une fois.
+     * Pour chaque nombre de dés restants, seule l'option qui garde le plus de points est conservée.
+     */
+    private static final class RollClasses {
+        final double farkleProbability;
+        final double[] probabilities;
+        final boolean[] hotDice;
+        final int[] bankUnits;
+        final int[] optionStart;
+        final int[] optionUnits;
+        final int[] optionDice;
+
+        RollClasses(int n, ScoreCalculator scoreCalculator) {
+            Map<String, double[]> weights = new LinkedHashMap<>();
+            Map<String, int[]> choices = new LinkedHashMap<>();
+            double farkle = 0;
+            for (int o = 0; o < RollOutcomes.count(n); o++) {
+                int roll = RollOutcomes.hand(n, o);
+                int scoringPoints = scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(roll));
+                if (scoringPoints == 0) {
+                    farkle += RollOutcomes.probability(n, o);
+                    continue;
+                }
+                boolean hot = scoreCalculator.isHotDice(roll);
+                int[] bestByRemaining = new int[DiceHand.MAX_DICE];
+                if (!hot) {
+                    for (KeepOption option : scoreCalculator.legalKeeps(roll)) {
+                        int rem = option.getRemainingDice();
+                        bestByRemaining[rem] = Math.max(bestByRemaining[rem], option.getPoints() / UNIT);
+                    }
+                }
+                int[] choice = new int[2 + DiceHand.MAX_DICE];
+                choice[0] = hot ? 1 : 0;
+                choice[1] = scoringPoints / UNIT;
+                System.arraycopy(bestByRemaining, 0, choice, 2, DiceHand.MAX_DICE);
+                String key = Arrays.toString(choice);
+                weights.computeIfAbsent(key, k -> new double[1])[0] += RollOutcomes.probability(n, o);
+                choices.putIfAbsent(key, choice);
+            }
+            farkleProbability = farkle;
+            int classes = choices.size();
+            probabilities = new double[classes];
+            hotDice = new boolean[classes];
+            bankUnits = new int[classes];
+            optionStart = new int[classes + 1];
+            List<int[]> options = new ArrayList<>();
+            int c = 0;
+            for (Map.Entry<String, int[]> entry : choices.entrySet()) {
+                int[] choice = entry.getValue();
+                probabilities[c] = weights.get(entry.getKey())[0];
+                hotDice[c] = choice[0] == 1;
+                bankUnits[c] = choice[1];
+                optionStart[c] = options.size();
+                for (int rem = 1; rem < DiceHand.MAX_DICE; rem++) {
+                    if (choice[2 + rem] > 0) options.add(new int[]{choice[2 + rem], rem});
+                }
+                c++;
+            }
+            optionStart[classes] = options.size();
+            optionUnits = new int[options.size()];
+            optionDice = new int[options.size()];
+            for (int k = 0; k < options.size(); k++) {
+                optionUnits[k] = options.get(k)[0];
+                optionDice[k] = options.get(k)[1];
+            }
+        }
+    }
+
+    // --- LECTURE ---
+
+    /** Probabilité de gagner en commençant son tour avec {@code myScore} face à {@code opponentScore}. */
+    public double atTurnStart(int myScore, int opponentScore) {
+        return beforeRoll(myScore, opponentScore, 0, DiceHand.MAX_DICE);
+    }
+
+    /** Probabilité de gagner si l'on lance maintenant {@code dice} dés avec {@code turnPoints} en jeu. */
+    public double beforeRoll(int myScore, int opponentScore, int turnPoints, int dice) {
+        int i = myScore / UNIT;
+        int j = opponentScore / UNIT;
+        int t = turnPoints / UNIT;
+        if (i >= GOAL || i + t >= GOAL) return 1.0;
+        if (j >= GOAL) return 0.0;
+        long index = OFFSETS[i * GOAL + j] + (long) t * DiceHand.MAX_DICE + dice - 1;
+        return table.get((int) index) / SCALE;
+    }
+
+    /** Probabilité de gagner si l'on sécurise {@code turnPoints} maintenant. */
+    public double afterBank(int myScore, int opponentScore, int turnPoints) {
+        if (myScore + turnPoints >= GameManager.WINNING_SCORE) return 1.0;
+        return 1.0 - atTurnStart(opponentScore, myScore + turnPoints);
+    }
+
+    /**
+     * Probabilité de gagner au moment de décider, avec le meilleur choix disponible.
+     * @param plate Dés sur le plateau (vide = Hot Dice en attente de choix).
+     * @param canSelect true juste après un lancer (dés à garder), false après une sélection.
+     */
+    public double atDecision(int myScore, int opponentScore, int turnPoints, int plate, boolean canSelect) {
+        int bankPoints = DiceHand.isEmpty(plate) ? 0 : scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(plate));
+        double best = afterBank(myScore, opponentScore, turnPoints + bankPoints);
+        if (canSelect) {
+            for (KeepOption option : scoreCalculator.legalKeeps(plate)) {
+                int rem = option.getRemainingDice();
+                int points = turnPoints + option.getPoints();
+                double value = rem == 0
+                        ? Math.max(afterBank(myScore, opponentScore, points), beforeRoll(myScore, opponentScore, points, DiceHand.MAX_DICE))
+                        : beforeRoll(myScore, opponentScore, points, rem);
+                best = Math.max(best, value);
+            }
+        } else {
+            int dice = DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate);
+            best = Math.max(best, beforeRoll(myScore, opponentScore, turnPoints, dice));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,141 @@
+package game.bot;
+
+import game.DiceHand;
+import game.GameManager;
+import game.ScoreCalculator;
+import io.swagger.model.RestPlayer;
+import io.swagger.model.TurnStatusDTO;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fait jouer des joueurs automatiques directement sur un {@link GameManager}, sans HTTP.
+ * Chaque coup passe par {@link GameManager#execute}, comme une requête REST :
+ * un bot et des humains peuvent partager une table.
+ * Une décision illégale d'une stratégie est remplacée par un coup sûr (garder tous
+ * les dés scorants, ou relancer) pour qu'un bot ne bloque jamais une partie.
+ */
+public class BotRunner {
+
+    /** Garde-fou : aucune partie réelle n'approche ce nombre d'actions. */
+    private static final int MAX_ACTIONS_PER_MATCH = 1_000_000;
+
+    private final GameManager game;
+    private final ScoreCalculator scoreCalculator;
+    private final Map<Integer, Strategy> bots = new ConcurrentHashMap<>();
+
+    public BotRunner(GameManager game, ScoreCalculator scoreCalculator) {
+        this.game = game;
+        this.scoreCalculator = scoreCalculator;
+    }
+
+    /** Confie le joueur {@code playerId} de la table à une stratégie. */
+    public void seat(int playerId, Strategy strategy) {
+        bots.put(playerId, strategy);
+    }
+
+    /** C'est au tour d'un bot de jouer. */
+    public boolean isBotTurn() {
+        return game.execute(g -> {
+            TurnView view = TurnView.of(g);
+            return view != null && bots.containsKey(view.getPlayerId());
+        });
+    }
+
+    /**
+     * Joue UNE action pour le bot dont c'est le tour.
+     * @return L'état après l'action, ou null si ce n'est pas à un bot de jouer.
+     */
+    public TurnStatusDTO playOneMove() {
+        return game.execute(g -> {
+            TurnView view = TurnView.of(g);
+            Strategy strategy = view != null ? bots.get(view.getPlayerId()) : null;
+            if (strategy == null) return null;
+            return apply(g, view, strategy.decide(view));
+        });
+    }
+
+    /**
+     * Joue une décision calculée hors de l'acteur (réflexion asynchrone).
+     * @param view Point de décision pour lequel la décision a été prise.
+     * @return L'état après l'action, ou null si la table a changé entre-temps (décision périmée).
+     */
+    public TurnStatusDTO play(TurnView view, Decision decision) {
+        return game.execute(g -> {
+            TurnView current = TurnView.of(g);
+            if (!view.equals(current) || !bots.containsKey(view.getPlayerId())) return null;
+            return apply(g, view, decision);
+        });
+    }
+
+    /**
+     * Joue jusqu'à ce que ce soit à un humain (ou que la partie soit finie).
+     * @return Nombre d'actions jouées.
+     */
+    public int playUntilHumanTurn() {
+        int actions = 0;
+        while (playOneMove() != null) {
+            if (++actions > MAX_ACTIONS_PER_MATCH) {
+                throw new IllegalStateException("Table #" + game.getGameId() + " : les bots ne terminent pas la partie");
+            }
+        }
+        return actions;
+    }
+
+    private TurnStatusDTO apply(GameManager g, TurnView view, Decision decision) {
+        switch (view.getPhase()) {
+            case SELECT:
+                if (decision.getKind() == Decision.Kind.BANK) return g.bank();
+                return g.select(DiceHand.toDigits(legalKeep(scoreCalculator, decision, view.getPlate())));
+            case ROLL_OR_BANK:
+            case HOT_DICE:
+                return decision.getKind() == Decision.Kind.BANK ? g.bank() : g.roll();
+            default:
+                return g.roll();
+        }
+    }
+
+    /**
+     * Dés à garder pour une décision prise en phase SELECT : ceux de la décision s'ils sont légaux,
+     * sinon tous les dés scorants du plateau.
+     */
+    static int legalKeep(ScoreCalculator scoreCalculator, Decision decision, int plate) {
+        if (decision.getKind() == Decision.Kind.KEEP && scoreCalculator.isValidSelection(decision.getKeep(), plate)) {
+            return decision.getKeep();
+        }
+        return scoreCalculator.findScoringDice(plate);
+    }
+
+    /**
+     * Fait jouer une partie complète entre deux stratégies sur une table neuve.
+     * @param game Table vide ; {@code first} est inscrit en premier et commence.
+     */
+    public static MatchResult playMatch(GameManager game, ScoreCalculator scoreCalculator, Strategy first, Strategy second) {
+        BotRunner runner = new BotRunner(game, scoreCalculator);
+        RestPlayer p1 = game.execute(g -> g.addPlayer(first.getName()));
+        RestPlayer p2 = game.execute(g -> g.addPlayer(second.getName()));
+        runner.seat(p1.getId(), first);
+        runner.seat(p2.getId(), second);
+
+        MatchResult result = new MatchResult(first.getName(), second.getName());
+        boolean playing = true;
+        while (playing) {
+            playing = game.execute(g -> {
+                TurnView before = TurnView.of(g);
+                if (runner.playOneMove() == null) return false;
+                // Le tour est fini quand la main passe (ou que la partie se termine) ;
+                // s'il finit sans que le score du joueur ait bougé, c'est un Farkle.
+                TurnView after = TurnView.of(g);
+                boolean turnEnded = after == null || after.getPlayerId() != before.getPlayerId();
+                result.record(turnEnded, turnEnded && g.getPlayerScore(before.getPlayerId()) == before.getMyScore());
+                return true;
+            });
+            if (result.getActions() > MAX_ACTIONS_PER_MATCH) {
+                throw new IllegalStateException("Table #" + game.getGameId() + " : la partie ne se termine pas");
+            }
+        }
+        result.finish(game.execute(g -> g.getPlayerScore(p1.getId())), game.execute(g -> g.getPlayerScore(p2.getId())));
+        return result;
+    }
+}
@@ -0,0 +1,213 @@
+package game.bot;
+
+import game.GameManager;
+import game.GameRegistry;
+import game.LatencyHistogram;
+import game.StateListener;
+import game.StateSnapshot;
+import io.swagger.model.RestPlayer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Donne des adversaires automatiques aux joueurs d'une table restée incomplète.
+ *
+ * Quand un joueur attend depuis {@code farkle.bot.seat-timeout-ms} sans que la table se remplisse,
+ * des bots prennent les places libres et la partie commence. Chaque bot est abonné aux changements
+ * d'état de sa table : quand c'est à lui, il réfléchit sur le {@link BotThinkingPool} et joue son
+ * coup après un délai "humain" (autour de {@code farkle.bot.move-delay-ms}).
+ * Rien ne se passe sur le thread de la requête : le minuteur et les coups ont leur propre thread,
+ * et chaque coup est déposé dans la boîte aux lettres de la table comme une requête REST.
+ */
+@Component
+public class BotSeatFiller {
+
+    private final GameRegistry gameRegistry;
+    private final BotThinkingPool thinkingPool;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final long seatTimeoutMillis;
+    private final long moveDelayMillis;
+    private final Difficulty difficulty;
+
+    /** Tables où un joueur attend seul : heure d'arrivée et minuteur du bot. */
+    private final ConcurrentHashMap<Integer, PendingSeat> pendingSeats = new ConcurrentHashMap<>();
+    /** Bots en train de jouer (toutes tables). */
+    private final Set<SeatedBot> seatedBots = ConcurrentHashMap.newKeySet();
+    private final LongAdder seatsFilled = new LongAdder();
+    private final LatencyHistogram lobbyWait = new LatencyHistogram();
+
+    /**
+     * @param seatTimeoutMillis Attente d'un adversaire humain avant qu'un bot s'assoie (0 = jamais).
+     * @param moveDelayMillis Délai moyen entre deux coups du bot.
+     * @param difficulty Niveau des bots (EASY, MEDIUM, HARD).
+     */
+    @Autowired
+    public BotSeatFiller(GameRegistry gameRegistry, BotThinkingPool thinkingPool,
+                         @Value("${farkle.bot.seat-timeout-ms:15000}") long seatTimeoutMillis,
+                         @Value("${farkle.bot.move-delay-ms:900}") long moveDelayMillis,
+                         @Value("${farkle.bot.seat-difficulty:MEDIUM}") String difficulty) {
+        this.gameRegistry = gameRegistry;
+        this.thinkingPool = thinkingPool;
+        this.seatTimeoutMillis = seatTimeoutMillis;
+        this.moveDelayMillis = moveDelayMillis;
+        this.difficulty = Difficulty.valueOf(difficulty.trim().toUpperCase(Locale.ROOT));
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "Farkle-Bot-Scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        System.out.println("BotSeatFiller initialisé (bot " + this.difficulty + " après "
+                + (seatTimeoutMillis > 0 ? seatTimeoutMillis + " ms d'attente" : "jamais") + ").");
+    }
+
+    /**
+     * À appeler après chaque inscription réussie : arme le minuteur au premier joueur,
+     * le désarme si la table vient d'être complétée par des humains.
+     */
+    public void playerJoined(GameManager game) {
+        if (game == null || seatTimeoutMillis <= 0) return;
+        int gameId = game.getGameId();
+        if (game.execute(GameManager::isFull)) {
+            PendingSeat pending = pendingSeats.remove(gameId);
+            if (pending != null) {
+                pending.timer.cancel(false);
+                lobbyWait.recordNanos(System.nanoTime() - pending.since);
+            }
+            return;
+        }
+        pendingSeats.computeIfAbsent(gameId, id -> new PendingSeat(
+                scheduler.schedule(() -> fillSeat(game), seatTimeoutMillis, TimeUnit.MILLISECONDS)));
+    }
+
+    /** Minuteur expiré : les bots s'assoient, sur l'acteur de la table (sans bloquer le minuteur). */
+    private void fillSeat(GameManager game) {
+        game.getActor().tell(() -> {
+            PendingSeat pending = pendingSeats.remove(game.getGameId());
+            if (pending == null || game.isFull() || gameRegistry.get(game.getGameId()) != game) return;
+            BotRunner runner = new BotRunner(game, gameRegistry.getScoreCalculator());
+            String name = "Bot " + difficulty.name().toLowerCase(Locale.ROOT);
+            List<SeatedBot> bots = new ArrayList<>();
+            while (!game.isFull()) {
+                SeatedBot bot = new SeatedBot(game, runner);
+                game.addStateListener(bot);
+                RestPlayer player = game.addPlayer(bots.isEmpty() ? name : name + " " + (bots.size() + 1));
+                runner.seat(player.getId(), thinkingPool.getStrategy(difficulty));
+                bot.playerId = player.getId();
+                seatedBots.add(bot);
+                bots.add(bot);
+            }
+            seatsFilled.add(bots.size());
+            lobbyWait.recordNanos(System.nanoTime() - pending.since);
+            System.out.println("BotSeatFiller: " + bots.size() + " bot(s) assis à la table #" + game.getGameId() + ".");
+            for (SeatedBot bot : bots) {
+                bot.requestMove();
+            }
+        });
+    }
+
+    /** Délai avant un coup : entre 60 % et 140 % du délai moyen, pour ne pas jouer en rythme. */
+    private long nextMoveDelayNanos() {
+        double jitter = 0.6 + 0.8 * ThreadLocalRandom.current().nextDouble();
+        return (long) (TimeUnit.MILLISECONDS.toNanos(moveDelayMillis) * jitter);
+    }
+
+    /**
+     * Métriques pour l'API : bots assis, tables en attente, attente en salon avant le début de partie.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("seatTimeoutMs", seatTimeoutMillis);
+        map.put("difficulty", difficulty.name());
+        map.put("seatsFilled", seatsFilled.sum());
+        map.put("waitingTables", pendingSeats.size());
+        map.put("activeBots", seatedBots.size());
+        map.put("lobbyWaitMs", lobbyWait.toMillisMap());
+        return map;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /** Table où un joueur attend seul. */
+    private static final class PendingSeat {
+        final long since = System.nanoTime();
+        final ScheduledFuture<?> timer;
+
+        PendingSeat(ScheduledFuture<?> timer) {
+            this.timer = timer;
+        }
+    }
+
+    /**
+     * Bot assis à une table. Toutes ses méthodes s'exécutent sur l'acteur de la table :
+     * au plus un coup en préparation à la fois, sans verrou.
+     */
+    private final class SeatedBot implements StateListener {
+        private final GameManager game;
+        private final BotRunner runner;
+        int playerId = -1;
+        private boolean moving;
+
+        SeatedBot(GameManager game, BotRunner runner) {
+            this.game = game;
+            this.runner = runner;
+        }
+
+        @Override
+        public void onStateChanged(StateSnapshot snapshot) {
+            requestMove();
+        }
+
+        /** Si c'est au bot de jouer : réflexion sur le pool, puis coup joué à l'heure prévue. */
+        void requestMove() {
+            if (moving) return;
+            if (game.isGameOver()) {
+                retire();
+                return;
+            }
+            TurnView view = TurnView.of(game);
+            if (view == null || view.getPlayerId() != playerId) return;
+            moving = true;
+            long due = System.nanoTime() + nextMoveDelayNanos();
+            CompletableFuture<Decision> decision = view.getPhase() == TurnView.Phase.BEGIN_TURN
+                    ? CompletableFuture.completedFuture(Decision.ROLL)
+                    : thinkingPool.think(view, difficulty);
+            decision.whenComplete((d, error) -> {
+                // Réflexion en échec : ROLL, que BotRunner transforme en coup sûr.
+                Decision move = d != null ? d : Decision.ROLL;
+                long wait = Math.max(0, due - System.nanoTime());
+                scheduler.schedule(() -> game.getActor().tell(() -> play(view, move)), wait, TimeUnit.NANOSECONDS);
+            });
+        }
+
+        private void play(TurnView view, Decision decision) {
+            moving = false;
+            runner.play(view, decision);
+            requestMove();
+        }
+
+        private void retire() {
+            game.removeStateListener(this);
+            seatedBots.remove(this);
+        }
+    }
+}
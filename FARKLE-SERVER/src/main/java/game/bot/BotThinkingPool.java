@@ -0,0 +1,164 @@
+package game.bot;
+
+import game.GameRegistry;
+import game.LatencyHistogram;
+import game.WinProbability;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Réflexion des bots serveur : les recherches {@link MctsStrategy} tournent sur un pool dédié
+ * et borné, jamais sur les threads Tomcat ni sur les acteurs des tables.
+ *
+ * La file d'attente est bornée : quand elle est pleine, le coup est décidé sur place par
+ * l'{@link OptimalStrategy} (quelques lectures de table, et le dernier tour joué pour dépasser le meneur :
+ * {@link FinalRoundStrategy}) plutôt que d'attendre ou d'échouer ; de même si la recherche lève
+ * une exception ou une Error.
+ * Chaque coup est mesuré par niveau : attente dans la file, latence totale (demande -> décision)
+ * et nombre de parties simulées.
+ */
+@Component
+public class BotThinkingPool {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Map<Difficulty, MctsStrategy> strategies = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, MoveMetrics> metrics = new EnumMap<>(Difficulty.class);
+    private final Strategy fallback;
+
+    /**
+     * @param threads Threads de réflexion (0 = la moitié des cœurs, au moins un).
+     * @param queueCapacity Coups en attente au-delà desquels on joue sans chercher.
+     */
+    @Autowired
+    public BotThinkingPool(GameRegistry gameRegistry,
+                           @Value("${farkle.bot.threads:0}") int threads,
+                           @Value("${farkle.bot.queue-capacity:64}") int queueCapacity,
+                           @Value("${farkle.bot.budget-ms.easy:5}") long easyMillis,
+                           @Value("${farkle.bot.budget-ms.medium:50}") long mediumMillis,
+                           @Value("${farkle.bot.budget-ms.hard:500}") long hardMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "Farkle-Bot-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.queueCapacity = queueCapacity;
+        this.fallback = new FinalRoundStrategy(gameRegistry.getScoreCalculator(),
+                new OptimalStrategy(gameRegistry.getTurnPolicy()));
+
+        long[] budgets = {easyMillis, mediumMillis, hardMillis};
+        for (Difficulty difficulty : Difficulty.values()) {
+            Supplier<WinProbability> table = difficulty.usesWinProbability() ? gameRegistry::getWinProbability : () -> null;
+            strategies.put(difficulty, new MctsStrategy(gameRegistry.getScoreCalculator(),
+                    gameRegistry.getTurnPolicy(), table, budgets[difficulty.ordinal()]));
+            metrics.put(difficulty, new MoveMetrics());
+        }
+        System.out.println("BotThinkingPool initialisé (" + poolSize + " threads, file de " + queueCapacity
+                + ", budgets " + easyMillis + "/" + mediumMillis + "/" + hardMillis + " ms).");
+    }
+
+    /**
+     * Stratégie d'un niveau, à utiliser directement hors requête (simulations, tests de charge).
+     */
+    public MctsStrategy getStrategy(Difficulty difficulty) {
+        return strategies.get(difficulty);
+    }
+
+    /**
+     * Demande une décision au niveau donné, sans bloquer l'appelant.
+     * @return La décision, complétée par un thread de réflexion (ou tout de suite si la file est pleine).
+     */
+    public CompletableFuture<Decision> think(TurnView view, Difficulty difficulty) {
+        MoveMetrics moveMetrics = metrics.get(difficulty);
+        MctsStrategy strategy = strategies.get(difficulty);
+        CompletableFuture<Decision> future = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long started = System.nanoTime();
+                try {
+                    MctsStrategy.Result result = strategy.search(view);
+                    moveMetrics.record(started - submitted, System.nanoTime() - submitted, result.getIterations());
+                    future.complete(result.getDecision());
+                } catch (Throwable e) {
+                    // Même sur une Error (pile, mémoire), le bot doit jouer : sinon son coup reste en suspens
+                    System.out.println("Recherche " + difficulty + " interrompue (" + e + "), coup de repli.");
+                    try {
+                        future.complete(fallback.decide(view));
+                    } catch (Throwable fallbackError) {
+                        future.completeExceptionally(fallbackError);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            moveMetrics.rejected.increment();
+            future.complete(fallback.decide(view));
+        }
+        return future;
+    }
+
+    /**
+     * Métriques pour l'API : état du pool, puis par niveau les latences en millisecondes.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("threads", executor.getPoolSize());
+        map.put("activeSearches", executor.getActiveCount());
+        map.put("queued", executor.getQueue().size());
+        map.put("queueCapacity", queueCapacity);
+        Map<String, Object> levels = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            levels.put(difficulty.name(), metrics.get(difficulty).toMap(strategies.get(difficulty).getBudgetMillis()));
+        }
+        map.put("difficulties", levels);
+        return map;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Compteurs d'un niveau (sans verrou). */
+    private static final class MoveMetrics {
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder iterations = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        void record(long queueWaitNanos, long latencyNanos, int searchIterations) {
+            queueWait.recordNanos(queueWaitNanos);
+            latency.recordNanos(latencyNanos);
+            iterations.add(searchIterations);
+        }
+
+        Map<String, Object> toMap(long budgetMillis) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            long moves = latency.getCount();
+            map.put("budgetMs", budgetMillis);
+            map.put("moves", moves);
+            map.put("rejected", rejected.sum());
+            map.put("iterationsPerMove", moves == 0 ? 0 : iterations.sum() / moves);
+            map.put("latencyMs", latency.toMillisMap());
+            map.put("queueWaitMs", queueWait.toMillisMap());
+            return map;
+        }
+    }
+}
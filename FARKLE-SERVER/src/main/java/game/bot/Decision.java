@@ -0,0 +1,38 @@
+package game.bot;
+
+import game.DiceHand;
+
+/**
+ * Décision d'une {@link Strategy} : relancer, garder des dés, ou sécuriser les points.
+ * ROLL et BANK sont des instances partagées : seule une décision KEEP est allouée.
+ */
+public final class Decision {
+
+    public enum Kind { ROLL, KEEP, BANK }
+
+    public static final Decision ROLL = new Decision(Kind.ROLL, DiceHand.EMPTY);
+    public static final Decision BANK = new Decision(Kind.BANK, DiceHand.EMPTY);
+
+    private final Kind kind;
+    private final int keep;
+
+    private Decision(Kind kind, int keep) {
+        this.kind = kind;
+        this.keep = keep;
+    }
+
+    /** Garder ces dés (main compacte, voir DiceHand) puis décider de relancer ou non. */
+    public static Decision keep(int hand) {
+        return new Decision(Kind.KEEP, hand);
+    }
+
+    public Kind getKind() { return kind; }
+
+    /** Dés à garder (vide sauf pour KEEP). */
+    public int getKeep() { return keep; }
+
+    @Override
+    public String toString() {
+        return kind == Kind.KEEP ? "KEEP " + DiceHand.toString(keep) : kind.name();
+    }
+}
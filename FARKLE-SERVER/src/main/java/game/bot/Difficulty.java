@@ -0,0 +1,29 @@
+package game.bot;
+
+/**
+ * Niveaux des bots serveur : le temps de réflexion alloué à chaque décision de la {@link MctsStrategy}.
+ * Les durées sont les valeurs par défaut, modifiables dans application.properties (farkle.bot.budget-ms.*).
+ * Le niveau HARD évalue en plus les fins de tour avec la table des probabilités de victoire
+ * quand elle est chargée : ses recherches ne sont alors plus bruitées par les parties simulées.
+ */
+public enum Difficulty {
+    EASY(5, false),
+    MEDIUM(50, false),
+    HARD(500, true);
+
+    private final long defaultBudgetMillis;
+    private final boolean usesWinProbability;
+
+    Difficulty(long defaultBudgetMillis, boolean usesWinProbability) {
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        this.usesWinProbability = usesWinProbability;
+    }
+
+    public long getDefaultBudgetMillis() {
+        return defaultBudgetMillis;
+    }
+
+    public boolean usesWinProbability() {
+        return usesWinProbability;
+    }
+}
@@ -0,0 +1,61 @@
+package game.bot;
+
+import game.DiceHand;
+import game.FinalTurn;
+import game.ScoreCalculator;
+
+/**
+ * Enveloppe une stratégie pour le dernier tour (plus de deux joueurs), où l'objectif n'est plus
+ * WINNING_SCORE mais le score du meneur :
+ * - le dernier à jouer suit exactement {@link FinalTurn} : il sécurise dès qu'il dépasse le meneur,
+ *   sinon il garde les dés qui maximisent ses chances d'y arriver et relance ;
+ * - si d'autres joueront après lui, la stratégie enveloppée décide, mais ne sécurise jamais
+ *   sans dépasser le meneur (ce serait perdre).
+ * Hors dernier tour, la stratégie enveloppée décide seule.
+ */
+public class FinalRoundStrategy implements Strategy {
+
+    private final ScoreCalculator scoreCalculator;
+    private final Strategy delegate;
+
+    public FinalRoundStrategy(ScoreCalculator scoreCalculator, Strategy delegate) {
+        this.scoreCalculator = scoreCalculator;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Decision decide(TurnView view) {
+        if (!view.isFinalRound() || view.getPhase() == TurnView.Phase.BEGIN_TURN) return delegate.decide(view);
+        if (view.getFinalTurnsLeft() == 0) return lastTurn(scoreCalculator, view);
+        Decision decision = delegate.decide(view);
+        if (decision.getKind() == Decision.Kind.BANK && !beatsLeader(scoreCalculator, view)) {
+            return chaseLeader(view);
+        }
+        return decision;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /** Décision exacte du dernier joueur du dernier tour : dépasser le meneur, rien d'autre ne compte. */
+    static Decision lastTurn(ScoreCalculator scoreCalculator, TurnView view) {
+        return beatsLeader(scoreCalculator, view) ? Decision.BANK : chaseLeader(view);
+    }
+
+    /** Sécuriser maintenant dépasserait le meneur. */
+    static boolean beatsLeader(ScoreCalculator scoreCalculator, TurnView view) {
+        int plate = view.getPlate();
+        int bankable = view.getTurnPoints()
+                + (DiceHand.isEmpty(plate) ? 0 : scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(plate)));
+        return view.getMyScore() + bankable > view.getOpponentScore();
+    }
+
+    /** Continuer le tour au mieux pour dépasser le meneur : garde de FinalTurn (phase SELECT), sinon relancer. */
+    private static Decision chaseLeader(TurnView view) {
+        if (view.getPhase() != TurnView.Phase.SELECT) return Decision.ROLL;
+        int needPoints = view.getOpponentScore() + 1 - view.getMyScore() - view.getTurnPoints();
+        return Decision.keep(FinalTurn.bestKeep(needPoints, view.getPlate()));
+    }
+}
@@ -0,0 +1,40 @@
+package game.bot;
+
+import game.DiceHand;
+import game.FarkleRisk;
+import game.KeepOption;
+import game.ScoreCalculator;
+
+/**
+ * Stratégie gloutonne (un coup d'avance) : garde l'option qui rapporte le plus de points,
+ * puis relance tant que le gain espéré du prochain lancer dépasse ce qu'il risque de faire perdre
+ * (voir {@link FarkleRisk}).
+ */
+public class GreedyStrategy implements Strategy {
+
+    private final ScoreCalculator scoreCalculator;
+
+    public GreedyStrategy(ScoreCalculator scoreCalculator) {
+        this.scoreCalculator = scoreCalculator;
+    }
+
+    @Override
+    public Decision decide(TurnView view) {
+        switch (view.getPhase()) {
+            case SELECT:
+                KeepOption best = scoreCalculator.legalKeeps(view.getPlate()).get(0);
+                int dice = best.getRemainingDice() == 0 ? DiceHand.MAX_DICE : best.getRemainingDice();
+                return worthRolling(view.getTurnPoints() + best.getPoints(), dice)
+                        ? Decision.keep(best.getKeep()) : Decision.BANK;
+            case ROLL_OR_BANK:
+            case HOT_DICE:
+                return worthRolling(view.getTurnPoints(), view.getDiceToRoll()) ? Decision.ROLL : Decision.BANK;
+            default:
+                return Decision.ROLL;
+        }
+    }
+
+    private static boolean worthRolling(int turnPoints, int dice) {
+        return FarkleRisk.expectedGain(dice) > FarkleRisk.farkleProbability(dice) * turnPoints;
+    }
+}
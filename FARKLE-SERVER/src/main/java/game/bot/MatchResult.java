@@ -0,0 +1,48 @@
+package game.bot;
+
+/**
+ * Bilan d'une partie jouée par {@link BotRunner#playMatch}.
+ */
+public class MatchResult {
+
+    private final String firstName;
+    private final String secondName;
+    private int actions;
+    private int turns;
+    private int farkles;
+    private int firstScore;
+    private int secondScore;
+
+    MatchResult(String firstName, String secondName) {
+        this.firstName = firstName;
+        this.secondName = secondName;
+    }
+
+    /** Compte une action jouée. */
+    void record(boolean turnEnded, boolean farkle) {
+        actions++;
+        if (turnEnded) turns++;
+        if (farkle) farkles++;
+    }
+
+    void finish(int firstScore, int secondScore) {
+        this.firstScore = firstScore;
+        this.secondScore = secondScore;
+    }
+
+    /** 0 si le premier joueur a gagné, 1 sinon. */
+    public int getWinner() { return firstScore >= secondScore ? 0 : 1; }
+    public String getFirstName() { return firstName; }
+    public String getSecondName() { return secondName; }
+    public int getActions() { return actions; }
+    public int getTurns() { return turns; }
+    public int getFarkles() { return farkles; }
+    public int getFirstScore() { return firstScore; }
+    public int getSecondScore() { return secondScore; }
+
+    @Override
+    public String toString() {
+        return firstName + " " + firstScore + " - " + secondScore + " " + secondName
+                + " (" + turns + " tours, " + farkles + " Farkles)";
+    }
+}
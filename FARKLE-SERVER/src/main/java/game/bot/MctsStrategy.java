@@ -0,0 +1,392 @@
+package game.bot;
+
+import game.DiceHand;
+import game.DiceSource;
+import game.FinalTurn;
+import game.GameManager;
+import game.KeepOption;
+import game.ScoreCalculator;
+import game.TurnPolicy;
+import game.WinProbability;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stratégie qui cherche sa décision par Monte-Carlo Tree Search (UCT), dans un temps imparti.
+ *
+ * L'arbre part de l'état du tour : un nœud de décision propose de sécuriser, de garder des dés
+ * ou de relancer ; un lancer mène à un nœud par résultat tiré. Chaque itération descend l'arbre
+ * (UCB1), ajoute au plus un nouveau résultat de lancer, puis joue la fin de la partie au hasard
+ * des dés avec la {@link TurnPolicy} pour les deux joueurs. La valeur remontée est 1 si le bot gagne :
+ * il vise la victoire et non les points (il prend plus de risques quand il est mené).
+ * Si une {@link WinProbability} est fournie, la fin de partie après le tour y est lue au lieu d'être jouée.
+ *
+ * À plus de deux joueurs, la partie est ramenée à un duel contre le meneur, et le dernier tour est compté
+ * avec {@link FinalTurn} : les joueurs qui joueront encore après le bot ont chacun une chance de dépasser
+ * son score, estimée comme s'ils partaient du score du meneur (borne prudente). Pendant le dernier tour,
+ * le bot joue donc pour dépasser le meneur, et le dernier à jouer suit directement la décision exacte.
+ *
+ * Seule la meilleure façon de garder k dés est proposée pour chaque k : les autres laissent
+ * le même nombre de dés à relancer pour moins de points. La décision est l'action la plus visitée.
+ * Une instance ne garde aucun état entre deux décisions : elle peut servir plusieurs tables en parallèle.
+ */
+public class MctsStrategy implements Strategy {
+
+    /** Constante d'exploration d'UCB1 (les valeurs sont des probabilités de victoire). */
+    private static final double EXPLORATION = 0.7;
+    /** Un nœud n'explore ses actions qu'après ce nombre de simulations (sinon : TurnPolicy). */
+    private static final int EXPANSION_VISITS = 8;
+    /** Garde-fou des fins de partie simulées. */
+    private static final int MAX_ROLLOUT_TURNS = 1000;
+
+    /** Actions d'un nœud : une main (KEEP), ou l'une de ces deux valeurs. */
+    private static final int BANK = -1;
+    private static final int ROLL = -2;
+
+    private final ScoreCalculator scoreCalculator;
+    private final TurnPolicy turnPolicy;
+    private final Supplier<WinProbability> winProbability;
+    private final long budgetMillis;
+
+    /**
+     * @param turnPolicy Stratégie des fins de partie simulées.
+     * @param budgetMillis Temps de réflexion par décision.
+     */
+    public MctsStrategy(ScoreCalculator scoreCalculator, TurnPolicy turnPolicy, long budgetMillis) {
+        this(scoreCalculator, turnPolicy, () -> null, budgetMillis);
+    }
+
+    /**
+     * @param winProbability Table des probabilités de victoire, ou null tant qu'elle n'est pas chargée :
+     *                       quand elle est là, la fin de partie est lue au lieu d'être simulée.
+     */
+    public MctsStrategy(ScoreCalculator scoreCalculator, TurnPolicy turnPolicy,
+                        Supplier<WinProbability> winProbability, long budgetMillis) {
+        this.scoreCalculator = scoreCalculator;
+        this.turnPolicy = turnPolicy;
+        this.winProbability = winProbability;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public Decision decide(TurnView view) {
+        return search(view).getDecision();
+    }
+
+    @Override
+    public String getName() {
+        return "MCTS" + budgetMillis + "ms";
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Cherche jusqu'à épuisement du temps imparti.
+     * En début de tour, pour le dernier joueur du dernier tour, ou s'il n'y a qu'une action possible,
+     * répond sans chercher.
+     */
+    public Result search(TurnView view) {
+        long start = System.nanoTime();
+        if (view.getPhase() == TurnView.Phase.BEGIN_TURN) {
+            return new Result(Decision.ROLL, 0, System.nanoTime() - start);
+        }
+        if (view.getFinalTurnsLeft() == 0) {
+            return new Result(FinalRoundStrategy.lastTurn(scoreCalculator, view), 0, System.nanoTime() - start);
+        }
+        Search search = new Search(view.getMyScore(), view.getOpponentScore(), view.getOpponents(),
+                view.getFinalTurnsLeft(), winProbability.get(), ThreadLocalRandom.current().nextLong());
+        Node root = search.node(view.getTurnPoints(), view.getPlate(), view.getPhase());
+        root.rolloutsBeforeExpansion = 0;
+        int iterations = 0;
+        if (root.actions.length > 1) {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+            do {
+                search.iterate(root);
+                iterations++;
+            } while (System.nanoTime() < deadline);
+        }
+        return new Result(toDecision(root.actions[root.mostVisited()]), iterations, System.nanoTime() - start);
+    }
+
+    private static Decision toDecision(int action) {
+        if (action == BANK) return Decision.BANK;
+        if (action == ROLL) return Decision.ROLL;
+        return Decision.keep(action);
+    }
+
+    /** Résultat d'une recherche : la décision et ce qu'elle a coûté. */
+    public static final class Result {
+        private final Decision decision;
+        private final int iterations;
+        private final long elapsedNanos;
+
+        Result(Decision decision, int iterations, long elapsedNanos) {
+            this.decision = decision;
+            this.iterations = iterations;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Decision getDecision() { return decision; }
+        /** Nombre de parties simulées (0 si la décision était immédiate). */
+        public int getIterations() { return iterations; }
+        public long getElapsedNanos() { return elapsedNanos; }
+    }
+
+    // --- ARBRE ---
+
+    /** Nœud de décision : statistiques par action et enfants déjà explorés. */
+    private static final class Node {
+        final int turnPoints;
+        final int plate;
+        final TurnView.Phase phase;
+        final int[] actions;
+        final int[] visits;
+        final double[] wins;
+        /** Nœud atteint par chaque KEEP (null pour BANK et ROLL). */
+        final Node[] keepChildren;
+        /** Nœuds atteints par ROLL, par résultat du lancer. */
+        Map<Integer, Node> rollChildren;
+        int totalVisits;
+        /** Tant qu'il reste des simulations avant expansion, le nœud est joué par la TurnPolicy. */
+        int rolloutsBeforeExpansion = EXPANSION_VISITS;
+
+        Node(int turnPoints, int plate, TurnView.Phase phase, int[] actions) {
+            this.turnPoints = turnPoints;
+            this.plate = plate;
+            this.phase = phase;
+            this.actions = actions;
+            this.visits = new int[actions.length];
+            this.wins = new double[actions.length];
+            this.keepChildren = new Node[actions.length];
+        }
+
+        /** UCB1 : chaque action est essayée une fois, puis compromis moyenne / incertitude. */
+        int select() {
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(totalVisits);
+            for (int i = 0; i < actions.length; i++) {
+                if (visits[i] == 0) return i;
+                double score = wins[i] / visits[i] + EXPLORATION * Math.sqrt(logVisits / visits[i]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        void update(int action, double value) {
+            visits[action]++;
+            wins[action] += value;
+            totalVisits++;
+        }
+
+        int mostVisited() {
+            int best = 0;
+            for (int i = 1; i < actions.length; i++) {
+                if (visits[i] > visits[best]) best = i;
+            }
+            return best;
+        }
+    }
+
+    /** Une recherche : ses dés, les scores de la partie, et les règles du tour. */
+    private final class Search {
+        private final int myScore;
+        private final int opponentScore;
+        /** Autres joueurs de la table (1 : atteindre WINNING_SCORE gagne). */
+        private final int opponents;
+        /** Dernier tour : joueurs qui joueront encore après le bot (-1 hors dernier tour). */
+        private final int finalTurnsLeft;
+        /** Évaluation exacte des fins de tour (null : fin de partie simulée). */
+        private final WinProbability table;
+        private final DiceSource dice;
+
+        Search(int myScore, int opponentScore, int opponents, int finalTurnsLeft, WinProbability table, long seed) {
+            this.myScore = myScore;
+            this.opponentScore = opponentScore;
+            this.opponents = opponents;
+            this.finalTurnsLeft = finalTurnsLeft;
+            this.table = table;
+            this.dice = DiceSource.seeded(seed);
+        }
+
+        /** Crée le nœud d'un état (phase SELECT : plateau = lancer ; sinon plateau = dés à relancer). */
+        Node node(int turnPoints, int plate, TurnView.Phase phase) {
+            if (phase != TurnView.Phase.SELECT) {
+                return new Node(turnPoints, plate, phase, new int[]{BANK, ROLL});
+            }
+            List<KeepOption> keeps = scoreCalculator.legalKeeps(plate);
+            int[] actions = new int[keeps.size() + 1];
+            actions[0] = BANK;
+            int count = 1;
+            int seenRemaining = 0;
+            for (int i = 0; i < keeps.size(); i++) {
+                // legalKeeps : meilleurs points d'abord, le premier vu pour un nombre de dés restants domine
+                KeepOption option = keeps.get(i);
+                int bit = 1 << option.getRemainingDice();
+                if ((seenRemaining & bit) == 0) {
+                    seenRemaining |= bit;
+                    actions[count++] = option.getKeep();
+                }
+            }
+            return new Node(turnPoints, plate, phase, Arrays.copyOf(actions, count));
+        }
+
+        /**
+         * Une descente : sélection (UCB1) jusqu'à un nœud encore peu visité,
+         * simulation depuis ce nœud, rétropropagation.
+         * Un nœud neuf est d'abord joué par la TurnPolicy : explorer ses mauvaises actions
+         * dès la première visite sous-estimerait le coup qui y mène.
+         */
+        double iterate(Node node) {
+            if (node.rolloutsBeforeExpansion > 0) {
+                node.rolloutsBeforeExpansion--;
+                return afterTurn(myScore + playMyTurn(node));
+            }
+            int index = node.select();
+            int action = node.actions[index];
+            double value;
+            if (action == BANK) {
+                value = afterTurn(myScore + bankable(node.turnPoints, node.plate));
+            } else if (action == ROLL) {
+                value = roll(node);
+            } else {
+                Node child = node.keepChildren[index];
+                if (child == null) {
+                    int rest = DiceHand.minus(node.plate, action);
+                    child = node(node.turnPoints + scoreCalculator.calculatePoints(action), rest,
+                            DiceHand.isEmpty(rest) ? TurnView.Phase.HOT_DICE : TurnView.Phase.ROLL_OR_BANK);
+                    node.keepChildren[index] = child;
+                }
+                value = iterate(child);
+            }
+            node.update(index, value);
+            return value;
+        }
+
+        /** Tire un lancer et poursuit dans le nœud de ce résultat (créé à la première apparition). */
+        private double roll(Node node) {
+            int roll = DiceHand.roll(diceToRoll(node.plate), dice);
+            if (DiceHand.isEmpty(scoreCalculator.findScoringDice(roll))) {
+                return afterTurn(myScore); // Farkle
+            }
+            if (node.rollChildren == null) {
+                node.rollChildren = new HashMap<>();
+            }
+            Node child = node.rollChildren.get(roll);
+            if (child == null) {
+                child = scoreCalculator.isHotDice(roll)
+                        ? node(node.turnPoints + scoreCalculator.calculatePoints(roll), DiceHand.EMPTY, TurnView.Phase.HOT_DICE)
+                        : node(node.turnPoints, roll, TurnView.Phase.SELECT);
+                node.rollChildren.put(roll, child);
+            }
+            return iterate(child);
+        }
+
+        // --- SIMULATION ---
+
+        /** Valeur de la fin de partie après un tour du bot qui l'amène à {@code myNewScore}. */
+        private double afterTurn(int myNewScore) {
+            if (finalTurnsLeft >= 0) return finalRoundValue(myNewScore, opponentScore, finalTurnsLeft);
+            if (myNewScore >= GameManager.WINNING_SCORE) return finalRoundValue(myNewScore, opponentScore, opponents - 1);
+            if (table != null) return table.afterBank(myNewScore, opponentScore, 0);
+            int me = myNewScore;
+            int opponent = opponentScore;
+            for (int turn = 0; turn < MAX_ROLLOUT_TURNS; turn++) {
+                opponent += playTurn(opponent, 0, DiceHand.EMPTY, TurnView.Phase.BEGIN_TURN);
+                if (opponent >= GameManager.WINNING_SCORE) {
+                    // À deux, l'adversaire a gagné ; sinon le bot a encore un dernier tour pour le dépasser
+                    return opponents == 1 ? 0 : FinalTurn.probability(opponent + 1 - me, DiceHand.MAX_DICE);
+                }
+                me += playTurn(me, 0, DiceHand.EMPTY, TurnView.Phase.BEGIN_TURN);
+                if (me >= GameManager.WINNING_SCORE) return finalRoundValue(me, opponent, opponents - 1);
+            }
+            return 0.5;
+        }
+
+        /**
+         * Dernier tour : le bot finit avec {@code myFinalScore} face au meneur ; il gagne s'il le dépasse
+         * et qu'aucun des {@code playersAfter} joueurs suivants ne le dépasse à son tour.
+         */
+        private double finalRoundValue(int myFinalScore, int leaderScore, int playersAfter) {
+            if (myFinalScore <= leaderScore) return 0;
+            double nobodyCatchesUp = 1;
+            double caughtUp = FinalTurn.probability(myFinalScore + 1 - leaderScore, DiceHand.MAX_DICE);
+            for (int p = 0; p < playersAfter; p++) {
+                nobodyCatchesUp *= 1 - caughtUp;
+            }
+            return nobodyCatchesUp;
+        }
+
+        /** Fin du tour du bot depuis un nœud : vers WINNING_SCORE, ou pendant le dernier tour pour dépasser le meneur. */
+        private int playMyTurn(Node node) {
+            return finalTurnsLeft >= 0
+                    ? playTurn(myScore, opponentScore + 1, true, node.turnPoints, node.plate, node.phase)
+                    : playTurn(myScore, node.turnPoints, node.plate, node.phase);
+        }
+
+        /** Joue la fin d'un tour avec la TurnPolicy, en sécurisant dès que WINNING_SCORE est atteint. */
+        private int playTurn(int score, int turnPoints, int plate, TurnView.Phase phase) {
+            return playTurn(score, GameManager.WINNING_SCORE, false, turnPoints, plate, phase);
+        }
+
+        /**
+         * Joue la fin d'un tour et sécurise dès que le score atteint {@code target}.
+         * @param chase true : sécuriser avant {@code target} ne sert à rien, les dés sont gardés
+         *              pour l'atteindre (FinalTurn) ; false : TurnPolicy.
+         * @return Les points mis en banque, 0 en cas de Farkle.
+         */
+        private int playTurn(int score, int target, boolean chase, int turnPoints, int plate, TurnView.Phase phase) {
+            while (true) {
+                if (phase == TurnView.Phase.SELECT) {
+                    int bankable = bankable(turnPoints, plate);
+                    if (score + bankable >= target) return bankable;
+                    int keep = chase
+                            ? FinalTurn.bestKeep(target - score - turnPoints, plate)
+                            : turnPolicy.bestKeep(turnPoints, plate);
+                    if (DiceHand.isEmpty(keep)) return bankable;
+                    turnPoints += scoreCalculator.calculatePoints(keep);
+                    plate = DiceHand.minus(plate, keep);
+                    phase = TurnView.Phase.ROLL_OR_BANK;
+                    continue;
+                }
+                if (phase != TurnView.Phase.BEGIN_TURN) {
+                    int bankable = bankable(turnPoints, plate);
+                    if (score + bankable >= target || (!chase && !turnPolicy.shouldRoll(turnPoints, plate))) {
+                        return bankable;
+                    }
+                }
+                int roll = DiceHand.roll(diceToRoll(plate), dice);
+                if (DiceHand.isEmpty(scoreCalculator.findScoringDice(roll))) return 0;
+                if (scoreCalculator.isHotDice(roll)) {
+                    turnPoints += scoreCalculator.calculatePoints(roll);
+                    plate = DiceHand.EMPTY;
+                    phase = TurnView.Phase.HOT_DICE;
+                } else {
+                    plate = roll;
+                    phase = TurnView.Phase.SELECT;
+                }
+            }
+        }
+
+        /** Comme Turn.getBankablePoints() : les dés scorants restés sur le plateau sont comptés. */
+        private int bankable(int turnPoints, int plate) {
+            if (DiceHand.isEmpty(plate)) return turnPoints;
+            return turnPoints + scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(plate));
+        }
+    }
+
+    private static int diceToRoll(int plate) {
+        return DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate);
+    }
+}
@@ -0,0 +1,35 @@
+package game.bot;
+
+import game.DiceHand;
+import game.TurnPolicy;
+
+/**
+ * Stratégie qui maximise l'espérance de points du tour, lue dans la {@link TurnPolicy}.
+ */
+public class OptimalStrategy implements Strategy {
+
+    private final TurnPolicy turnPolicy;
+
+    public OptimalStrategy(TurnPolicy turnPolicy) {
+        this.turnPolicy = turnPolicy;
+    }
+
+    @Override
+    public Decision decide(TurnView view) {
+        switch (view.getPhase()) {
+            case SELECT:
+                int keep = turnPolicy.bestKeep(view.getTurnPoints(), view.getPlate());
+                return DiceHand.isEmpty(keep) ? Decision.BANK : Decision.keep(keep);
+            case ROLL_OR_BANK:
+            case HOT_DICE:
+                return turnPolicy.shouldRoll(view.getTurnPoints(), view.getPlate()) ? Decision.ROLL : Decision.BANK;
+            default:
+                return Decision.ROLL;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Optimal";
+    }
+}
@@ -0,0 +1,238 @@
+package game.bot;
+
+import game.DiceSource;
+import game.GameManager;
+import game.ScoreCalculator;
+import game.Turn;
+import game.TurnPolicy;
+import model.Player;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulateur Monte-Carlo en ligne de commande : fait jouer des millions de parties complètes
+ * entre deux stratégies, sur tous les cœurs, avec les vraies règles ({@link Turn}, {@link ScoreCalculator})
+d'une table à deux places : le premier joueur à WINNING_SCORE gagne, sans dernier tour (voir GameManager.bank).
+ *
+ * Les parties sont découpées en blocs de taille fixe ; chaque bloc a sa propre source de dés,
+ * dont la graine est tirée dans l'ordre d'une graine maître. Les compteurs sont des entiers
+ * additionnés : pour une graine donnée, le rapport est identique quel que soit le nombre de threads.
+ * La stratégie A commence les parties paires, B les parties impaires.
+ *
+ * Usage : {@code java -cp <classpath> game.bot.Simulator [--games N] [--seed S] [--threads T] A B}
+ * avec A et B parmi {@code optimal}, {@code greedy}, {@code threshold:<points>}, {@code mcts:<ms>}.
+ */
+public final class Simulator {
+
+    private static final int GAMES_PER_CHUNK = 1000;
+    /** Au-delà, la partie est abandonnée (stratégie qui ne met jamais en banque). */
+    private static final int MAX_TURNS_PER_GAME = 10_000;
+
+    private final ScoreCalculator scoreCalculator;
+    private final Strategy[] strategies;
+
+    public Simulator(ScoreCalculator scoreCalculator, Strategy a, Strategy b) {
+        this.scoreCalculator = scoreCalculator;
+        this.strategies = new Strategy[]{a, b};
+    }
+
+    /**
+     * Joue {@code games} parties sur le pool donné.
+     */
+    public Stats run(long games, long seed, ForkJoinPool pool) {
+        int chunks = (int) ((games + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK);
+        long[] chunkSeeds = new long[chunks];
+        SplittableRandom master = new SplittableRandom(seed);
+        for (int c = 0; c < chunks; c++) {
+            chunkSeeds[c] = master.nextLong();
+        }
+        return pool.invoke(new ChunkTask(chunkSeeds, games, 0, chunks));
+    }
+
+    /** Découpe récursive des blocs de parties (fork/join). */
+    private final class ChunkTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+        private final long[] chunkSeeds;
+        private final long games;
+        private final int from;
+        private final int to;
+
+        ChunkTask(long[] chunkSeeds, long games, int from, int to) {
+            this.chunkSeeds = chunkSeeds;
+            this.games = games;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from == 1) {
+                long first = (long) from * GAMES_PER_CHUNK;
+                return playChunk(chunkSeeds[from], first, Math.min(games, first + GAMES_PER_CHUNK));
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(chunkSeeds, games, from, mid);
+            left.fork();
+            Stats right = new ChunkTask(chunkSeeds, games, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /** Un bloc : une source de dés, deux joueurs réutilisés d'une partie à l'autre. */
+    private Stats playChunk(long seed, long firstGame, long endGame) {
+        Stats stats = new Stats();
+        DiceSource dice = DiceSource.seeded(seed);
+        Player[] players = {
+                new Player(strategies[0].getName(), new ArrayList<>()),
+                new Player(strategies[1].getName(), new ArrayList<>())
+        };
+        for (long game = firstGame; game < endGame; game++) {
+            playGame((int) (game & 1), players, dice, stats);
+        }
+        return stats;
+    }
+
+    private void playGame(int starter, Player[] players, DiceSource dice, Stats stats) {
+        players[0].resetScore();
+        players[1].resetScore();
+        int current = starter;
+        int turns = 0;
+        Turn turn = new Turn(players[current], scoreCalculator, dice, false);
+        while (turns < MAX_TURNS_PER_GAME) {
+            Player player = players[current];
+            TurnView view = TurnView.of(turn, current, player.getScore(), players[1 - current].getScore(), 1, -1);
+            Decision decision = view.getPhase() == TurnView.Phase.BEGIN_TURN
+                    ? Decision.ROLL : strategies[current].decide(view);
+
+            boolean turnOver;
+            if (decision.getKind() == Decision.Kind.BANK && turn.canPlayerBank()) {
+                player.addScore(turn.getBankablePoints());
+                turn.signalTurnBankedOrFarkled();
+                turnOver = true;
+            } else if (view.getPhase() == TurnView.Phase.SELECT) {
+                turn.selectDice(BotRunner.legalKeep(scoreCalculator, decision, view.getPlate()));
+                turnOver = false;
+            } else {
+                if (turn.isHotDiceChoicePending()) {
+                    turn.resolveHotDiceChoice(false);
+                }
+                turn.rollDiceAndEvaluate();
+                turnOver = turn.isFarkle();
+                if (turnOver) stats.farkles[current]++;
+            }
+
+            if (turnOver) {
+                turns++;
+                stats.turns[current]++;
+                if (player.getScore() >= GameManager.WINNING_SCORE) {
+                    stats.games++;
+                    stats.wins[current]++;
+                    stats.gameTurns += turns;
+                    return;
+                }
+                current = 1 - current;
+                turn = new Turn(players[current], scoreCalculator, dice, false);
+            }
+        }
+        stats.games++;
+        stats.unfinished++;
+        stats.gameTurns += turns;
+    }
+
+    /**
+     * Compteurs d'une simulation (indice 0 = stratégie A, 1 = stratégie B).
+     */
+    public static final class Stats {
+        long games;
+        long unfinished;
+        long gameTurns;
+        final long[] wins = new long[2];
+        final long[] turns = new long[2];
+        final long[] farkles = new long[2];
+
+        Stats merge(Stats other) {
+            games += other.games;
+            unfinished += other.unfinished;
+            gameTurns += other.gameTurns;
+            for (int s = 0; s < 2; s++) {
+                wins[s] += other.wins[s];
+                turns[s] += other.turns[s];
+                farkles[s] += other.farkles[s];
+            }
+            return this;
+        }
+
+        public long getGames() { return games; }
+        public long getWins(int strategy) { return wins[strategy]; }
+        public long getTurns() { return turns[0] + turns[1]; }
+
+        /** Durée moyenne d'une partie, en tours (des deux joueurs). */
+        public double getAverageGameLength() {
+            return games == 0 ? 0 : gameTurns / (double) games;
+        }
+
+        /** Part des tours de la stratégie terminés par un Farkle. */
+        public double getFarkleRate(int strategy) {
+            return turns[strategy] == 0 ? 0 : farkles[strategy] / (double) turns[strategy];
+        }
+    }
+
+    // --- LIGNE DE COMMANDE ---
+
+    public static void main(String[] args) {
+        long games = 1_000_000;
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String[] names = {"optimal", "threshold:300"};
+        int named = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                default:
+                    if (named == 2) throw new IllegalArgumentException("Argument inattendu: " + args[i]);
+                    names[named++] = args[i];
+            }
+        }
+
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        TurnPolicy turnPolicy = TurnPolicy.loadOrSolve(scoreCalculator);
+        Strategy a = parseStrategy(names[0], scoreCalculator, turnPolicy);
+        Strategy b = parseStrategy(names[1], scoreCalculator, turnPolicy);
+        Simulator simulator = new Simulator(scoreCalculator, a, b);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Stats stats = simulator.run(games, seed, pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%,d parties %s contre %s (graine %d, %d threads) en %.2f s%n",
+                stats.games, a.getName(), b.getName(), seed, threads, seconds);
+        System.out.printf("  Victoires %-14s %6.2f %%%n", a.getName(), 100.0 * stats.wins[0] / stats.games);
+        System.out.printf("  Victoires %-14s %6.2f %%%n", b.getName(), 100.0 * stats.wins[1] / stats.games);
+        if (stats.unfinished > 0) {
+            System.out.printf("  Parties abandonnées (%d tours) : %,d%n", MAX_TURNS_PER_GAME, stats.unfinished);
+        }
+        System.out.printf("  Durée moyenne : %.2f tours%n", stats.getAverageGameLength());
+        System.out.printf("  Farkles : %s %.2f %% des tours, %s %.2f %% des tours%n",
+                a.getName(), 100 * stats.getFarkleRate(0), b.getName(), 100 * stats.getFarkleRate(1));
+        System.out.printf("  Débit : %,.0f parties/s, %,.0f tours/s%n", stats.games / seconds, stats.getTurns() / seconds);
+    }
+
+    static Strategy parseStrategy(String name, ScoreCalculator scoreCalculator, TurnPolicy turnPolicy) {
+        if (name.equals("optimal")) return new OptimalStrategy(turnPolicy);
+        if (name.equals("greedy")) return new GreedyStrategy(scoreCalculator);
+        if (name.startsWith("threshold:")) {
+            return new ThresholdStrategy(scoreCalculator, Integer.parseInt(name.substring("threshold:".length())));
+        }
+        if (name.startsWith("mcts:")) {
+            return new MctsStrategy(scoreCalculator, turnPolicy, Long.parseLong(name.substring("mcts:".length())));
+        }
+        throw new IllegalArgumentException("Stratégie inconnue: " + name + " (optimal, greedy, threshold:<points>, mcts:<ms>)");
+    }
+}
@@ -0,0 +1,20 @@
+package game.bot;
+
+/**
+ * Stratégie d'un joueur automatique.
+ * Appelée à chaque point de décision d'un tour (voir {@link TurnView.Phase}) ;
+ * une même instance peut servir plusieurs parties si elle ne garde pas d'état.
+ */
+public interface Strategy {
+
+    /**
+     * @param view État du tour vu par le joueur qui doit décider.
+     * @return La décision : garder des dés (phase SELECT), relancer ou sécuriser.
+     */
+    Decision decide(TurnView view);
+
+    /** Nom affiché (joueur, rapports de simulation). */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,39 @@
+package game.bot;
+
+import game.ScoreCalculator;
+
+/**
+ * "Banquier à seuil" : garde tous les dés scorants et sécurise dès que le tour
+ * atteint {@code threshold} points.
+ */
+public class ThresholdStrategy implements Strategy {
+
+    private final ScoreCalculator scoreCalculator;
+    private final int threshold;
+
+    public ThresholdStrategy(ScoreCalculator scoreCalculator, int threshold) {
+        this.scoreCalculator = scoreCalculator;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Decision decide(TurnView view) {
+        switch (view.getPhase()) {
+            case SELECT:
+                int scoring = scoreCalculator.findScoringDice(view.getPlate());
+                // Sécuriser compte aussi les dés scorants du plateau : inutile de les garder d'abord.
+                return view.getTurnPoints() + scoreCalculator.calculatePoints(scoring) >= threshold
+                        ? Decision.BANK : Decision.keep(scoring);
+            case ROLL_OR_BANK:
+            case HOT_DICE:
+                return view.getTurnPoints() >= threshold ? Decision.BANK : Decision.ROLL;
+            default:
+                return Decision.ROLL;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Threshold" + threshold;
+    }
+}
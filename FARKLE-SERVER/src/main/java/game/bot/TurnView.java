@@ -0,0 +1,128 @@
+package game.bot;
+
+import game.DiceHand;
+import game.GameManager;
+import game.Turn;
+
+/**
+ * Ce qu'un joueur automatique voit de la table au moment de décider :
+ * l'équivalent compact d'un TurnStatusDTO, sans liste ni texte.
+ */
+public final class TurnView {
+
+    /** Point de décision du tour. */
+    public enum Phase {
+        /** Début de tour : seul le lancer est possible. */
+        BEGIN_TURN,
+        /** Après un lancer : garder des dés (KEEP) ou sécuriser (BANK). */
+        SELECT,
+        /** Après une sélection : relancer les dés restants (ROLL) ou sécuriser (BANK). */
+        ROLL_OR_BANK,
+        /** Tous les dés ont scoré : relancer 6 dés (ROLL) ou sécuriser (BANK). */
+        HOT_DICE
+    }
+
+    private final int playerId;
+    private final int myScore;
+    private final int opponentScore;
+    private final int turnPoints;
+    private final int plate;
+    private final int kept;
+    private final Phase phase;
+    private final int opponents;
+    private final int finalTurnsLeft;
+
+    public TurnView(int playerId, int myScore, int opponentScore, int turnPoints, int plate, int kept, Phase phase,
+                    int opponents, int finalTurnsLeft) {
+        this.playerId = playerId;
+        this.myScore = myScore;
+        this.opponentScore = opponentScore;
+        this.turnPoints = turnPoints;
+        this.plate = plate;
+        this.kept = kept;
+        this.phase = phase;
+        this.opponents = opponents;
+        this.finalTurnsLeft = finalTurnsLeft;
+    }
+
+    /**
+     * Vue du joueur courant d'une table. À appeler depuis l'acteur de la table.
+     * À plus de deux joueurs, l'adversaire est le meneur (meilleur score des autres places).
+     * @return La vue, ou null si personne n'a de décision à prendre (partie non commencée ou finie).
+     */
+    public static TurnView of(GameManager game) {
+        Turn turn = game.getCurrentTurn();
+        if (turn == null || game.isGameOver()) return null;
+        int playerId = game.getCurrentPlayerId();
+        return of(turn, playerId, game.getPlayerScore(playerId), game.getBestOpponentScore(playerId),
+                game.getSeatedCount() - 1, game.getFinalTurnsLeft());
+    }
+
+    /**
+     * Vue d'un tour joué hors table (simulation).
+     * @param opponents Nombre d'autres joueurs (1 à deux joueurs : atteindre WINNING_SCORE gagne).
+     * @param finalTurnsLeft Dernier tour : joueurs qui joueront encore après celui-ci (-1 hors dernier tour).
+     * @return La vue, ou null si le tour n'attend plus de décision (Farkle ou banque).
+     */
+    public static TurnView of(Turn turn, int playerId, int myScore, int opponentScore, int opponents, int finalTurnsLeft) {
+        Phase phase;
+        if (turn.isHotDiceChoicePending()) {
+            phase = Phase.HOT_DICE;
+        } else if (turn.canPlayerSelect()) {
+            phase = Phase.SELECT;
+        } else if (turn.canPlayerRoll()) {
+            phase = DiceHand.isEmpty(turn.getKeptDiceThisTurn()) ? Phase.BEGIN_TURN : Phase.ROLL_OR_BANK;
+        } else {
+            return null;
+        }
+        return new TurnView(playerId, myScore, opponentScore,
+                turn.getTemporaryScore(), turn.getDiceOnPlate(), turn.getKeptDiceThisTurn(), phase,
+                opponents, finalTurnsLeft);
+    }
+
+    public int getPlayerId() { return playerId; }
+    public int getMyScore() { return myScore; }
+    public int getOpponentScore() { return opponentScore; }
+    /** Points accumulés pendant ce tour (hors dés scorants encore sur le plateau). */
+    public int getTurnPoints() { return turnPoints; }
+    /** Dés sur le plateau (main compacte) ; vide en phase HOT_DICE. */
+    public int getPlate() { return plate; }
+    /** Dés déjà gardés pendant ce tour (main compacte). */
+    public int getKept() { return kept; }
+    public Phase getPhase() { return phase; }
+    /** Nombre d'autres joueurs à la table. */
+    public int getOpponents() { return opponents; }
+    /** Dernier tour : joueurs qui joueront encore après celui-ci (-1 hors dernier tour, 0 pour le dernier à jouer). */
+    public int getFinalTurnsLeft() { return finalTurnsLeft; }
+    /** Dernier tour : sécuriser sans dépasser le meneur ({@link #getOpponentScore()}) fait perdre. */
+    public boolean isFinalRound() { return finalTurnsLeft >= 0; }
+
+    /** Nombre de dés du prochain lancer (6 si le plateau est vide). */
+    public int getDiceToRoll() {
+        return DiceHand.isEmpty(plate) ? DiceHand.MAX_DICE : DiceHand.size(plate);
+    }
+
+    /** Même point de décision : une décision prise pour l'une vaut pour l'autre. */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TurnView)) return false;
+        TurnView other = (TurnView) o;
+        return playerId == other.playerId && myScore == other.myScore && opponentScore == other.opponentScore
+                && turnPoints == other.turnPoints && plate == other.plate && kept == other.kept && phase == other.phase
+                && opponents == other.opponents && finalTurnsLeft == other.finalTurnsLeft;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = playerId;
+        hash = 31 * hash + myScore;
+        hash = 31 * hash + opponentScore;
+        hash = 31 * hash + turnPoints;
+        hash = 31 * hash + plate;
+        hash = 31 * hash + kept;
+        hash = 31 * hash + opponents;
+        hash = 31 * hash + finalTurnsLeft;
+        return 31 * hash + phase.hashCode();
+    }
+}
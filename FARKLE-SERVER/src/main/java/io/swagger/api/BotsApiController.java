@@ -0,0 +1,39 @@
+package io.swagger.api;
+
+import game.bot.BotSeatFiller;
+import game.bot.BotThinkingPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contrôleur REST des bots serveur (métriques de réflexion).
+ */
+@RestController
+@RequestMapping("/bots")
+public class BotsApiController implements BotsApi {
+
+    private static final Logger log = LoggerFactory.getLogger(BotsApiController.class);
+    private final BotThinkingPool botThinkingPool;
+    private final BotSeatFiller botSeatFiller;
+
+    @Autowired
+    public BotsApiController(BotThinkingPool botThinkingPool, BotSeatFiller botSeatFiller) {
+        this.botThinkingPool = botThinkingPool;
+        this.botSeatFiller = botSeatFiller;
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Object>> getBotMetrics() {
+        log.debug("[API] GET /bots/metrics");
+        Map<String, Object> metrics = new LinkedHashMap<>(botThinkingPool.getMetrics());
+        metrics.put("seats", botSeatFiller.getMetrics());
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -7,6 +7,7 @@ package io.swagger.api;
 
 import io.swagger.model.RestDices;
 import io.swagger.model.RestPlayer;
+import io.swagger.model.TurnStatusDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -27,6 +28,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
@@ -41,72 +44,103 @@ public interface FarkleApi {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "ok ?", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))) })
     @RequestMapping(value = "/bank", produces = { "application/json" }, method = RequestMethod.POST)
-    ResponseEntity<String> bank();
+    ResponseEntity<String> bank(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the total of all selected dices in this turn", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "potential acumulated points for this turn", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class))) })
     @RequestMapping(value = "/actualTurnPoints", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<Integer> getActualTurnPoints();
+    ResponseEntity<Integer> getActualTurnPoints(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the current Player if game started, -1 if game not yet started", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "current Player ID", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class))) })
     @RequestMapping(value = "/currentPlayerId", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<Integer> getCurrentPlayerID();
+    ResponseEntity<Integer> getCurrentPlayerID(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the arrays of Dices on the Plate", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "arrays of Dices on the Plate", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestDices.class))) })
     @RequestMapping(value = "/dicesPlate", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<RestDices> getDicesPlates();
+    ResponseEntity<RestDices> getDicesPlates(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the asked Player", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "return the asked player", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestPlayer.class))) })
     @RequestMapping(value = "/player{id}", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<RestPlayer> getPlayer(@Parameter(description = "", required = true) @PathVariable("id") Integer id);
+    ResponseEntity<RestPlayer> getPlayer(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Parameter(description = "", required = true) @PathVariable("id") Integer id);
+
+    @Operation(summary = "", description = "return all the players seated at the table, in seat (playing) order, in a single call", tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "the seated players", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RestPlayer.class)))) })
+    @RequestMapping(value = "/players", produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<List<RestPlayer>> getPlayers(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the arrays of Selected Dices", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "arrays of Selected Dices", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestDices.class))) })
     @RequestMapping(value = "/selectedDices", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<RestDices> getSelectedDices();
+    ResponseEntity<RestDices> getSelectedDices(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return 0 if nothing change, 1 if something append", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class))) })
     @RequestMapping(value = "/stateChanged", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<Integer> getState();
+    ResponseEntity<Integer> getState(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
+
+    @Operation(summary = "", description = "return the full state of the table, read atomically ; the ETag is derived from the state version and an unchanged state answers 304 with no body", tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "full table state", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TurnStatusDTO.class))),
+            @ApiResponse(responseCode = "304", description = "state unchanged since the version given in If-None-Match") })
+    @RequestMapping(value = "/state", produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<byte[]> getFullState(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Parameter(in = ParameterIn.HEADER, description = "ETag of the last state received") @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch);
+
+    @Operation(summary = "", description = "return the current state version of the table ; each client keeps the last version it has seen and refreshes when the returned version is greater", tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "current state version", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class))) })
+    @RequestMapping(value = "/stateVersion", produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<Integer> getStateVersion(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
+
+    @Operation(summary = "", description = "long-polling variant of /stateVersion : the request is parked until the state version is greater than since, or until timeoutMs expires ; returns the current version in both cases", tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "current state version", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class))) })
+    @RequestMapping(value = "/stateVersion/await", produces = { "application/json" }, method = RequestMethod.GET)
+    DeferredResult<ResponseEntity<Integer>> awaitStateVersion(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Parameter(in = ParameterIn.QUERY, description = "last state version seen by the caller") @Valid @RequestParam(value = "since", required = false) Integer since, @Parameter(in = ParameterIn.QUERY, description = "maximum wait in milliseconds, clamped to 1..55000") @Valid @RequestParam(value = "timeoutMs", required = false) Long timeoutMs);
+
+    @Operation(summary = "", description = "Server-Sent Events stream of the table : a 'state' event (TurnStatusDTO, id = state version) on subscription and after every state change, a 'resync' event when a slow consumer dropped intermediate states", tags={  })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "text/event-stream of TurnStatusDTO", content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TurnStatusDTO.class))) })
+    @RequestMapping(value = "/events", produces = { "text/event-stream" }, method = RequestMethod.GET)
+    ResponseEntity<SseEmitter> streamEvents(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "return the winning Player or error if game not yet finished", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestPlayer.class))) })
     @RequestMapping(value = "/winner", produces = { "application/json" }, method = RequestMethod.GET)
-    ResponseEntity<RestPlayer> getWinner();
+    ResponseEntity<RestPlayer> getWinner(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
-    @Operation(summary = "", description = "log a player with a given name ; return the logged player if successfull. If more than two players return an error", tags={  })
+    @Operation(summary = "", description = "log a player with a given name ; return the logged player (with its gameId) if successfull. Without gameId the player joins the open table, a new table is opened when it is full", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "player logged", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestPlayer.class))) })
     @RequestMapping(value = "/name", produces = { "application/json" }, method = RequestMethod.POST)
-    ResponseEntity<RestPlayer> name(@Valid @RequestParam(value = "name", required = false) String name);
+    ResponseEntity<RestPlayer> name(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Valid @RequestParam(value = "name", required = false) String name);
 
     @Operation(summary = "", description = "logout a player and terminate the actual play", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "ok ?", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))) })
     @RequestMapping(value = "/quit", produces = { "application/json" }, method = RequestMethod.POST)
-    ResponseEntity<String> quit(@Valid @RequestParam(value = "playerId", required = false) Integer playerId);
+    ResponseEntity<String> quit(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Valid @RequestParam(value = "playerId", required = false) Integer playerId);
 
     @Operation(summary = "", description = "roll the dices on the plate", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "ok ?", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))) })
     @RequestMapping(value = "/roll", produces = { "application/json" }, method = RequestMethod.POST)
-    ResponseEntity<String> roll();
+    ResponseEntity<String> roll(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId);
 
     @Operation(summary = "", description = "select the given dices (e.g. 5 1 1)", tags={  })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "ok ?", content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))) })
     @RequestMapping(value = "/select", produces = { "application/json" }, method = RequestMethod.POST)
-    ResponseEntity<String> select(@Valid @RequestParam(value = "dices", required = false) String dices);
+    ResponseEntity<String> select(@Parameter(in = ParameterIn.PATH, description = "game table id (absent on the legacy /farkle routes)") @PathVariable(value = "gameId", required = false) Integer gameId, @Valid @RequestParam(value = "dices", required = false) String dices);
 
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package io.swagger.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import game.GameManager;
+import game.GameRegistry;
+import game.StateSnapshot;
+import game.bot.BotSeatFiller;
 import io.swagger.model.RestDices;
 import io.swagger.model.RestPlayer;
 import io.swagger.model.TurnStatusDTO;
@@ -9,107 +12,155 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur REST pour l'API Farkle
  * Version avec logs améliorés pour le suivi du respect des exigences
+ *
+ * Toutes les actions sur une table passent par GameManager.execute(...) : elles sont
+ * sérialisées dans la boîte aux lettres de la table, jamais exécutées en parallèle.
+ *
+ * Chaque route existe en deux variantes :
+ *  - /farkle/...                  -> table par défaut (compatibilité)
+ *  - /games/{gameId}/farkle/...   -> table identifiée par gameId
  */
 @RestController
-@RequestMapping("/farkle")
+@RequestMapping({"/farkle", "/games/{gameId}/farkle"})
 public class FarkleApiController implements FarkleApi {
 
     private static final Logger log = LoggerFactory.getLogger(FarkleApiController.class);
+    private static final long DEFAULT_LONG_POLL_MS = 25000L;
+    private static final long MAX_LONG_POLL_MS = 55000L;
+    /** Plancher du délai : un DeferredResult de 0 ms n'expire jamais (requête et attente garées pour de bon). */
+    private static final long MIN_LONG_POLL_MS = 1L;
     private final ObjectMapper objectMapper;
-    private final GameManager gameManager;
+    private final GameRegistry gameRegistry;
+    private final GameEventStreams eventStreams;
+    private final BotSeatFiller botSeatFiller;
 
     @Autowired
-    public FarkleApiController(ObjectMapper objectMapper, GameManager gameManager) {
+    public FarkleApiController(ObjectMapper objectMapper, GameRegistry gameRegistry, GameEventStreams eventStreams,
+                               BotSeatFiller botSeatFiller) {
         this.objectMapper = objectMapper;
-        this.gameManager = gameManager;
+        this.gameRegistry = gameRegistry;
+        this.eventStreams = eventStreams;
+        this.botSeatFiller = botSeatFiller;
         log.info("=== FarkleApiController initialisé (version conforme aux exigences) ===");
     }
 
     @Override
-    public ResponseEntity<RestPlayer> name(@Valid @RequestParam(value = "name", required = false) String name) {
-        log.info("[API] POST /farkle/name - Inscription du joueur: {}", name);
-        RestPlayer restPlayer = gameManager.addPlayer(name);
+    public ResponseEntity<RestPlayer> name(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                           @Valid @RequestParam(value = "name", required = false) String name) {
+        log.info("[API] POST /farkle/name - Inscription du joueur: {} (table={})", name, gameId);
+        RestPlayer restPlayer = (gameId != null)
+                ? gameRegistry.join(name, gameId)
+                : gameRegistry.join(name);
         if (restPlayer != null) {
-            log.info("[API] Joueur inscrit avec succès: {} (ID={})", restPlayer.getName(), restPlayer.getId());
+            log.info("[API] Joueur inscrit avec succès: {} (ID={}, table={})",
+                    restPlayer.getName(), restPlayer.getId(), restPlayer.getGameId());
+            botSeatFiller.playerJoined(gameRegistry.get(restPlayer.getGameId()));
             return new ResponseEntity<>(restPlayer, HttpStatus.OK);
         } else {
-            log.warn("[API] Inscription refusée (partie complète)");
+            log.warn("[API] Inscription refusée (table {} complète ou inconnue)", gameId);
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
     }
 
     @Override
-    public ResponseEntity<String> roll() {
-        log.info("[API] POST /farkle/roll - Joueur ID={}", gameManager.getCurrentPlayerId());
-        TurnStatusDTO dto = gameManager.roll();
+    public ResponseEntity<String> roll(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.info("[API] POST /farkle/roll - Table {}", gameManager.getGameId());
+        TurnStatusDTO dto = gameManager.execute(GameManager::roll);
         String response = toJson(dto);
         log.debug("[API] Réponse roll: {}", response);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<String> select(@Valid @RequestParam(value = "dices", required = false) String dices) {
-        log.info("[API] POST /farkle/select - Dés sélectionnés: '{}' par joueur ID={}",
-                dices, gameManager.getCurrentPlayerId());
-        TurnStatusDTO dto = gameManager.select(dices);
+    public ResponseEntity<String> select(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                         @Valid @RequestParam(value = "dices", required = false) String dices) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.info("[API] POST /farkle/select - Table {} Dés sélectionnés: '{}'", gameManager.getGameId(), dices);
+        TurnStatusDTO dto = gameManager.execute(game -> game.select(dices));
         String response = toJson(dto);
         log.debug("[API] Réponse select: {}", response);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<String> bank() {
-        log.info("[API] POST /farkle/bank - Joueur ID={}", gameManager.getCurrentPlayerId());
-        TurnStatusDTO dto = gameManager.bank();
+    public ResponseEntity<String> bank(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.info("[API] POST /farkle/bank - Table {}", gameManager.getGameId());
+        TurnStatusDTO dto = gameManager.execute(GameManager::bank);
         String response = toJson(dto);
         log.debug("[API] Réponse bank: {}", response);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<String> quit(@Valid @RequestParam(value = "playerId", required = false) Integer playerId) {
-        log.info("[API] POST /farkle/quit - Joueur ID={} quitte", playerId);
-        gameManager.quit(playerId);
-        return ResponseEntity.ok(toJson(gameManager.getGameState()));
+    public ResponseEntity<String> quit(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                       @Valid @RequestParam(value = "playerId", required = false) Integer playerId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.info("[API] POST /farkle/quit - Table {} Joueur ID={} quitte", gameManager.getGameId(), playerId);
+        TurnStatusDTO dto = gameManager.execute(game -> {
+            game.quit(playerId);
+            return game.getGameState();
+        });
+        return ResponseEntity.ok(toJson(dto));
     }
 
     @Override
-    public ResponseEntity<Integer> getActualTurnPoints() {
-        int points = gameManager.getActualTurnPoints();
+    public ResponseEntity<Integer> getActualTurnPoints(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        int points = gameManager.execute(GameManager::getActualTurnPoints);
         log.debug("[API] GET /farkle/actualTurnPoints -> {}", points);
         return ResponseEntity.ok(points);
     }
 
     @Override
-    public ResponseEntity<Integer> getCurrentPlayerID() {
-        int id = gameManager.getCurrentPlayerId();
+    public ResponseEntity<Integer> getCurrentPlayerID(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        int id = gameManager.execute(GameManager::getCurrentPlayerId);
         log.debug("[API] GET /farkle/currentPlayerId -> {}", id);
         return ResponseEntity.ok(id);
     }
 
     @Override
-    public ResponseEntity<RestDices> getDicesPlates() {
-        RestDices dices = gameManager.getDicePlate();
+    public ResponseEntity<RestDices> getDicesPlates(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        RestDices dices = gameManager.execute(GameManager::getDicePlate);
         log.debug("[API] GET /farkle/dicesPlate -> {} dés",
                 dices.getDices() != null ? dices.getDices().size() : 0);
         return ResponseEntity.ok(dices);
     }
 
     @Override
-    public ResponseEntity<RestPlayer> getPlayer(@PathVariable("id") Integer id) {
+    public ResponseEntity<RestPlayer> getPlayer(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                                @PathVariable("id") Integer id) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
         log.debug("[API] GET /farkle/player/{}", id);
-        RestPlayer player = gameManager.getRestPlayer(id);
+        RestPlayer player = gameManager.execute(game -> game.getRestPlayer(id));
         if (player != null) {
             return new ResponseEntity<>(player, HttpStatus.OK);
         }
@@ -118,8 +169,18 @@ public class FarkleApiController implements FarkleApi {
     }
 
     @Override
-    public ResponseEntity<RestDices> getSelectedDices() {
-        RestDices dices = gameManager.getSelectedDices();
+    public ResponseEntity<List<RestPlayer>> getPlayers(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.debug("[API] GET /farkle/players");
+        return new ResponseEntity<>(gameManager.execute(GameManager::getRestPlayers), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<RestDices> getSelectedDices(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        RestDices dices = gameManager.execute(GameManager::getSelectedDices);
         log.debug("[API] GET /farkle/selectedDices -> {} dés",
                 dices.getDices() != null ? dices.getDices().size() : 0);
         return ResponseEntity.ok(dices);
@@ -130,16 +191,103 @@ public class FarkleApiController implements FarkleApi {
      * Doit retourner 1 une seule fois après chaque changement, puis 0
      */
     @Override
-    public ResponseEntity<Integer> getState() {
-        Integer state = gameManager.getState();
-        log.info("[API] GET /farkle/stateChanged -> {} (EXIGENCE 1)", state);
+    public ResponseEntity<Integer> getState(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        Integer state = gameManager.execute(GameManager::getState);
+        log.info("[API] GET /farkle/stateChanged (table {}) -> {} (EXIGENCE 1)", gameManager.getGameId(), state);
         return ResponseEntity.ok(state);
     }
 
+    /**
+     * Endpoint /farkle/state : état complet de la table en une seule lecture atomique.
+     * ETag = version de l'état ; si le client présente la version courante (If-None-Match),
+     * réponse 304 sans corps et sans passer par l'acteur de la table.
+     * Le JSON est construit une fois par version (StateSnapshot) puis servi tel quel à tous
+     * les lecteurs de cette version ; seul le premier passe par l'acteur.
+     */
     @Override
-    public ResponseEntity<RestPlayer> getWinner() {
+    public ResponseEntity<byte[]> getFullState(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                               @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        if (ifNoneMatch != null) {
+            // Une seule lecture : le 304 porte l'ETag de la version que le client a déjà
+            String currentETag = toETag(gameManager, gameManager.getStateVersion());
+            if (etagMatches(ifNoneMatch, currentETag)) {
+                log.debug("[API] GET /farkle/state (table {}) -> 304", gameManager.getGameId());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
+        StateSnapshot snapshot = gameManager.getCachedSnapshot();
+        if (snapshot == null) {
+            snapshot = gameManager.execute(GameManager::snapshot);
+        }
+        log.debug("[API] GET /farkle/state (table {}) -> v{}", gameManager.getGameId(), snapshot.getVersion());
+        return ResponseEntity.ok()
+                .eTag(toETag(gameManager, snapshot.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.toJson(objectMapper));
+    }
+
+    /**
+     * Endpoint /farkle/stateVersion : curseur de version par client.
+     * Ne consomme rien, contrairement à /stateChanged : le client compare la version reçue
+     * à la dernière qu'il a vue (pour attendre un changement, voir /stateVersion/await).
+     */
+    @Override
+    public ResponseEntity<Integer> getStateVersion(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        int version = gameManager.getStateVersion();
+        log.debug("[API] GET /farkle/stateVersion (table {}) -> {}", gameManager.getGameId(), version);
+        return ResponseEntity.ok(version);
+    }
+
+    /**
+     * Endpoint /farkle/stateVersion/await : long-polling.
+     * La requête est "garée" (servlet asynchrone) sans occuper de thread Tomcat,
+     * puis réveillée par markStateChanged() ou par l'expiration du délai.
+     */
+    @Override
+    public DeferredResult<ResponseEntity<Integer>> awaitStateVersion(@PathVariable(value = "gameId", required = false) Integer gameId,
+                                                                    @Valid @RequestParam(value = "since", required = false) Integer since,
+                                                                    @Valid @RequestParam(value = "timeoutMs", required = false) Long timeoutMs) {
+        long timeout = (timeoutMs == null) ? DEFAULT_LONG_POLL_MS : Math.max(MIN_LONG_POLL_MS, Math.min(timeoutMs, MAX_LONG_POLL_MS));
+        DeferredResult<ResponseEntity<Integer>> deferred = new DeferredResult<>(timeout);
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) {
+            deferred.setResult(tableNotFound(gameId));
+            return deferred;
+        }
+
+        CompletableFuture<Integer> waiter = gameManager.awaitVersionAfter(since != null ? since : -1);
+        waiter.thenAccept(version -> deferred.setResult(ResponseEntity.ok(version)));
+        deferred.onTimeout(() -> {
+            gameManager.cancelVersionWait(waiter);
+            deferred.setResult(ResponseEntity.ok(gameManager.getStateVersion()));
+        });
+        deferred.onCompletion(() -> gameManager.cancelVersionWait(waiter));
+        return deferred;
+    }
+
+    /**
+     * Endpoint /farkle/events : flux SSE des états de la table (voir GameEventStreams).
+     */
+    @Override
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
+        log.info("[API] GET /farkle/events - Table {}", gameManager.getGameId());
+        return ResponseEntity.ok(eventStreams.subscribe(gameManager));
+    }
+
+    @Override
+    public ResponseEntity<RestPlayer> getWinner(@PathVariable(value = "gameId", required = false) Integer gameId) {
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) return tableNotFound(gameId);
         log.debug("[API] GET /farkle/winner");
-        RestPlayer winner = gameManager.getWinner();
+        RestPlayer winner = gameManager.execute(GameManager::getWinner);
         if (winner != null) {
             log.info("[API] Gagnant trouvé: {} avec {} points", winner.getName(), winner.getScore());
             return new ResponseEntity<>(winner, HttpStatus.OK);
@@ -147,6 +295,29 @@ public class FarkleApiController implements FarkleApi {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /** ETag fort "table.version" (la version ne fait que croître pendant la vie de la table). */
+    private static String toETag(GameManager gameManager, int version) {
+        return "\"" + gameManager.getGameId() + "." + version + "\"";
+    }
+
+    /** If-None-Match peut contenir plusieurs ETags, éventuellement faibles (W/"..."), ou "*". */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Réponse commune quand l'identifiant de table ne correspond à aucune partie.
+     */
+    private <T> ResponseEntity<T> tableNotFound(Integer gameId) {
+        log.warn("[API] Table {} introuvable", gameId);
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Utilitaire pour sérialiser les DTOs en JSON
      */
@@ -158,4 +329,4 @@ public class FarkleApiController implements FarkleApi {
             return "{\"error\":\"Erreur interne du serveur\"}";
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package io.swagger.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import game.GameManager;
+import game.StateListener;
+import game.StateSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion "push" des changements d'état des tables : flux Server-Sent Events
+ * (text/event-stream) et canaux WebSocket (voir GameWebSocketHandler).
+ *
+ * L'acteur de la table construit l'état une seule fois par version (StateSnapshot, dont le JSON
+ * est lui aussi calculé une seule fois) et le dépose dans la file
+ * BORNÉE de chaque abonné (jamais d'écriture réseau sur le thread de jeu). Un pool dédié
+ * vide ces files vers les connexions HTTP. Si un abonné lent laisse sa file se remplir,
+ * elle est vidée et l'abonné reçoit un événement "resync" suivi du dernier état :
+ * la mémoire par abonné reste bornée quel que soit son retard.
+ *
+ * Événements SSE émis :
+ *  - "state"  : TurnStatusDTO complet (id = version de l'état)
+ *  - "resync" : des états intermédiaires ont été perdus, recharger l'état complet
+ */
+@Component
+public class GameEventStreams {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEventStreams.class);
+
+    /** Nombre maximal d'états en attente par abonné avant de passer en "resync". */
+    static final int SUBSCRIBER_BUFFER = 16;
+    /** Durée de vie d'une connexion SSE ; le client (EventSource) se reconnecte ensuite. */
+    private static final long STREAM_TIMEOUT_MS = 30L * 60L * 1000L;
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService dispatcher;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public GameEventStreams(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        AtomicInteger threadCounter = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "Farkle-Push-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Destination réseau d'un abonné (connexion SSE, session WebSocket...).
+     * Toujours appelée depuis le pool dispatcher, jamais en parallèle pour un même abonné.
+     */
+    interface Sink {
+        void sendState(StateSnapshot snapshot) throws IOException;
+
+        void sendResync(int version) throws IOException;
+
+        /** La connexion est abandonnée (erreur d'écriture) : la fermer côté serveur. */
+        void abort(Exception cause);
+    }
+
+    /**
+     * Ouvre un flux SSE sur une table : l'état courant est envoyé immédiatement,
+     * puis chaque nouvelle version.
+     */
+    public SseEmitter subscribe(GameManager gameManager) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Subscription subscription = attach(gameManager, new Sink() {
+            @Override
+            public void sendState(StateSnapshot snapshot) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(snapshot.getVersion()))
+                        .name("state")
+                        .data(snapshot.toJsonString(objectMapper), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void sendResync(int version) throws IOException {
+                emitter.send(SseEmitter.event().name("resync").data(version));
+            }
+
+            @Override
+            public void abort(Exception cause) {
+                emitter.completeWithError(cause);
+            }
+        });
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
+    /**
+     * Abonne une destination quelconque aux états d'une table.
+     * L'abonnement et le premier état sont faits sur l'acteur : aucune version ne peut se glisser entre les deux.
+     * La connexion peut se fermer avant que l'acteur n'exécute l'abonnement : le listener est alors
+     * retiré aussitôt ajouté (sinon il resterait inscrit sur la table jusqu'à son expulsion).
+     * @return L'abonnement, à fermer quand la connexion se termine.
+     */
+    Subscription attach(GameManager gameManager, Sink sink) {
+        Subscription subscription = new Subscription(gameManager, sink);
+        gameManager.getActor().tell(() -> {
+            gameManager.addStateListener(subscription);
+            if (subscription.closed.get()) {
+                gameManager.removeStateListener(subscription); // fermé avant (ou pendant) l'abonnement
+                return;
+            }
+            subscription.onStateChanged(gameManager.snapshot());
+        });
+        log.info("[PUSH] Abonnement table {} ({} abonnés)", gameManager.getGameId(), subscriberCount.incrementAndGet());
+        return subscription;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Abonné : file bornée + drapeau "resync" + vidage sérialisé sur le pool dispatcher.
+     */
+    final class Subscription implements StateListener {
+        private final GameManager gameManager;
+        private final Sink sink;
+        private final ArrayBlockingQueue<StateSnapshot> pending = new ArrayBlockingQueue<>(SUBSCRIBER_BUFFER);
+        private final AtomicBoolean resyncRequired = new AtomicBoolean(false);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        Subscription(GameManager gameManager, Sink sink) {
+            this.gameManager = gameManager;
+            this.sink = sink;
+        }
+
+        @Override
+        public void onStateChanged(StateSnapshot snapshot) {
+            if (closed.get()) return;
+            if (!pending.offer(snapshot)) {
+                // Abonné trop lent : on jette le retard et on lui demande de se resynchroniser.
+                pending.clear();
+                resyncRequired.set(true);
+                pending.offer(snapshot);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StateSnapshot snapshot;
+                while (!closed.get()) {
+                    if (resyncRequired.getAndSet(false)) {
+                        sink.sendResync(gameManager.getStateVersion());
+                    }
+                    if ((snapshot = pending.poll()) == null) break;
+                    sink.sendState(snapshot);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("[PUSH] Connexion fermée par le client (table {}): {}", gameManager.getGameId(), e.getMessage());
+                close();
+                sink.abort(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && (!pending.isEmpty() || resyncRequired.get())) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                gameManager.removeStateListener(this);
+                pending.clear();
+                log.info("[PUSH] Désabonnement table {} ({} abonnés)", gameManager.getGameId(), subscriberCount.decrementAndGet());
+            }
+        }
+    }
+}
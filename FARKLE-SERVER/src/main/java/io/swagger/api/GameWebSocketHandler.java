@@ -0,0 +1,231 @@
+package io.swagger.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import game.GameManager;
+import game.GameRegistry;
+import game.StateSnapshot;
+import io.swagger.model.TurnStatusDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Canal WebSocket bidirectionnel d'une table : le client envoie ses actions et reçoit,
+ * sur la même connexion, le résultat de chaque action ET les changements d'état
+ * provoqués par l'adversaire. Remplace la séquence "POST action + GET d'état" par action.
+ *
+ * Commandes reçues (JSON) :
+ *   {"action":"ROLL|SELECT|BANK|QUIT|STATE", "dices":"1,5", "playerId":0, "requestId":42}
+ *
+ * Messages envoyés (JSON) :
+ *  - {"type":"result", "requestId":42, "version":V, "state":{TurnStatusDTO}} : réponse à une commande
+ *  - {"type":"state",  "version":V, "state":{TurnStatusDTO}}                 : nouvel état de la table
+ *  - {"type":"resync", "version":V}                                          : états perdus, recharger
+ *  - {"type":"error",  "requestId":42, "message":"..."}                      : commande refusée
+ *
+ * Les actions passent par GameManager.execute(...) exactement comme les routes REST ;
+ * les états poussés suivent le même chemin borné que le flux SSE (GameEventStreams).
+ */
+@Component
+public class GameWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketHandler.class);
+
+    private static final String ATTR_GAME = "farkle.game";
+    private static final String ATTR_OUTBOUND = "farkle.outbound";
+    private static final String ATTR_SUBSCRIPTION = "farkle.subscription";
+
+    /** Temps maximal d'un envoi bloqué avant de fermer une session (client figé). */
+    private static final int SEND_TIME_LIMIT_MS = 10000;
+    /** Taille maximale des messages en attente d'envoi pour une session. */
+    private static final int SEND_BUFFER_LIMIT = 512 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final GameRegistry gameRegistry;
+    private final GameEventStreams eventStreams;
+
+    @Autowired
+    public GameWebSocketHandler(ObjectMapper objectMapper, GameRegistry gameRegistry, GameEventStreams eventStreams) {
+        this.objectMapper = objectMapper;
+        this.gameRegistry = gameRegistry;
+        this.eventStreams = eventStreams;
+    }
+
+    /** Commande reçue d'un client. */
+    public static class GameCommand {
+        public String action;
+        public String dices;
+        public Integer playerId;
+        public Long requestId;
+    }
+
+    /** Message envoyé à un client. */
+    public static class GameMessage {
+        public String type;
+        public Long requestId;
+        public Integer version;
+        /** TurnStatusDTO, ou son JSON déjà sérialisé (RawValue) pour les états poussés. */
+        public Object state;
+        public String message;
+
+        static GameMessage of(String type, Long requestId, Integer version, Object state) {
+            GameMessage m = new GameMessage();
+            m.type = type;
+            m.requestId = requestId;
+            m.version = version;
+            m.state = state;
+            return m;
+        }
+
+        static GameMessage error(Long requestId, String message) {
+            GameMessage m = of("error", requestId, null, null);
+            m.message = message;
+            return m;
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Integer gameId = parseGameId(session.getUri());
+        GameManager gameManager = gameRegistry.get(gameId);
+        if (gameManager == null) {
+            log.warn("[WS] Connexion refusée : table {} introuvable", gameId);
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Table " + gameId + " introuvable"));
+            return;
+        }
+        // Envois concurrents (réponses + pushes) sérialisés et bornés par le décorateur.
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        GameEventStreams.Subscription subscription = eventStreams.attach(gameManager, new GameEventStreams.Sink() {
+            @Override
+            public void sendState(StateSnapshot snapshot) throws IOException {
+                // JSON de l'état partagé par tous les abonnés de cette version : pas de re-sérialisation.
+                RawValue state = new RawValue(snapshot.toJsonString(objectMapper));
+                send(outbound, GameMessage.of("state", null, snapshot.getVersion(), state));
+            }
+
+            @Override
+            public void sendResync(int version) throws IOException {
+                send(outbound, GameMessage.of("resync", null, version, null));
+            }
+
+            @Override
+            public void abort(Exception cause) {
+                closeQuietly(outbound, CloseStatus.SERVER_ERROR);
+            }
+        });
+        session.getAttributes().put(ATTR_GAME, gameManager);
+        session.getAttributes().put(ATTR_OUTBOUND, outbound);
+        session.getAttributes().put(ATTR_SUBSCRIPTION, subscription);
+        if (!session.isOpen()) {
+            release(session); // fermée avant l'enregistrement de l'abonnement : afterConnectionClosed ne l'a pas vu
+            return;
+        }
+        log.info("[WS] Session {} ouverte sur la table {}", session.getId(), gameManager.getGameId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        GameManager gameManager = (GameManager) session.getAttributes().get(ATTR_GAME);
+        WebSocketSession outbound = (WebSocketSession) session.getAttributes().get(ATTR_OUTBOUND);
+        if (gameManager == null || outbound == null) return;
+
+        GameCommand command;
+        try {
+            command = objectMapper.readValue(message.getPayload(), GameCommand.class);
+        } catch (IOException e) {
+            send(outbound, GameMessage.error(null, "Commande illisible: " + e.getMessage()));
+            return;
+        }
+        String action = (command.action != null ? command.action.trim().toUpperCase() : "");
+        log.info("[WS] Table {} - commande {} (requestId={})", gameManager.getGameId(), action, command.requestId);
+
+        GameMessage reply;
+        switch (action) {
+            case "ROLL":
+                reply = gameManager.execute(game -> result(command, game, game.roll()));
+                break;
+            case "SELECT":
+                reply = gameManager.execute(game -> result(command, game, game.select(command.dices)));
+                break;
+            case "BANK":
+                reply = gameManager.execute(game -> result(command, game, game.bank()));
+                break;
+            case "QUIT":
+                reply = gameManager.execute(game -> {
+                    game.quit(command.playerId);
+                    return result(command, game, game.getGameState());
+                });
+                break;
+            case "STATE": {
+                StateSnapshot snapshot = gameManager.getCachedSnapshot();
+                if (snapshot == null) snapshot = gameManager.execute(GameManager::snapshot);
+                reply = GameMessage.of("result", command.requestId, snapshot.getVersion(),
+                        new RawValue(snapshot.toJsonString(objectMapper)));
+                break;
+            }
+            default:
+                reply = GameMessage.error(command.requestId, "Action inconnue: " + command.action);
+        }
+        send(outbound, reply);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        log.debug("[WS] Erreur de transport (session {}): {}", session.getId(), exception.getMessage());
+        release(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        log.info("[WS] Session {} fermée ({})", session.getId(), status);
+        release(session);
+    }
+
+    /** Le résultat et sa version sont lus sur l'acteur, dans la même action. */
+    private static GameMessage result(GameCommand command, GameManager game, TurnStatusDTO dto) {
+        return GameMessage.of("result", command.requestId, game.getStateVersion(), dto);
+    }
+
+    private void release(WebSocketSession session) {
+        Object subscription = session.getAttributes().remove(ATTR_SUBSCRIPTION);
+        if (subscription != null) {
+            ((GameEventStreams.Subscription) subscription).close();
+        }
+    }
+
+    private void send(WebSocketSession outbound, GameMessage message) throws IOException {
+        outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Lit le paramètre ?gameId=N de l'URL de connexion (null si absent ou invalide). */
+    private static Integer parseGameId(URI uri) {
+        if (uri == null || uri.getQuery() == null) return null;
+        for (String param : uri.getQuery().split("&")) {
+            if (param.startsWith("gameId=")) {
+                try {
+                    return Integer.valueOf(param.substring("gameId=".length()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package io.swagger.api;
+
+import game.GameRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Contrôleur REST du registre des tables (métriques d'hébergement et d'expulsion).
+ */
+@RestController
+@RequestMapping("/games")
+public class GamesApiController implements GamesApi {
+
+    private static final Logger log = LoggerFactory.getLogger(GamesApiController.class);
+    private final GameRegistry gameRegistry;
+
+    @Autowired
+    public GamesApiController(GameRegistry gameRegistry) {
+        this.gameRegistry = gameRegistry;
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Object>> getGameMetrics() {
+        log.debug("[API] GET /games/metrics");
+        return ResponseEntity.ok(gameRegistry.getMetrics());
+    }
+}
@@ -0,0 +1,72 @@
+package io.swagger.api;
+
+import game.Matchmaker;
+import io.swagger.model.RestPlayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.validation.Valid;
+import java.util.Map;
+
+/**
+ * Contrôleur REST du salon : file d'attente et appariement sur des tables neuves.
+ * La requête /join est suspendue (long-polling) jusqu'à l'appariement ; aucun thread
+ * Tomcat n'attend pendant ce temps.
+ */
+@RestController
+@RequestMapping("/matchmaking")
+public class MatchmakingApiController implements MatchmakingApi {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingApiController.class);
+    private static final long DEFAULT_WAIT_MS = 25000L;
+    private static final long MAX_WAIT_MS = 55000L;
+    /** Plancher du délai : un DeferredResult de 0 ms n'expire jamais. */
+    private static final long MIN_WAIT_MS = 1L;
+    private final Matchmaker matchmaker;
+
+    @Autowired
+    public MatchmakingApiController(Matchmaker matchmaker) {
+        this.matchmaker = matchmaker;
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<RestPlayer>> joinQueue(@Valid @RequestParam(value = "name", required = false) String name,
+                                                                @Valid @RequestParam(value = "skill", required = false) Integer skill,
+                                                                @Valid @RequestParam(value = "timeoutMs", required = false) Long timeoutMs) {
+        long timeout = (timeoutMs == null) ? DEFAULT_WAIT_MS : Math.max(MIN_WAIT_MS, Math.min(timeoutMs, MAX_WAIT_MS));
+        DeferredResult<ResponseEntity<RestPlayer>> deferred = new DeferredResult<>(timeout);
+        log.info("[API] POST /matchmaking/join - Joueur: {} (niveau={})", name, skill);
+
+        Matchmaker.Ticket ticket = matchmaker.join(name, skill);
+        ticket.getResult().thenAccept(player -> {
+            if (player != null) {
+                log.info("[API] Joueur {} apparié sur la table {}", player.getName(), player.getGameId());
+                deferred.setResult(ResponseEntity.ok(player));
+            }
+        });
+        deferred.onTimeout(() -> {
+            if (matchmaker.cancel(ticket)) {
+                log.info("[API] Aucun adversaire pour {} en {} ms", name, timeout);
+                deferred.setResult(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+            } else {
+                RestPlayer player = ticket.getResult().getNow(null);
+                deferred.setResult(player != null ? ResponseEntity.ok(player) : new ResponseEntity<>(HttpStatus.ACCEPTED));
+            }
+        });
+        deferred.onError(error -> matchmaker.cancel(ticket));
+        return deferred;
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Object>> getMatchmakingMetrics() {
+        log.debug("[API] GET /matchmaking/metrics");
+        return ResponseEntity.ok(matchmaker.getMetrics());
+    }
+}
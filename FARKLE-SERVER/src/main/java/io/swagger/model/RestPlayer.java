@@ -40,6 +40,12 @@ public class RestPlayer   {
   @JsonSetter(nulls = Nulls.FAIL)    // FAIL setting if the value is null
   private String name = null;
 
+  @JsonProperty("gameId")
+
+  @JsonInclude(JsonInclude.Include.NON_ABSENT)  // Exclude from JSON if absent
+  @JsonSetter(nulls = Nulls.FAIL)    // FAIL setting if the value is null
+  private Integer gameId = null;
+
 
   public RestPlayer id(Integer id) { 
 
@@ -110,6 +116,29 @@ public class RestPlayer   {
     this.name = name;
   }
 
+  public RestPlayer gameId(Integer gameId) { 
+
+    this.gameId = gameId;
+    return this;
+  }
+
+  /**
+   * Get gameId
+   * @return gameId
+   **/
+  
+  @Schema(description = "")
+  
+  public Integer getGameId() {  
+    return gameId;
+  }
+
+
+
+  public void setGameId(Integer gameId) { 
+    this.gameId = gameId;
+  }
+
   @Override
   public boolean equals(java.lang.Object o) {
     if (this == o) {
@@ -121,12 +150,13 @@ public class RestPlayer   {
     RestPlayer restPlayer = (RestPlayer) o;
     return Objects.equals(this.id, restPlayer.id) &&
         Objects.equals(this.score, restPlayer.score) &&
-        Objects.equals(this.name, restPlayer.name);
+        Objects.equals(this.name, restPlayer.name) &&
+        Objects.equals(this.gameId, restPlayer.gameId);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, score, name);
+    return Objects.hash(id, score, name, gameId);
   }
 
   @Override
@@ -137,6 +167,7 @@ public class RestPlayer   {
     sb.append("    id: ").append(toIndentedString(id)).append("\n");
     sb.append("    score: ").append(toIndentedString(score)).append("\n");
     sb.append("    name: ").append(toIndentedString(name)).append("\n");
+    sb.append("    gameId: ").append(toIndentedString(gameId)).append("\n");
     sb.append("}");
     return sb.toString();
   }
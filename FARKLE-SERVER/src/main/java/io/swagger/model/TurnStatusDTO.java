@@ -15,18 +15,34 @@ public class TurnStatusDTO {
     public String opponentPlayerName;
     public int opponentPlayerScore;
 
+    // Places de la table, dans l'ordre de jeu (2 à 8 ; l'adversaire ci-dessus est le joueur suivant)
+    public List<RestPlayer> seats;             // Une entrée compacte par place : id, nom, score
+    public int currentSeat = -1;               // Indice du joueur courant dans seats (-1 avant le début de partie)
+    public int finalTurnsLeft = -1;            // Dernier tour : joueurs qui joueront encore après le courant (-1 si pas commencé)
+
     // État du Plateau et du Tour
     public List<Integer> diceOnPlate;         // Dés actuellement sur le plateau à sélectionner/lancer
     public List<Integer> keptDiceThisTurn;    // Dés déjà sélectionnés et mis de côté ce tour-ci
     public int tempScore;                     // Score accumulé dans le tour courant
+    public Long turnDeadline;                  // Heure limite du tour (ms depuis l'epoch, horloge serveur), null si pas de limite
 
     // État Général du Jeu et Guidage Client
     public String gameState;                   // Ex: "WAITING_FOR_ROLL", "WAITING_FOR_SELECTION", "HOT_DICE_CHOICE", "FARKLE_TURN_ENDED", "TURN_BANKED", "GAME_OVER"
     public String immersiveMessage;            // Message principal thématique pour le joueur (prompt, annonce majeure)
     public List<String> turnEvents;            // Log des événements/scores (ex: "Brelan de 5 ! +500pts", "Dé [1] gardé.")
-    public List<Map<String, String>> combinationHints; // Liste de Map pour les hints (ex: {"combo": "Trois 1", "points": "1000 pts"})
+    public List<Map<String, String>> combinationHints; // Une ligne par façon légale de garder (ex: {"combo": "[1] [1] [1]", "points": "1000 pts", "remainingDice": "3"})
     public List<String> availableActions;      // Actions possibles pour le joueur (ex: "ROLL", "SELECT_DICE", "BANK", "CHOOSE_HOT_DICE_ROLL", "CHOOSE_HOT_DICE_BANK")
 
+    // Coup conseillé (stratégie qui maximise l'espérance de points du tour)
+    public String recommendedAction;           // "ROLL", "SELECT_DICE" ou "BANK" (null si aucun coup à jouer)
+    public List<Integer> recommendedDice;      // Dés à garder quand recommendedAction = "SELECT_DICE"
+    public Double winProbability;              // Probabilité de victoire du joueur courant (0..1, jeu optimal), null si inconnue
+
+    // Risque du prochain lancer (null si aucun lancer n'est possible)
+    public Integer diceToRoll;                 // Nombre de dés du prochain lancer (6 en début de tour ou après Hot Dice)
+    public Double farkleProbability;           // Probabilité exacte de Farkle sur ce lancer
+    public Double expectedRollGain;            // Espérance des points gagnés par ce lancer (Farkle = 0, hors points du tour)
+
     // Fin de Partie
     public String winningPlayerName;
     public int winningPlayerScore;
@@ -37,6 +53,8 @@ public class TurnStatusDTO {
         this.turnEvents = new ArrayList<>();
         this.combinationHints = new ArrayList<>();
         this.availableActions = new ArrayList<>();
+        this.recommendedDice = new ArrayList<>();
+        this.seats = new ArrayList<>();
     }
 }
 
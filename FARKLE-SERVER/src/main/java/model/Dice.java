@@ -1,6 +1,6 @@
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Représente un dé à six faces unique dans le jeu.
@@ -33,9 +33,10 @@ public class Dice {
     /**
      * Simule le lancer du dé.
      * Assigne une nouvelle valeur aléatoire (un entier entre 1 et 6 inclus) à l'attribut 'value'.
+     * Utilise le générateur du thread courant : pas de nouveau Random (ni de graine) à chaque lancer.
      */
     public void roll() {
-        this.value = new Random().nextInt(6) + 1;
+        this.value = ThreadLocalRandom.current().nextInt(1, 7);
     }
 
     /**
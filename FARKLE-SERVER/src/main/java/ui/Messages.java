@@ -3,6 +3,7 @@ package ui;
 import model.Dice;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -12,7 +13,6 @@ import java.util.stream.Collectors;
  */
 public class Messages {
 
-    private static final Random random = new Random();
     public static final String RESET = "\u001B[0m"; // Réinitialise la couleur de la console
 
     // 🎉 Message de bienvenue
@@ -32,7 +32,7 @@ public class Messages {
                 "🔥 Tous tes dés scorent ! (Banker) ou rejouer le destin avec 6 nouveaux dés ?",
                 "🔥 Jackpot temporaire: " + tempScore + " points. Tente le diable ou mets à l'abri ?"
         };
-        return variants[new java.util.Random().nextInt(variants.length)];
+        return variants[ThreadLocalRandom.current().nextInt(variants.length)];
     }
     public static String selectPrompt() {
         return "💡 Quels trésors vas-tu garder ? Sélectionne tes dés scorants !";
@@ -192,7 +192,7 @@ public class Messages {
         List<String> available = Arrays.stream(options)
                 .filter(c -> !usedColors.contains(c))
                 .collect(Collectors.toList());
-        String color = available.isEmpty() ? "\u001B[37m" : available.get(random.nextInt(available.size()));
+        String color = available.isEmpty() ? "\u001B[37m" : available.get(ThreadLocalRandom.current().nextInt(available.size()));
         usedColors.add(color);
         return color;
     }
@@ -212,7 +212,7 @@ public class Messages {
 
 
     private static String pick(List<String> list) {
-        return list.get(random.nextInt(list.size()));
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
     }
 
     public static void afficherCombinaisonsGagnantes() {
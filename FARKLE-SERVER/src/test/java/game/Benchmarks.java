@@ -0,0 +1,45 @@
+package game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Outils communs des mesures de src/test lancées à la main (classes *Benchmark, ignorées par Surefire).
+ */
+final class Benchmarks {
+
+    /** Sortie muette, pour couper le journal des tables pendant une mesure. */
+    static final PrintStream NULL_OUT = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Octets alloués jusqu'ici par le thread courant, ou -1 si la JVM ne les compte pas
+     * (extension HotSpot com.sun.management, absente de certaines JVM).
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** Octets alloués par opération, pour l'affichage ("n/d" si la JVM ne les compte pas). */
+    static String bytesPerOp(long before, long after, long operations) {
+        if (before < 0 || after < 0) return "n/d";
+        return String.format("%.1f", (after - before) / (double) operations);
+    }
+}
@@ -0,0 +1,43 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * Compare les lancers de la source d'une table ({@link DiceSource#seeded}) à l'ancien tirage
+ * ({@code new Random().nextInt(6) + 1} par dé, comme model.Dice.roll()) : lancers de 6 dés par seconde
+ * et octets alloués par lancer.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes game.DiceSourceBenchmark [lancers par passage]}
+ */
+public class DiceSourceBenchmark {
+
+    public static void main(String[] args) {
+        int rolls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        DiceSource source = DiceSource.seeded(42);
+        long sink = 0;
+        long[] nanos = new long[2];
+        String[] bytes = new String[2];
+        for (int pass = 0; pass < 5; pass++) { // les premiers passages chauffent le JIT
+            for (int mode = 0; mode < 2; mode++) {
+                long allocated = Benchmarks.allocatedBytes();
+                long start = System.nanoTime();
+                for (int r = 0; r < rolls; r++) {
+                    int hand = DiceHand.EMPTY;
+                    for (int d = 0; d < DiceHand.MAX_DICE; d++) {
+                        hand = DiceHand.add(hand, mode == 0 ? new Random().nextInt(6) + 1 : source.nextFace());
+                    }
+                    sink += hand;
+                }
+                nanos[mode] = System.nanoTime() - start;
+                bytes[mode] = Benchmarks.bytesPerOp(allocated, Benchmarks.allocatedBytes(), rolls);
+            }
+        }
+        String[] labels = {"new Random() par dé", "DiceSource.seeded"};
+        for (int mode = 0; mode < 2; mode++) {
+            System.out.printf("%-20s : %,12.0f lancers de 6 dés/s | %6s octets alloués par lancer%n",
+                    labels[mode], rolls / (nanos[mode] / 1e9), bytes[mode]);
+        }
+        System.out.printf("Gain : x%.1f (contrôle %d)%n", nanos[0] / (double) nanos[1], sink);
+    }
+}
@@ -0,0 +1,95 @@
+package game;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mesure le débit des actions de jeu (lancer, mise en banque) selon la taille du pool des acteurs :
+ * 1, 2, 4... threads jusqu'au maximum demandé. Chaque table enchaîne ses actions par sa boîte aux
+ * lettres (une action n'est déposée qu'après la précédente, comme un client qui attend sa réponse) ;
+ * une partie terminée est remise à zéro.
+ *
+ * Le gain affiché est relatif à 1 thread ; au-delà du nombre de cœurs il ne mesure plus que la
+ * contention (pas de parallélisme réel) : lancer sur une machine d'au moins 4 cœurs pour un résultat utile.
+ * Le journal des tables (System.out) est coupé pendant la mesure, sauf avec l'option {@code --log}.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes game.GameActorBenchmark [threads max] [tables] [actions par table] [--log]}
+ */
+public class GameActorBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, cores);
+        int tables = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int actions = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        boolean log = args.length > 3 && "--log".equals(args[3]);
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        TurnPolicy turnPolicy = TurnPolicy.loadOrSolve(scoreCalculator);
+        TurnClock noTimeout = new TurnClock(null, 0);
+        PrintStream console = System.out;
+
+        console.printf("%d cœurs disponibles, %d tables x %d actions%n", cores, tables, actions);
+        double single = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            GameManager[] games = new GameManager[tables];
+            double perSecond = 0;
+            try {
+                if (!log) System.setOut(new PrintStream(NULL_OUTPUT));
+                for (int i = 0; i < tables; i++) {
+                    games[i] = new GameManager(i, 2, scoreCalculator, turnPolicy, () -> null, pool, noTimeout, i);
+                }
+                for (int pass = 0; pass < 3; pass++) { // les premiers passages chauffent le JIT
+                    CountDownLatch done = new CountDownLatch(tables);
+                    long start = System.nanoTime();
+                    for (GameManager game : games) {
+                        drive(game, actions, done);
+                    }
+                    done.await();
+                    perSecond = (double) tables * actions / ((System.nanoTime() - start) / 1e9);
+                }
+            } finally {
+                System.setOut(console);
+                pool.shutdown();
+            }
+            if (threads == 1) single = perSecond;
+            console.printf("%2d threads : %,12.0f actions/s  x%.2f%s%n", threads, perSecond, perSecond / single,
+                    threads > cores ? "  (plus de threads que de cœurs)" : "");
+            if (threads == maxThreads) break;
+        }
+    }
+
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    /** Dépose la prochaine action de la table quand la précédente est terminée. */
+    private static void drive(GameManager game, int remaining, CountDownLatch done) {
+        if (remaining == 0) {
+            done.countDown();
+            return;
+        }
+        game.getActor().ask(() -> playOneAction(game)).thenRun(() -> drive(game, remaining - 1, done));
+    }
+
+    /** Une action de jeu : mise en banque dès qu'il y a des points, sinon lancer. */
+    private static Object playOneAction(GameManager game) {
+        if (!game.hasStarted() || game.isGameOver()) {
+            game.resetGame();
+            game.addPlayer("A");
+            game.addPlayer("B");
+        }
+        Turn turn = game.getCurrentTurn();
+        return turn != null && turn.canPlayerBank() && turn.getBankablePoints() > 0 ? game.bank() : game.roll();
+    }
+}
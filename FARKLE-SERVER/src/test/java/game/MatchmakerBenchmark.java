@@ -0,0 +1,66 @@
+package game;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Mesure le débit des inscriptions au {@link Matchmaker} : T threads inscrivent chacun N joueurs,
+ * un tiers sans niveau, les autres répartis sur plusieurs niveaux. Le journal des tables créées
+ * est coupé pendant la mesure.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes:<dépendances> game.MatchmakerBenchmark [threads] [joueurs par thread]}
+ */
+public class MatchmakerBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        GameRegistry registry = new GameRegistry("", GameManager.MIN_SEATS, 100, 0, 0);
+        Matchmaker matchmaker = new Matchmaker(registry, 200);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Matchmaker.Ticket> tickets = new ArrayList<>(threads * perThread);
+        Matchmaker.Ticket[][] issued = new Matchmaker.Ticket[threads][perThread];
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    issued[worker][i] = matchmaker.join("p" + worker + "-" + i, i % 3 == 0 ? null : i % 1000);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        PrintStream console = System.out;
+        double seconds;
+        long seated;
+        try {
+            System.setOut(Benchmarks.NULL_OUT);
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread thread : workers) thread.join();
+            seconds = (System.nanoTime() - begin) / 1e9;
+            for (Matchmaker.Ticket[] row : issued) {
+                for (Matchmaker.Ticket ticket : row) tickets.add(ticket);
+            }
+            seated = tickets.stream().filter(t -> t.state.get() == Matchmaker.Ticket.MATCHED).count();
+            // Les joueurs appariés sont inscrits par les acteurs de leurs tables : on attend la fin des inscriptions
+            tickets.stream().filter(t -> t.state.get() == Matchmaker.Ticket.MATCHED).forEach(t -> t.getResult().join());
+        } finally {
+            System.setOut(console);
+        }
+        System.out.printf("%,d inscriptions sur %d threads en %.3f s : %,.0f inscriptions/s%n",
+                tickets.size(), threads, seconds, tickets.size() / seconds);
+        System.out.println("Appariés : " + seated + ", en file : " + matchmaker.getQueueDepth()
+                + ", métriques : " + matchmaker.getMetrics());
+        registry.shutdown();
+    }
+}
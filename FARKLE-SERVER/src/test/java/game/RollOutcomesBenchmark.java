@@ -0,0 +1,59 @@
+package game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Espérance des points d'un lancer de n dés, par les résultats distincts de {@link RollOutcomes}
+ * puis par les 6^n lancers ordonnés : même résultat (vérifié), temps comparés.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes game.RollOutcomesBenchmark [répétitions]}
+ */
+public class RollOutcomesBenchmark {
+
+    public static void main(String[] args) {
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long sink = new SplittableRandom().nextInt(2);
+        for (int n = 1; n <= DiceHand.MAX_DICE; n++) {
+            long multiset = 0;
+            long ordered = 0;
+            long multisetPoints = 0;
+            long orderedPoints = 0;
+            for (int pass = 0; pass < 5; pass++) { // les premiers passages chauffent le JIT
+                long start = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                    multisetPoints = 0;
+                    for (int i = 0; i < RollOutcomes.count(n); i++) {
+                        int hand = RollOutcomes.hand(n, i);
+                        multisetPoints += (long) RollOutcomes.weight(n, i)
+                                * scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(hand));
+                    }
+                    sink += multisetPoints;
+                }
+                multiset = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                    orderedPoints = 0;
+                    for (int roll = 0; roll < RollOutcomes.totalWeight(n); roll++) {
+                        int hand = DiceHand.EMPTY;
+                        for (int d = 0, rest = roll; d < n; d++, rest /= 6) {
+                            hand = DiceHand.add(hand, rest % 6 + 1);
+                        }
+                        orderedPoints += scoreCalculator.calculatePoints(scoreCalculator.findScoringDice(hand));
+                    }
+                    sink += orderedPoints;
+                }
+                ordered = System.nanoTime() - start;
+            }
+            if (multisetPoints != orderedPoints) {
+                throw new IllegalStateException("Résultats différents pour " + n + " dés");
+            }
+            System.out.printf("%d dés : %3d résultats distincts %6.1f µs | %5d lancers ordonnés %8.1f µs | x%.1f%n",
+                    n, RollOutcomes.count(n), multiset / 1000.0 / rounds, RollOutcomes.totalWeight(n), ordered / 1000.0 / rounds,
+                    ordered / (double) multiset);
+        }
+        System.out.println("(contrôle " + sink + ")");
+    }
+}
@@ -0,0 +1,199 @@
+package game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Équivalence exhaustive de la table précalculée de {@link ScoreCalculator} avec une implémentation
+ * de référence des règles, écrite simplement sur les compteurs de faces (sans table ni DiceHand) :
+ * tous les lancers ORDONNÉS de 0 à 6 dés (46 656 lancers de six dés, 55 987 au total).
+ * Pour chaque lancer : points, dés scorants, Hot Dice, figure spéciale, façons légales de garder,
+ * indices (hints) et validation de chaque sélection possible.
+ */
+public class ScoreCalculatorTest {
+
+    private static final int ORDERED_ROLLS = 1 + 6 + 36 + 216 + 1296 + 7776 + 46656;
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator();
+
+    @Test
+    public void tableMatchesReferenceOnEveryOrderedRoll() {
+        int rolls = 0;
+        for (int n = 0; n <= DiceHand.MAX_DICE; n++) {
+            int[] faces = new int[n];
+            for (int code = 0; code < pow6(n); code++) {
+                for (int d = 0, rest = code; d < n; d++, rest /= 6) {
+                    faces[d] = rest % 6 + 1;
+                }
+                checkRoll(faces);
+                rolls++;
+            }
+        }
+        assertEquals(ORDERED_ROLLS, rolls);
+    }
+
+    private void checkRoll(int[] faces) {
+        int[] counts = countsOf(faces);
+        int hand = toHand(counts);
+        String roll = describe(counts);
+
+        int[] scoring = referenceScoringDice(counts);
+        assertEquals("points " + roll, referencePoints(counts), scoreCalculator.calculatePoints(hand));
+        assertEquals("dés scorants " + roll, toHand(scoring), scoreCalculator.findScoringDice(hand));
+        assertEquals("Hot Dice " + roll, faces.length > 0 && sum(scoring) == faces.length, scoreCalculator.isHotDice(hand));
+        assertEquals("figure spéciale " + roll, referenceSpecialCombo(counts), scoreCalculator.isHotDiceSpecialCombo(hand));
+
+        List<int[]> keeps = referenceLegalKeeps(faces);
+        List<KeepOption> options = scoreCalculator.legalKeeps(hand);
+        List<Map<String, String>> hints = scoreCalculator.generateCombinationHints(hand);
+        assertEquals("nombre de façons de garder " + roll, keeps.size(), options.size());
+        assertEquals("nombre d'indices " + roll, keeps.size(), hints.size());
+        for (int i = 0; i < keeps.size(); i++) {
+            int[] keep = keeps.get(i);
+            int points = referencePoints(keep);
+            int remaining = faces.length - sum(keep);
+            assertEquals("garde #" + i + " " + roll, toHand(keep), options.get(i).getKeep());
+            assertEquals("points de la garde #" + i + " " + roll, points, options.get(i).getPoints());
+            assertEquals("dés restants de la garde #" + i + " " + roll, remaining, options.get(i).getRemainingDice());
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put("combo", describe(keep));
+            expected.put("points", points + " pts");
+            expected.put("remainingDice", String.valueOf(remaining));
+            assertEquals("indice #" + i + " " + roll, expected, hints.get(i));
+        }
+
+        // Chaque sélection possible (sous-ensemble des dés lancés) : légale ssi non vide et entièrement scorante
+        for (int mask = 1; mask < (1 << faces.length); mask++) {
+            int[] selected = countsOf(subset(faces, mask));
+            boolean legal = sum(referenceScoringDice(selected)) == sum(selected);
+            assertEquals("sélection " + describe(selected) + " dans " + roll, legal,
+                    scoreCalculator.isValidSelection(toHand(selected), hand));
+        }
+    }
+
+    // --- IMPLÉMENTATION DE RÉFÉRENCE (compteurs de faces, index 1 à 6) ---
+
+    private static int referencePoints(int[] counts) {
+        int size = sum(counts);
+        if (size == 6 && isStraight(counts)) return 2500;
+        if (size == 6 && pairs(counts) == 3) return 1500;
+        int[] c = counts.clone();
+        int points = 0;
+        for (int face = 1; face <= 6; face++) {
+            if (c[face] >= 6) { points += 3000; c[face] -= 6; }
+            else if (c[face] >= 5) { points += 2000; c[face] -= 5; }
+            else if (c[face] >= 4) { points += 1000; c[face] -= 4; }
+        }
+        if (c[1] >= 3) { points += 1000; c[1] -= 3; }
+        for (int face = 2; face <= 6; face++) {
+            if (c[face] >= 3) { points += face * 100; c[face] -= 3; }
+        }
+        return points + c[1] * 100 + c[5] * 50;
+    }
+
+    /** Suite ou trois paires : tous les dés ; sinon les groupes de 3+ identiques et les [1] / [5]. */
+    private static int[] referenceScoringDice(int[] counts) {
+        int[] scoring = new int[7];
+        if (sum(counts) == 6 && (isStraight(counts) || pairs(counts) == 3)) return counts.clone();
+        for (int face = 1; face <= 6; face++) {
+            if (counts[face] >= 3 || face == 1 || face == 5) scoring[face] = counts[face];
+        }
+        return scoring;
+    }
+
+    private static boolean referenceSpecialCombo(int[] counts) {
+        if (sum(counts) != 6) return false;
+        if (isStraight(counts) || pairs(counts) == 3) return true;
+        for (int face = 1; face <= 6; face++) {
+            if (counts[face] == 6) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Toutes les sélections légales distinctes, par force brute sur les sous-ensembles du lancer ordonné,
+     * triées comme la table : plus de points, puis plus de dés restants, puis main compacte croissante.
+     */
+    private static List<int[]> referenceLegalKeeps(int[] faces) {
+        Map<Integer, int[]> distinct = new LinkedHashMap<>();
+        for (int mask = 1; mask < (1 << faces.length); mask++) {
+            int[] keep = countsOf(subset(faces, mask));
+            if (sum(referenceScoringDice(keep)) == sum(keep)) distinct.put(toHand(keep), keep);
+        }
+        List<int[]> keeps = new ArrayList<>(distinct.values());
+        keeps.sort(Comparator.<int[]>comparingInt(k -> -referencePoints(k))
+                .thenComparingInt(ScoreCalculatorTest::sum)
+                .thenComparingInt(ScoreCalculatorTest::toHand));
+        return keeps;
+    }
+
+    // --- OUTILS ---
+
+    private static int pow6(int n) {
+        int p = 1;
+        for (int i = 0; i < n; i++) p *= 6;
+        return p;
+    }
+
+    private static int[] subset(int[] faces, int mask) {
+        int[] picked = new int[Integer.bitCount(mask)];
+        for (int d = 0, i = 0; d < faces.length; d++) {
+            if ((mask & (1 << d)) != 0) picked[i++] = faces[d];
+        }
+        return picked;
+    }
+
+    private static int[] countsOf(int[] faces) {
+        int[] counts = new int[7];
+        for (int face : faces) counts[face]++;
+        return counts;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int face = 1; face <= 6; face++) total += counts[face];
+        return total;
+    }
+
+    private static boolean isStraight(int[] counts) {
+        for (int face = 1; face <= 6; face++) {
+            if (counts[face] != 1) return false;
+        }
+        return true;
+    }
+
+    private static int pairs(int[] counts) {
+        int pairs = 0;
+        for (int face = 1; face <= 6; face++) {
+            if (counts[face] == 2) pairs++;
+        }
+        return pairs;
+    }
+
+    private static int toHand(int[] counts) {
+        int hand = DiceHand.EMPTY;
+        for (int face = 1; face <= 6; face++) hand = DiceHand.add(hand, face, counts[face]);
+        return hand;
+    }
+
+    /** "[1] [5] [5]" : dés triés par face. */
+    private static String describe(int[] counts) {
+        StringBuilder sb = new StringBuilder();
+        for (int face = 1; face <= 6; face++) {
+            for (int n = 0; n < counts[face]; n++) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append('[').append(face).append(']');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,286 @@
+package game;
+
+import model.Dice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test différentiel des trois moteurs de score qu'a connus le serveur, sur TOUS les lancers ordonnés
+ * de 0 à 6 dés : l'ancien {@code model.Score} et l'ancien {@code ScoreCalculator} sur List&lt;Dice&gt;,
+ * figés ci-dessous tels qu'ils étaient avant leur remplacement, et le moteur actuel ({@link ScoreCalculator}).
+ *
+ * L'ancien ScoreCalculator (la règle que le jeu a toujours appliquée) doit être identique au moteur actuel.
+ * model.Score n'en diffère que sur les dés scorants (et donc le Hot Dice) des suites et des trois paires,
+ * et sur le lancer vide qu'il compte comme Hot Dice : ces désaccords connus sont vérifiés un par un,
+ * toute autre différence fait échouer le test.
+ */
+public class ScoringDifferentialTest {
+
+    private static final int STRAIGHT_ROLLS = 720;      // 6! ordres de 1-2-3-4-5-6
+    private static final int THREE_PAIR_ROLLS = 1800;   // C(6,3) choix de faces x 6!/(2!2!2!) ordres
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator();
+    private final FrozenScoreCalculator frozenCalculator = new FrozenScoreCalculator();
+
+    @Test
+    public void enginesAgreeExceptKnownModelScoreDisagreements() {
+        int rolls = 0;
+        int straights = 0;
+        int threePairs = 0;
+        int emptyRolls = 0;
+        List<String> unexpected = new ArrayList<>();
+        for (int n = 0; n <= DiceHand.MAX_DICE; n++) {
+            for (int code = 0; code < pow6(n); code++) {
+                List<Dice> dice = new ArrayList<>(n);
+                for (int d = 0, rest = code; d < n; d++, rest /= 6) {
+                    dice.add(new Dice(rest % 6 + 1));
+                }
+                int hand = toHand(dice);
+                String roll = n == 0 ? "(aucun dé)"
+                        : dice.stream().map(d -> String.valueOf(d.getValue())).collect(Collectors.joining());
+                rolls++;
+
+                // Ancien ScoreCalculator == moteur actuel, sur toutes les règles
+                int points = scoreCalculator.calculatePoints(hand);
+                int scoring = scoreCalculator.findScoringDice(hand);
+                boolean hotDice = scoreCalculator.isHotDice(hand);
+                boolean special = scoreCalculator.isHotDiceSpecialCombo(hand);
+                List<Dice> frozenScoring = frozenCalculator.findScoringDice(dice);
+                assertEquals("points (ScoreCalculator) " + roll, frozenCalculator.calculatePoints(dice), points);
+                assertEquals("dés scorants (ScoreCalculator) " + roll, toHand(frozenScoring), scoring);
+                assertEquals("Hot Dice (ScoreCalculator) " + roll, n > 0 && frozenScoring.size() == n, hotDice);
+                assertEquals("figure spéciale (ScoreCalculator) " + roll, frozenCalculator.isHotDiceSpecialCombo(dice), special);
+
+                // model.Score : mêmes points et mêmes figures spéciales partout
+                assertEquals("points (model.Score) " + roll, FrozenScore.calculatePoints(dice), points);
+                assertEquals("figure spéciale (model.Score) " + roll, FrozenScore.isHotDiceSpecialCombo(dice), special);
+
+                // model.Score : dés scorants et Hot Dice, désaccords connus seulement
+                boolean scoringDiffers = toHand(FrozenScore.getScoringDice(dice)) != scoring;
+                boolean hotDiceDiffers = FrozenScore.isHotDice(dice) != hotDice;
+                if (scoringDiffers || hotDiceDiffers) {
+                    if (n == 0 && !scoringDiffers) {
+                        emptyRolls++;
+                    } else if (hand == DiceHand.STRAIGHT && hotDiceDiffers) {
+                        straights++;
+                    } else if (n == 6 && DiceHand.facesWithCount(hand, 2) == 3 && hotDiceDiffers) {
+                        threePairs++;
+                    } else {
+                        unexpected.add(roll);
+                    }
+                }
+            }
+        }
+        assertEquals(1 + 6 + 36 + 216 + 1296 + 7776 + 46656, rolls);
+        assertEquals("désaccords inattendus avec model.Score : " + unexpected, 0, unexpected.size());
+        assertEquals("lancer vide que model.Score compte comme Hot Dice", 1, emptyRolls);
+        assertEquals("suites où model.Score ne voit pas de Hot Dice", STRAIGHT_ROLLS, straights);
+        assertEquals("trois paires où model.Score ne voit pas de Hot Dice", THREE_PAIR_ROLLS, threePairs);
+    }
+
+    private static int pow6(int n) {
+        int p = 1;
+        for (int i = 0; i < n; i++) p *= 6;
+        return p;
+    }
+
+    private static int toHand(List<Dice> dice) {
+        int hand = DiceHand.EMPTY;
+        for (Dice d : dice) hand = DiceHand.add(hand, d.getValue());
+        return hand;
+    }
+
+    // --- RÉFÉRENCES FIGÉES (code d'origine, à ne plus modifier) ---
+
+    /** model.Score tel qu'il était avant sa suppression. */
+    private static final class FrozenScore {
+
+        static int calculatePoints(List<Dice> dice) {
+            int[] counts = new int[7];
+            for (Dice d : dice) counts[d.getValue()]++;
+
+            int points = 0;
+
+            if (Arrays.equals(counts, new int[]{0, 1, 1, 1, 1, 1, 1})) return 2500;
+
+            int pairCount = 0;
+            for (int c : counts) if (c == 2) pairCount++;
+            if (pairCount == 3) return 1500;
+
+            for (int i = 1; i <= 6; i++) {
+                if (counts[i] == 6) { points += 3000; counts[i] = 0; }
+                else if (counts[i] == 5) { points += 2000; counts[i] = 0; }
+                else if (counts[i] == 4) { points += 1000; counts[i] = 0; }
+            }
+
+            if (counts[1] >= 3) { points += 1000; counts[1] -= 3; }
+            for (int i = 2; i <= 6; i++) {
+                if (counts[i] >= 3) { points += i * 100; counts[i] -= 3; }
+            }
+
+            points += counts[1] * 100;
+            points += counts[5] * 50;
+
+            return points;
+        }
+
+        static List<Dice> getScoringDice(List<Dice> diceList) {
+            Map<Integer, Long> valueCount = diceList.stream()
+                    .collect(Collectors.groupingBy(Dice::getValue, Collectors.counting()));
+
+            List<Dice> copy = new ArrayList<>(diceList);
+            List<Dice> scorers = new ArrayList<>();
+
+            for (int val = 1; val <= 6; val++) {
+                long count = valueCount.getOrDefault(val, 0L);
+                if (count >= 3) {
+                    int taken = 0;
+                    for (Iterator<Dice> it = copy.iterator(); it.hasNext() && taken < count; ) {
+                        Dice d = it.next();
+                        if (d.getValue() == val) {
+                            scorers.add(d); it.remove(); taken++;
+                        }
+                    }
+                }
+            }
+            for (Iterator<Dice> it = copy.iterator(); it.hasNext(); ) {
+                Dice d = it.next();
+                if (d.getValue() == 1 || d.getValue() == 5) {
+                    scorers.add(d); it.remove();
+                }
+            }
+            return scorers;
+        }
+
+        static boolean isHotDice(List<Dice> diceList) {
+            return getScoringDice(diceList).size() == diceList.size();
+        }
+
+        static boolean isHotDiceSpecialCombo(List<Dice> diceList) {
+            int[] counts = new int[7];
+            for (Dice d : diceList) counts[d.getValue()]++;
+            if (Arrays.equals(counts, new int[]{0, 1, 1, 1, 1, 1, 1})) return true;
+            int pairCount = 0;
+            for (int c : counts) if (c == 2) pairCount++;
+            if (pairCount == 3) return true;
+            for (int i = 1; i <= 6; i++) if (counts[i] == 6) return true;
+            return false;
+        }
+    }
+
+    /** game.ScoreCalculator sur List&lt;Dice&gt;, tel qu'il était avant la table précalculée. */
+    private static final class FrozenScoreCalculator {
+
+        int calculatePoints(List<Dice> dice) {
+            if (dice == null || dice.isEmpty()) {
+                return 0;
+            }
+
+            int[] counts = new int[7];
+            for (Dice d : dice) {
+                counts[d.getValue()]++;
+            }
+
+            int points = 0;
+
+            boolean isStraight = dice.size() == 6;
+            if (isStraight) {
+                for (int i = 1; i <= 6; i++) {
+                    if (counts[i] != 1) {
+                        isStraight = false;
+                        break;
+                    }
+                }
+                if (isStraight) return 2500;
+            }
+
+            if (dice.size() == 6) {
+                int pairCount = 0;
+                for (int c : counts) {
+                    if (c == 2) pairCount++;
+                }
+                if (pairCount == 3) return 1500;
+            }
+
+            for (int i = 1; i <= 6; i++) {
+                if (counts[i] >= 6) { points += 3000; counts[i] -= 6; }
+                else if (counts[i] >= 5) { points += 2000; counts[i] -= 5; }
+                else if (counts[i] >= 4) { points += 1000; counts[i] -= 4; }
+            }
+
+            if (counts[1] >= 3) { points += 1000; counts[1] -= 3; }
+            for (int i = 2; i <= 6; i++) {
+                if (counts[i] >= 3) { points += i * 100; counts[i] -= 3; }
+            }
+
+            points += counts[1] * 100;
+            points += counts[5] * 50;
+
+            return points;
+        }
+
+        List<Dice> findScoringDice(List<Dice> diceList) {
+            if (diceList == null || diceList.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            Set<Dice> scoringDiceSet = new HashSet<>();
+            Map<Integer, List<Dice>> diceByValue = diceList.stream()
+                    .collect(Collectors.groupingBy(Dice::getValue));
+
+            if (diceList.size() == 6) {
+                long pairCount = diceByValue.values().stream().filter(list -> list.size() == 2).count();
+                if (pairCount == 3) {
+                    return new ArrayList<>(diceList);
+                }
+                if (diceByValue.size() == 6) {
+                    return new ArrayList<>(diceList);
+                }
+            }
+
+            for (List<Dice> group : diceByValue.values()) {
+                if (group.size() >= 3) {
+                    scoringDiceSet.addAll(group);
+                }
+            }
+
+            if (diceByValue.containsKey(1) && diceByValue.get(1).size() < 3) {
+                scoringDiceSet.addAll(diceByValue.get(1));
+            }
+            if (diceByValue.containsKey(5) && diceByValue.get(5).size() < 3) {
+                scoringDiceSet.addAll(diceByValue.get(5));
+            }
+
+            return new ArrayList<>(scoringDiceSet);
+        }
+
+        boolean isHotDiceSpecialCombo(List<Dice> diceList) {
+            if (diceList == null || diceList.size() != 6) return false;
+
+            int[] countsArray = new int[7];
+            for (Dice d : diceList) countsArray[d.getValue()]++;
+
+            boolean isStraight = true;
+            for (int i = 1; i <= 6; i++) if (countsArray[i] != 1) { isStraight = false; break; }
+            if (isStraight) return true;
+
+            int pairCount = 0;
+            for (int c : countsArray) if (c == 2) pairCount++;
+            if (pairCount == 3) return true;
+
+            for (int c : countsArray) if (c == 6) return true;
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.model.TurnStatusDTO;
+
+import java.io.PrintStream;
+
+/**
+ * Compare deux façons de servir GET /state sur une table en cours de partie :
+ * reconstruire le DTO et le sérialiser à chaque requête (avant le cache), ou servir le {@link StateSnapshot}
+ * de la version courante (après). Débit et octets alloués par requête ;
+ * l'acteur de la table s'exécute sur le thread appelant pour que toutes les allocations soient comptées.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes:<dépendances> game.StateSnapshotBenchmark [requêtes par passage]}
+ */
+public class StateSnapshotBenchmark {
+
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        TurnPolicy turnPolicy = TurnPolicy.loadOrSolve(scoreCalculator);
+        ObjectMapper objectMapper = new ObjectMapper();
+        GameManager game = new GameManager(0, 2, scoreCalculator, turnPolicy, () -> null, Runnable::run,
+                new TurnClock(null, 0), 42);
+        game.execute(g -> g.addPlayer("A"));
+        game.execute(g -> g.addPlayer("B"));
+        game.execute(GameManager::roll); // plateau, conseils et combinaisons : un état représentatif
+
+        PrintStream console = System.out;
+        long sink = 0;
+        long[] nanos = new long[2];
+        String[] bytes = new String[2];
+        try {
+            System.setOut(Benchmarks.NULL_OUT);
+            for (int pass = 0; pass < 5; pass++) { // les premiers passages chauffent le JIT
+                for (int mode = 0; mode < 2; mode++) {
+                    long allocated = Benchmarks.allocatedBytes();
+                    long start = System.nanoTime();
+                    for (int r = 0; r < requests; r++) {
+                        byte[] body;
+                        if (mode == 0) {
+                            TurnStatusDTO dto = game.execute(GameManager::getGameState);
+                            try {
+                                body = objectMapper.writeValueAsBytes(dto);
+                            } catch (JsonProcessingException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        } else {
+                            StateSnapshot snapshot = game.getCachedSnapshot();
+                            if (snapshot == null) snapshot = game.execute(GameManager::snapshot);
+                            body = snapshot.toJson(objectMapper);
+                        }
+                        sink += body.length;
+                    }
+                    nanos[mode] = System.nanoTime() - start;
+                    bytes[mode] = Benchmarks.bytesPerOp(allocated, Benchmarks.allocatedBytes(), requests);
+                }
+            }
+        } finally {
+            System.setOut(console);
+        }
+        String[] labels = {"DTO reconstruit", "snapshot en cache"};
+        for (int mode = 0; mode < 2; mode++) {
+            System.out.printf("%-18s : %,12.0f requêtes/s | %8s octets alloués par requête%n",
+                    labels[mode], requests / (nanos[mode] / 1e9), bytes[mode]);
+        }
+        System.out.println("(contrôle " + sink + ")");
+    }
+}
@@ -0,0 +1,165 @@
+package game;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 100 000 minuteries armées en même temps sur une {@link TimingWheel}, dont une partie connue est annulée.
+ * Avec un tick de 10 µs, des délais étalés sur 4 s couvrent les 4 niveaux de la roue
+ * (64 ticks = 0,64 ms, 4 096 ticks = 41 ms, 262 144 ticks = 2,6 s) : une partie des minuteries
+ * redescend depuis les niveaux 1 à 3 avant d'échoir.
+ *
+ * Le coût de la roue est mesuré sur le cas courant (tour terminé avant la limite : armer puis annuler),
+ * affiché à côté de celui d'un ScheduledThreadPoolExecutor, et borné largement pour rester stable en CI.
+ */
+public class TimingWheelTest {
+
+    private static final int COUNT = 100_000;
+    private static final long TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_DELAY_NANOS = TimeUnit.SECONDS.toNanos(4);
+    /** Au-delà, une minuterie est encore sur la roue quand toutes sont armées : son annulation ne peut pas échouer. */
+    private static final long CANCEL_AFTER_ARMING_MIN_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /** Tick de la mesure de coût : 10 fois plus fin que farkle.timer.tick-ms (100 ms), donc plus exigeant. */
+    private static final long COST_TICK_MILLIS = 10;
+    /** Plafond par minuterie pour armer ou annuler : ~100 ns attendus, x200 de marge pour une CI chargée. */
+    private static final double MAX_NANOS_PER_OPERATION = 20_000;
+
+    @Test(timeout = 60_000)
+    public void everyTimerFiresOnceNotEarlyAndCancelledOnesNever() throws InterruptedException {
+        assertTrue("délais trop courts pour atteindre le niveau 3", MAX_DELAY_NANOS / TICK_NANOS > 1 << 18);
+        TimingWheel wheel = new TimingWheel(TICK_NANOS, TimeUnit.NANOSECONDS, "Test-Wheel");
+        try {
+            AtomicIntegerArray fired = new AtomicIntegerArray(COUNT);
+            long[] dueNanos = new long[COUNT];
+            long[] firedNanos = new long[COUNT];
+            boolean[] cancelled = new boolean[COUNT];
+            TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[COUNT];
+
+            int expected = 0;
+            for (int i = 0; i < COUNT; i++) {
+                long delay = (i * MAX_DELAY_NANOS) / COUNT;
+                cancelled[i] = i % 7 == 0 || (i % 7 == 1 && delay >= CANCEL_AFTER_ARMING_MIN_DELAY_NANOS);
+                if (!cancelled[i]) expected++;
+            }
+            CountDownLatch done = new CountDownLatch(expected);
+
+            for (int i = 0; i < COUNT; i++) {
+                int id = i;
+                long delay = (i * MAX_DELAY_NANOS) / COUNT;
+                dueNanos[i] = System.nanoTime() + delay;
+                timeouts[i] = wheel.schedule(() -> {
+                    firedNanos[id] = System.nanoTime();
+                    fired.incrementAndGet(id);
+                    done.countDown();
+                }, delay, TimeUnit.NANOSECONDS);
+                if (i % 7 == 0) {
+                    // Annulée aussitôt : encore dans la file d'armement
+                    assertTrue("annulation immédiate #" + i, timeouts[i].cancel());
+                }
+            }
+            for (int i = 0; i < COUNT; i++) {
+                if (cancelled[i] && i % 7 == 1) {
+                    // Annulée une fois rangée dans une case (niveaux 1 à 3)
+                    assertTrue("annulation sur la roue #" + i, timeouts[i].cancel());
+                }
+            }
+
+            assertTrue("minuteries non échues", done.await(30, TimeUnit.SECONDS));
+            // Laisse passer toutes les échéances (annulées comprises) avant de compter
+            long lastDue = dueNanos[COUNT - 1] + TimeUnit.MILLISECONDS.toNanos(200);
+            while (System.nanoTime() < lastDue) {
+                Thread.sleep(50);
+            }
+
+            int cancelledCount = 0;
+            for (int i = 0; i < COUNT; i++) {
+                if (cancelled[i]) {
+                    cancelledCount++;
+                    assertEquals("minuterie annulée échue #" + i, 0, fired.get(i));
+                    assertTrue("état annulé #" + i, timeouts[i].isCancelled());
+                } else {
+                    assertEquals("échéances de la minuterie #" + i, 1, fired.get(i));
+                    assertTrue("minuterie #" + i + " échue " + (dueNanos[i] - firedNanos[i]) + " ns trop tôt",
+                            firedNanos[i] >= dueNanos[i]);
+                    assertTrue("état échu #" + i, timeouts[i].isExpired());
+                    assertTrue("annulation après échéance #" + i, !timeouts[i].cancel());
+                }
+            }
+
+            assertEquals(0L, wheel.getArmedCount());
+            assertEquals((long) COUNT, wheel.getMetrics().get("scheduled"));
+            assertEquals((long) expected, wheel.getMetrics().get("expired"));
+            assertEquals((long) cancelledCount, wheel.getMetrics().get("cancelled"));
+            assertTrue("aucune minuterie redescendue d'un niveau", (Long) wheel.getMetrics().get("cascaded") > 0);
+        } finally {
+            wheel.shutdown();
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void armingAndCancellingStayCheapAndTheWheelKeepsUpWithItsTick() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel(COST_TICK_MILLIS, "Test-Wheel-Cost");
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[COUNT];
+            ScheduledFuture<?>[] futures = new ScheduledFuture<?>[COUNT];
+            double[] wheelNanos = new double[2];
+            double[] executorNanos = new double[2];
+            for (int pass = 0; pass < 3; pass++) { // les premiers passages chauffent le JIT
+                long start = System.nanoTime();
+                for (int i = 0; i < COUNT; i++) {
+                    timeouts[i] = wheel.schedule(() -> { }, 60, TimeUnit.SECONDS);
+                }
+                long armed = System.nanoTime();
+                if (pass == 2) {
+                    // 100 000 minuteries en attente : le thread de la roue doit tenir son tick
+                    Thread.sleep(50 * COST_TICK_MILLIS);
+                }
+                long cancelStart = System.nanoTime();
+                for (TimingWheel.Timeout timeout : timeouts) timeout.cancel();
+                wheelNanos[0] = (armed - start) / (double) COUNT;
+                wheelNanos[1] = (System.nanoTime() - cancelStart) / (double) COUNT;
+
+                start = System.nanoTime();
+                for (int i = 0; i < COUNT; i++) {
+                    futures[i] = executor.schedule(() -> { }, 60, TimeUnit.SECONDS);
+                }
+                armed = System.nanoTime();
+                for (ScheduledFuture<?> future : futures) future.cancel(false);
+                executorNanos[0] = (armed - start) / (double) COUNT;
+                executorNanos[1] = (System.nanoTime() - armed) / (double) COUNT;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> tickWork = (Map<String, Object>) wheel.getMetrics().get("tickWorkMs");
+            System.out.printf("TimingWheel (%,d minuteries) : armer %.0f ns, annuler %.0f ns par minuterie"
+                            + " | ScheduledThreadPoolExecutor : armer %.0f ns, annuler %.0f ns"
+                            + " | travail par tick de %d ms (ms) : %s%n",
+                    COUNT, wheelNanos[0], wheelNanos[1], executorNanos[0], executorNanos[1],
+                    COST_TICK_MILLIS, tickWork);
+
+            assertTrue("armement : " + wheelNanos[0] + " ns", wheelNanos[0] < MAX_NANOS_PER_OPERATION);
+            assertTrue("annulation : " + wheelNanos[1] + " ns", wheelNanos[1] < MAX_NANOS_PER_OPERATION);
+            assertTrue("travail moyen par tick supérieur au tick : " + tickWork,
+                    (Double) tickWork.get("mean") < COST_TICK_MILLIS);
+            // Les annulées sont purgées par le thread de la roue : rien ne reste armé
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (wheel.getArmedCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(COST_TICK_MILLIS);
+            }
+            assertEquals(0L, wheel.getArmedCount());
+        } finally {
+            executor.shutdownNow();
+            wheel.shutdown();
+        }
+    }
+}
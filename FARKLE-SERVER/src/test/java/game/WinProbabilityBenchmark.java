@@ -0,0 +1,49 @@
+package game;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+/**
+ * Construit la {@link WinProbability} dans un fichier neuf, puis mesure sa construction
+ * et le temps d'une lecture dans la table projetée.
+ *
+ * Lancement (hors Surefire, depuis le classpath de test) :
+ * {@code java -cp target/classes:target/test-classes game.WinProbabilityBenchmark [fichier de sortie]}
+ * (par défaut : farkle-win-probability.bin ; le fichier existant est supprimé).
+ */
+public class WinProbabilityBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        File file = new File(args.length > 0 ? args[0] : "farkle-win-probability.bin");
+        Files.deleteIfExists(file.toPath());
+        ScoreCalculator scoreCalculator = new ScoreCalculator();
+        long start = System.nanoTime();
+        WinProbability table = WinProbability.loadOrBuild(scoreCalculator, file);
+        System.out.printf("Construction : %d ms sur %d cœurs, %d états, %d octets%n",
+                (System.nanoTime() - start) / 1_000_000, Runtime.getRuntime().availableProcessors(),
+                (file.length() - WinProbability.HEADER_BYTES) / 2, file.length());
+        System.out.printf("P(0, 0) = %.4f (avantage du premier joueur)%n", table.atTurnStart(0, 0));
+
+        SplittableRandom random = new SplittableRandom(42);
+        int lookups = 10_000_000;
+        int[] states = new int[4096 * 4];
+        for (int k = 0; k < states.length; k += 4) {
+            states[k] = random.nextInt(WinProbability.GOAL) * WinProbability.UNIT;
+            states[k + 1] = random.nextInt(WinProbability.GOAL) * WinProbability.UNIT;
+            states[k + 2] = random.nextInt(WinProbability.GOAL) * WinProbability.UNIT;
+            states[k + 3] = random.nextInt(1, DiceHand.MAX_DICE + 1);
+        }
+        double sink = 0;
+        for (int round = 0; round < 2; round++) { // 1er tour : chauffe du JIT et des pages
+            start = System.nanoTime();
+            for (int k = 0; k < lookups; k++) {
+                int s = (k & 4095) * 4;
+                sink += table.beforeRoll(states[s], states[s + 1], states[s + 2], states[s + 3]);
+            }
+        }
+        System.out.printf("Lecture : %.1f ns par état (contrôle %.1f)%n",
+                (System.nanoTime() - start) / (double) lookups, sink);
+    }
+}